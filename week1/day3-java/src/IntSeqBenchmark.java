@@ -0,0 +1,156 @@
+import utils.IntSeq;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark of the StreamsAdvancedDemo pipelines at large sizes:
+ * hand-written loop vs IntSeq (sequential and parallel) vs IntStream vs Stream<Integer>.
+ * - evens:    IntStream.rangeClosed(1, n).filter(n -> n % 2 == 0), summed
+ * - iterate:  Stream.iterate(0, n -> n + 2).limit(n), summed
+ * - pipeline: numbers.stream().filter(n -> n > 2).map(n -> n * 2).mapToInt(...).average()
+ *
+ * Every case runs in its own JVM (like JMH forks): all pipelines share the source loops, so the
+ * type profile left by one case would slow down the next one in the same JVM.
+ * This is a main program rather than JMH (this project has no build):
+ *   java -cp out IntSeqBenchmark [size] [runs]
+ */
+public class IntSeqBenchmark {
+
+    private static volatile long sink;
+
+    private static final Map<String, List<String>> CASES = new LinkedHashMap<>();
+
+    static {
+        CASES.put("evens", List.of("loop", "IntSeq", "IntSeq.parallel", "IntStream"));
+        CASES.put("iterate", List.of("loop", "IntSeq", "IntStream", "Stream<Integer>"));
+        CASES.put("pipeline", List.of("loop", "IntSeq", "IntSeq.parallel", "IntStream", "Stream<Integer>"));
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 4) {
+            runCase(args[0], args[1], Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+        String size = args.length > 0 ? args[0] : "10000000";
+        String runs = args.length > 1 ? args[1] : "20";
+        System.out.println("=== INTSEQ BENCHMARK ===");
+        System.out.printf("%s elements, %s runs per case, %d cores, one JVM per case%n", size, runs,
+                Runtime.getRuntime().availableProcessors());
+        String java = ProcessHandle.current().info().command().orElse("java");
+        for (Map.Entry<String, List<String>> entry : CASES.entrySet()) {
+            System.out.println("\n" + entry.getKey() + ":");
+            for (String implementation : entry.getValue()) {
+                Process fork = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        "IntSeqBenchmark", entry.getKey(), implementation, size, runs)
+                        .redirectErrorStream(true)
+                        .start();
+                try (BufferedReader output = new BufferedReader(new InputStreamReader(fork.getInputStream()))) {
+                    output.lines().forEach(System.out::println);
+                }
+                fork.waitFor();
+            }
+        }
+    }
+
+    private static void runCase(String name, String implementation, int size, int runs) {
+        LongSupplier work = switch (name) {
+            case "evens" -> evens(implementation, size);
+            case "iterate" -> iterate(implementation, size);
+            case "pipeline" -> pipeline(implementation, size);
+            default -> throw new IllegalArgumentException("Unknown case: " + name);
+        };
+        for (int i = 0; i < 10; i++) {
+            sink = work.getAsLong(); // warm-up: let the JIT compile the hot loops
+        }
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            sink = work.getAsLong();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("  %-16s best %8.2f ms   median %8.2f ms   (%.2f ns/element)%n", implementation,
+                nanos[0] / 1e6, nanos[runs / 2] / 1e6, (double) nanos[runs / 2] / size);
+    }
+
+    // SECTION 1: EVEN NUMBERS (rangeClosed + filter)
+
+    private static LongSupplier evens(String implementation, int size) {
+        return switch (implementation) {
+            case "loop" -> () -> {
+                int sum = 0;
+                for (int n = 1; n <= size; n++) {
+                    if (n % 2 == 0) {
+                        sum += n;
+                    }
+                }
+                return sum;
+            };
+            case "IntSeq" -> () -> IntSeq.rangeClosed(1, size).filter(n -> n % 2 == 0).sum();
+            case "IntSeq.parallel" -> () -> IntSeq.rangeClosed(1, size).parallel().filter(n -> n % 2 == 0).sum();
+            case "IntStream" -> () -> IntStream.rangeClosed(1, size).filter(n -> n % 2 == 0).sum();
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    // SECTION 2: INFINITE SEQUENCE WITH LIMIT
+
+    private static LongSupplier iterate(String implementation, int size) {
+        return switch (implementation) {
+            case "loop" -> () -> {
+                int sum = 0;
+                for (int i = 0, n = 0; i < size; i++, n += 2) {
+                    sum += n;
+                }
+                return sum;
+            };
+            case "IntSeq" -> () -> IntSeq.iterate(0, n -> n + 2).limit(size).sum();
+            case "IntStream" -> () -> IntStream.iterate(0, n -> n + 2).limit(size).sum();
+            case "Stream<Integer>" -> () -> Stream.iterate(0, n -> n + 2).limit(size).mapToInt(Integer::intValue).sum();
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    // SECTION 3: FILTER / MAP / AVERAGE
+
+    private static LongSupplier pipeline(String implementation, int size) {
+        int[] numbers = new SplittableRandom(42).ints(size, 0, 10).toArray();
+        List<Integer> boxed = new ArrayList<>(size);
+        if (implementation.equals("Stream<Integer>")) {
+            IntStream.of(numbers).forEach(boxed::add);
+        }
+        return switch (implementation) {
+            case "loop" -> () -> {
+                long sum = 0;
+                long count = 0;
+                for (int n : numbers) {
+                    if (n > 2) {
+                        sum += n * 2;
+                        count++;
+                    }
+                }
+                return Double.doubleToLongBits(count == 0 ? 0.0 : (double) sum / count);
+            };
+            case "IntSeq" -> () -> Double.doubleToLongBits(
+                    IntSeq.of(numbers).filter(n -> n > 2).map(n -> n * 2).average().orElse(0.0));
+            case "IntSeq.parallel" -> () -> Double.doubleToLongBits(
+                    IntSeq.of(numbers).parallel().filter(n -> n > 2).map(n -> n * 2).average().orElse(0.0));
+            case "IntStream" -> () -> Double.doubleToLongBits(
+                    IntStream.of(numbers).filter(n -> n > 2).map(n -> n * 2).average().orElse(0.0));
+            case "Stream<Integer>" -> () -> Double.doubleToLongBits(boxed.stream()
+                    .filter(n -> n > 2).map(n -> n * 2).mapToInt(Integer::intValue).average().orElse(0.0));
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+}
@@ -0,0 +1,122 @@
+import utils.Person;
+import utils.PersonSort;
+import utils.PersonTopK;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark of PersonSort / PersonTopK against the Stream API equivalents:
+ * - sort by age: stream().sorted(Comparator.comparingInt(Person::age)) vs counting sort on indexes
+ * - oldest N: sorted + limit vs a bounded heap
+ * - oldest N per department: groupingBy + sorted + limit vs one heap per department
+ *
+ * Each case is checked against the stream result, warmed up, then timed (best and median of the runs).
+ * This is a main program rather than JMH (this project has no build); keep the JIT honest by
+ * running with enough heap and nothing else on the machine:
+ *   java -Xms4g -Xmx4g PersonSortBenchmark [people] [k] [runs]
+ */
+public class PersonSortBenchmark {
+
+    private static final String[] DEPARTMENTS = {"IT", "HR", "SALES", "FINANCE", "MARKETING"};
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        System.out.println("=== PERSON SORT / TOP-K BENCHMARK ===");
+        System.out.printf("%,d people, k = %d, %d runs, %d cores%n%n", size, k, runs,
+                Runtime.getRuntime().availableProcessors());
+        List<Person> people = generate(size);
+        Comparator<Person> byAge = Comparator.comparingInt(Person::age);
+
+        // SECTION 1: FULL SORT BY AGE
+        System.out.println("1. SORT BY AGE:");
+        List<Person> expected = people.stream().sorted(byAge).toList();
+        check("counting sort", expected, PersonSort.view(people, PersonSort.byAge(people)));
+        check("parallel counting sort", expected, PersonSort.view(people, PersonSort.byAgeParallel(people)));
+        time("stream().sorted(comparingInt(age))", runs, () -> people.stream().sorted(byAge).toList());
+        time("parallelStream().sorted(...)", runs, () -> people.parallelStream().sorted(byAge).toList());
+        time("PersonSort.byAge", runs, () -> PersonSort.byAge(people));
+        time("PersonSort.byAgeParallel", runs, () -> PersonSort.byAgeParallel(people));
+
+        // SECTION 2: OLDEST N
+        System.out.println("\n2. OLDEST " + k + ":");
+        List<Person> expectedOldest = people.stream().sorted(byAge.reversed()).limit(k).toList();
+        check("bounded heap", expectedOldest, PersonSort.view(people, PersonTopK.oldest(people, k)));
+        time("stream().sorted(reversed).limit(k)", runs, () -> people.stream().sorted(byAge.reversed()).limit(k).toList());
+        time("PersonTopK.oldest", runs, () -> PersonTopK.oldest(people, k));
+
+        // SECTION 3: OLDEST N PER DEPARTMENT
+        System.out.println("\n3. OLDEST " + k + " PER DEPARTMENT:");
+        Supplier<Map<String, List<Person>>> streams = () -> people.stream()
+                .collect(Collectors.groupingBy(Person::department, Collectors.collectingAndThen(Collectors.toList(),
+                        group -> group.stream().sorted(byAge.reversed()).limit(k).toList())));
+        Map<String, List<Person>> expectedPerDepartment = streams.get();
+        checkGroups("heaps per department", expectedPerDepartment, people, PersonTopK.oldestPerDepartment(people, k));
+        checkGroups("parallel heaps per department", expectedPerDepartment, people,
+                PersonTopK.oldestPerDepartmentParallel(people, k));
+        time("groupingBy + sorted + limit", runs, streams);
+        time("PersonTopK.oldestPerDepartment", runs, () -> PersonTopK.oldestPerDepartment(people, k));
+        time("PersonTopK.oldestPerDepartmentParallel", runs, () -> PersonTopK.oldestPerDepartmentParallel(people, k));
+    }
+
+    // shared names and departments: the benchmark measures sorting, not String allocation
+    private static List<Person> generate(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] names = new String[1000];
+        Arrays.setAll(names, i -> "P" + i);
+        List<Person> people = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            people.add(new Person(names[i % names.length], 18 + random.nextInt(50),
+                    DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]));
+        }
+        return people;
+    }
+
+    private static void check(String name, List<Person> expected, List<Person> actual) {
+        for (int i = 0; i < expected.size(); i++) {
+            // identity: a stable sort returns the very same record at each position
+            if (expected.get(i) != actual.get(i)) {
+                throw new AssertionError(name + " differs from the stream result at position " + i);
+            }
+        }
+        if (expected.size() != actual.size()) {
+            throw new AssertionError(name + ": " + actual.size() + " results instead of " + expected.size());
+        }
+    }
+
+    private static void checkGroups(String name, Map<String, List<Person>> expected, List<Person> people,
+                                    Map<String, int[]> actual) {
+        if (!expected.keySet().equals(actual.keySet())) {
+            throw new AssertionError(name + ": departments " + actual.keySet() + " instead of " + expected.keySet());
+        }
+        expected.forEach((department, group) ->
+                check(name + " (" + department + ")", group, PersonSort.view(people, actual.get(department))));
+    }
+
+    private static void time(String name, int runs, Supplier<?> work) {
+        for (int i = 0; i < 3; i++) {
+            work.get(); // warm-up: let the JIT compile the hot loops
+        }
+        long[] nanos = new long[runs];
+        Object sink = null;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            sink = work.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("  %-42s best %8.1f ms   median %8.1f ms%n", name, nanos[0] / 1e6, nanos[runs / 2] / 1e6);
+        if (sink == null) {
+            System.out.println("  (no result)"); // keeps the result alive
+        }
+    }
+}
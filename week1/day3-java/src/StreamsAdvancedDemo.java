@@ -1,3 +1,6 @@
+import utils.IntSeq;
+
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.IntStream;
@@ -9,6 +12,7 @@ import java.util.stream.Stream;
  * - Terminal operations: reduce, count, min
  * - Infinite streams with limit
  * - Stream pipeline operations
+ * - The same pipelines on primitives with IntSeq (no boxing, fused loop)
  */
 public class StreamsAdvancedDemo {
 
@@ -68,6 +72,24 @@ public class StreamsAdvancedDemo {
                 .orElse(0.0);                // Handle empty stream case
 
         System.out.println("Average of doubled numbers > 2: " + average);
+
+        // SECTION 5: PRIMITIVE SEQUENCES
+        System.out.println("\n5. PRIMITIVE SEQUENCES (IntSeq):");
+
+        // Same pipelines on int values: no Integer boxing, and filter/map/limit run as one loop
+        // (see IntSeqBenchmark for the comparison with loops and streams at large sizes)
+        int[] values = numbers.stream().mapToInt(Integer::intValue).toArray();
+        int[] first5EvensSeq = IntSeq.iterate(0, n -> n + 2)
+                .limit(5)
+                .toArray();
+        System.out.println("First 5 even numbers: " + Arrays.toString(first5EvensSeq));
+
+        double averageSeq = IntSeq.of(values)
+                .filter(n -> n > 2)
+                .map(n -> n * 2)
+                .average()
+                .orElse(0.0);
+        System.out.println("Average of doubled numbers > 2: " + averageSeq);
     }
 
     /**
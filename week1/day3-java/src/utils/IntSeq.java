@@ -0,0 +1,415 @@
+package utils;
+
+import utils.Pipeline.IntSink;
+import utils.Pipeline.LongSink;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Lazily evaluated sequence of primitive ints: the IntStream patterns of StreamsAdvancedDemo
+ * without boxing and with the operators fused into a single loop.
+ * - generators: range, rangeClosed, of, iterate, from(Spliterator.OfInt)
+ * - operators (lazy): filter, map, mapToLong, limit
+ * - terminal operations: reduce, sum, count, min, max, average, toArray, forEach
+ *
+ * Nothing runs until the terminal operation; the source then pushes each element through the
+ * operators (sinks wrapping each other) in one loop. Like a Stream, a sequence is used once.
+ * parallel() splits the source (ranges and arrays split in halves, like their spliterators) on the
+ * common fork/join pool; reduce operators must then be associative. Pipelines containing limit
+ * run sequentially.
+ *
+ * Example (StreamsAdvancedDemo, section 4, without Integer):
+ *   IntSeq.of(3, 1, 4, 1, 5, 9, 2, 6, 5).filter(n -> n > 2).map(n -> n * 2).average()
+ */
+public final class IntSeq {
+
+    private static final IntPredicate ALWAYS = value -> true;
+
+    private final Pipeline<IntSink> pipeline;
+    private final boolean parallel;
+
+    IntSeq(Pipeline<IntSink> pipeline, boolean parallel) {
+        this.pipeline = pipeline;
+        this.parallel = parallel;
+    }
+
+    // SECTION 1: GENERATORS
+
+    /**
+     * from (inclusive) to to (exclusive), like IntStream.range.
+     */
+    public static IntSeq range(int from, int to) {
+        return new IntSeq(new Range(from, Math.max(from, to), false), false);
+    }
+
+    /**
+     * from to to, both inclusive, like IntStream.rangeClosed.
+     */
+    public static IntSeq rangeClosed(int from, int to) {
+        if (from > to) {
+            return range(from, from);
+        }
+        return to == Integer.MAX_VALUE
+                ? new IntSeq(new Range(from, to, true), false)
+                : new IntSeq(new Range(from, to + 1, false), false);
+    }
+
+    /**
+     * The given values (the array is not copied).
+     */
+    public static IntSeq of(int... values) {
+        return new IntSeq(new Array(values, 0, values.length), false);
+    }
+
+    /**
+     * Infinite sequence seed, next(seed), next(next(seed))...: use limit before a terminal operation.
+     */
+    public static IntSeq iterate(int seed, IntUnaryOperator next) {
+        return new IntSeq(new Iterate(seed, ALWAYS, next), false);
+    }
+
+    /**
+     * seed, next(seed)... as long as hasNext holds, like a for loop.
+     */
+    public static IntSeq iterate(int seed, IntPredicate hasNext, IntUnaryOperator next) {
+        return new IntSeq(new Iterate(seed, hasNext, next), false);
+    }
+
+    /**
+     * Adapts any spliterator (e.g. BitSet.stream().spliterator()); splits when it does.
+     */
+    public static IntSeq from(Spliterator.OfInt spliterator) {
+        return new IntSeq(new Adapter(spliterator), false);
+    }
+
+    // SECTION 2: OPERATORS (lazy)
+
+    public IntSeq filter(IntPredicate predicate) {
+        return new IntSeq(Pipeline.stage(pipeline, (IntSink sink) -> value -> !predicate.test(value) || sink.accept(value)), parallel);
+    }
+
+    public IntSeq map(IntUnaryOperator mapper) {
+        return new IntSeq(Pipeline.stage(pipeline, (IntSink sink) -> value -> sink.accept(mapper.applyAsInt(value))), parallel);
+    }
+
+    public LongSeq mapToLong(IntToLongFunction mapper) {
+        return new LongSeq(Pipeline.stage(pipeline, (LongSink sink) -> value -> sink.accept(mapper.applyAsLong(value))), parallel);
+    }
+
+    public LongSeq asLongSeq() {
+        return new LongSeq(Pipeline.stage(pipeline, (LongSink sink) -> value -> sink.accept(value)), parallel);
+    }
+
+    /**
+     * At most maxSize elements; the source stops as soon as they are produced.
+     */
+    public IntSeq limit(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must be >= 0: " + maxSize);
+        }
+        return new IntSeq(Pipeline.unsplittable(Pipeline.stage(pipeline, (IntSink sink) -> {
+            if (maxSize == 0) {
+                return value -> false;
+            }
+            long[] remaining = {maxSize};
+            return value -> sink.accept(value) && --remaining[0] > 0;
+        })), parallel);
+    }
+
+    public IntSeq parallel() {
+        return new IntSeq(pipeline, true);
+    }
+
+    public IntSeq sequential() {
+        return new IntSeq(pipeline, false);
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    // SECTION 3: TERMINAL OPERATIONS
+
+    public int reduce(int identity, IntBinaryOperator op) {
+        return Pipeline.evaluate(pipeline, parallel, part -> {
+            IntBox result = new IntBox(identity);
+            part.push(value -> {
+                result.value = op.applyAsInt(result.value, value);
+                return true;
+            });
+            return result.value;
+        }, op::applyAsInt);
+    }
+
+    public OptionalInt reduce(IntBinaryOperator op) {
+        IntBox result = Pipeline.evaluate(pipeline, parallel, part -> {
+            IntBox box = new IntBox(0);
+            part.push(value -> {
+                box.value = box.present ? op.applyAsInt(box.value, value) : value;
+                box.present = true;
+                return true;
+            });
+            return box;
+        }, (left, right) -> {
+            if (!left.present) {
+                return right;
+            }
+            if (right.present) {
+                left.value = op.applyAsInt(left.value, right.value);
+            }
+            return left;
+        });
+        return result.present ? OptionalInt.of(result.value) : OptionalInt.empty();
+    }
+
+    /**
+     * Sum as an int (overflows like IntStream.sum); asLongSeq().sum() for a long sum.
+     */
+    public int sum() {
+        return reduce(0, Integer::sum);
+    }
+
+    public long count() {
+        return Pipeline.evaluate(pipeline, parallel, part -> {
+            long[] count = {0};
+            part.push(value -> {
+                count[0]++;
+                return true;
+            });
+            return count[0];
+        }, Long::sum);
+    }
+
+    public OptionalInt min() {
+        return reduce(Math::min);
+    }
+
+    public OptionalInt max() {
+        return reduce(Math::max);
+    }
+
+    /**
+     * Average of the elements (summed as longs, like IntStream.average), empty if there are none.
+     */
+    public OptionalDouble average() {
+        long[] sumAndCount = Pipeline.evaluate(pipeline, parallel, part -> {
+            long[] totals = new long[2];
+            part.push(value -> {
+                totals[0] += value;
+                totals[1]++;
+                return true;
+            });
+            return totals;
+        }, (left, right) -> new long[]{left[0] + right[0], left[1] + right[1]});
+        return sumAndCount[1] == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sumAndCount[0] / sumAndCount[1]);
+    }
+
+    public int[] toArray() {
+        return Pipeline.evaluate(pipeline, parallel, part -> {
+            long size = part.estimateSize();
+            int[][] buffer = {new int[size < Integer.MAX_VALUE - 8 ? (int) Math.max(size, 16) : 1024]};
+            int[] length = {0};
+            part.push(value -> {
+                if (length[0] == buffer[0].length) {
+                    buffer[0] = Arrays.copyOf(buffer[0], buffer[0].length * 2);
+                }
+                buffer[0][length[0]++] = value;
+                return true;
+            });
+            return Arrays.copyOf(buffer[0], length[0]);
+        }, (left, right) -> {
+            int[] joined = Arrays.copyOf(left, left.length + right.length);
+            System.arraycopy(right, 0, joined, left.length, right.length);
+            return joined;
+        });
+    }
+
+    /**
+     * Passes every element to the action; in a parallel sequence, concurrently and in no particular order.
+     */
+    public void forEach(IntConsumer action) {
+        Pipeline.evaluate(pipeline, parallel, part -> {
+            part.push(value -> {
+                action.accept(value);
+                return true;
+            });
+            return null;
+        }, (left, right) -> null);
+    }
+
+    private static final class IntBox {
+        int value;
+        boolean present;
+
+        IntBox(int value) {
+            this.value = value;
+        }
+    }
+
+    // SECTION 4: SOURCES
+
+    private static final class Range implements Pipeline<IntSink> {
+
+        private int from;
+        private final int to;
+        private boolean withMaxValue; // rangeClosed(x, Integer.MAX_VALUE): to cannot be exclusive
+
+        Range(int from, int to, boolean withMaxValue) {
+            this.from = from;
+            this.to = to;
+            this.withMaxValue = withMaxValue;
+        }
+
+        @Override
+        public boolean push(IntSink sink) {
+            int end = to;
+            for (int i = from; i < end; i++) {
+                if (!sink.accept(i)) {
+                    from = i + 1;
+                    return false;
+                }
+            }
+            from = end;
+            if (withMaxValue) {
+                withMaxValue = false;
+                return sink.accept(Integer.MAX_VALUE);
+            }
+            return true;
+        }
+
+        @Override
+        public Pipeline<IntSink> trySplit() {
+            int half = (int) (((long) to - from) >>> 1);
+            if (half == 0) {
+                return null;
+            }
+            Range prefix = new Range(from, from + half, false);
+            from += half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return (long) to - from + (withMaxValue ? 1 : 0);
+        }
+    }
+
+    private static final class Array implements Pipeline<IntSink> {
+
+        private final int[] values;
+        private int from;
+        private final int to;
+
+        Array(int[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean push(IntSink sink) {
+            int[] array = values;
+            int end = to;
+            for (int i = from; i < end; i++) {
+                if (!sink.accept(array[i])) {
+                    from = i + 1;
+                    return false;
+                }
+            }
+            from = end;
+            return true;
+        }
+
+        @Override
+        public Pipeline<IntSink> trySplit() {
+            int half = (to - from) >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            Array prefix = new Array(values, from, from + half);
+            from += half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+    }
+
+    // each element depends on the previous one: cannot be split
+    private static final class Iterate implements Pipeline<IntSink> {
+
+        private final int seed;
+        private final IntPredicate hasNext;
+        private final IntUnaryOperator step;
+        private boolean done;
+
+        Iterate(int seed, IntPredicate hasNext, IntUnaryOperator step) {
+            this.seed = seed;
+            this.hasNext = hasNext;
+            this.step = step;
+        }
+
+        @Override
+        public boolean push(IntSink sink) {
+            if (done) {
+                return true;
+            }
+            done = true;
+            for (int value = seed; hasNext.test(value); value = step.applyAsInt(value)) {
+                if (!sink.accept(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Pipeline<IntSink> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return done ? 0 : Long.MAX_VALUE;
+        }
+    }
+
+    private static final class Adapter implements Pipeline<IntSink> {
+
+        private final Spliterator.OfInt spliterator;
+
+        Adapter(Spliterator.OfInt spliterator) {
+            this.spliterator = spliterator;
+        }
+
+        @Override
+        public boolean push(IntSink sink) {
+            boolean[] stopped = {false};
+            while (!stopped[0] && spliterator.tryAdvance((int value) -> stopped[0] = !sink.accept(value))) {
+                // tryAdvance passed one element
+            }
+            return !stopped[0];
+        }
+
+        @Override
+        public Pipeline<IntSink> trySplit() {
+            Spliterator.OfInt prefix = spliterator.trySplit();
+            return prefix == null ? null : new Adapter(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return spliterator.estimateSize();
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package utils;
+
+import utils.Pipeline.IntSink;
+import utils.Pipeline.LongSink;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Lazily evaluated sequence of primitive longs, the long counterpart of IntSeq (see there for
+ * how pipelines run and split).
+ * - generators: range, rangeClosed, of, iterate, from(Spliterator.OfLong)
+ * - operators (lazy): filter, map, mapToInt, limit
+ * - terminal operations: reduce, sum, count, min, max, average, toArray, forEach
+ *
+ *
+ * Example: sum of the squares of the first million odd numbers, without overflow
+ *   IntSeq.iterate(1, n -> n + 2).limit(1_000_000).asLongSeq().map(n -> n * n).sum()
+ */
+public final class LongSeq {
+
+    private static final LongPredicate ALWAYS = value -> true;
+
+    private final Pipeline<LongSink> pipeline;
+    private final boolean parallel;
+
+    LongSeq(Pipeline<LongSink> pipeline, boolean parallel) {
+        this.pipeline = pipeline;
+        this.parallel = parallel;
+    }
+
+    // SECTION 1: GENERATORS
+
+    /**
+     * from (inclusive) to to (exclusive), like LongStream.range.
+     */
+    public static LongSeq range(long from, long to) {
+        return new LongSeq(new Range(from, Math.max(from, to), false), false);
+    }
+
+    /**
+     * from to to, both inclusive, like LongStream.rangeClosed.
+     */
+    public static LongSeq rangeClosed(long from, long to) {
+        if (from > to) {
+            return range(from, from);
+        }
+        return to == Long.MAX_VALUE
+                ? new LongSeq(new Range(from, to, true), false)
+                : new LongSeq(new Range(from, to + 1, false), false);
+    }
+
+    /**
+     * The given values (the array is not copied).
+     */
+    public static LongSeq of(long... values) {
+        return new LongSeq(new Array(values, 0, values.length), false);
+    }
+
+    /**
+     * Infinite sequence seed, next(seed), next(next(seed))...: use limit before a terminal operation.
+     */
+    public static LongSeq iterate(long seed, LongUnaryOperator next) {
+        return new LongSeq(new Iterate(seed, ALWAYS, next), false);
+    }
+
+    /**
+     * seed, next(seed)... as long as hasNext holds, like a for loop.
+     */
+    public static LongSeq iterate(long seed, LongPredicate hasNext, LongUnaryOperator next) {
+        return new LongSeq(new Iterate(seed, hasNext, next), false);
+    }
+
+    /**
+     * Adapts any spliterator (e.g. BitSet.stream().spliterator()); splits when it does.
+     */
+    public static LongSeq from(Spliterator.OfLong spliterator) {
+        return new LongSeq(new Adapter(spliterator), false);
+    }
+
+    // SECTION 2: OPERATORS (lazy)
+
+    public LongSeq filter(LongPredicate predicate) {
+        return new LongSeq(Pipeline.stage(pipeline, (LongSink sink) -> value -> !predicate.test(value) || sink.accept(value)), parallel);
+    }
+
+    public LongSeq map(LongUnaryOperator mapper) {
+        return new LongSeq(Pipeline.stage(pipeline, (LongSink sink) -> value -> sink.accept(mapper.applyAsLong(value))), parallel);
+    }
+
+    public IntSeq mapToInt(LongToIntFunction mapper) {
+        return new IntSeq(Pipeline.stage(pipeline, (IntSink sink) -> value -> sink.accept(mapper.applyAsInt(value))), parallel);
+    }
+
+    /**
+     * At most maxSize elements; the source stops as soon as they are produced.
+     */
+    public LongSeq limit(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must be >= 0: " + maxSize);
+        }
+        return new LongSeq(Pipeline.unsplittable(Pipeline.stage(pipeline, (LongSink sink) -> {
+            if (maxSize == 0) {
+                return value -> false;
+            }
+            long[] remaining = {maxSize};
+            return value -> sink.accept(value) && --remaining[0] > 0;
+        })), parallel);
+    }
+
+    public LongSeq parallel() {
+        return new LongSeq(pipeline, true);
+    }
+
+    public LongSeq sequential() {
+        return new LongSeq(pipeline, false);
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    // SECTION 3: TERMINAL OPERATIONS
+
+    public long reduce(long identity, LongBinaryOperator op) {
+        return Pipeline.evaluate(pipeline, parallel, part -> {
+            LongBox result = new LongBox(identity);
+            part.push(value -> {
+                result.value = op.applyAsLong(result.value, value);
+                return true;
+            });
+            return result.value;
+        }, op::applyAsLong);
+    }
+
+    public OptionalLong reduce(LongBinaryOperator op) {
+        LongBox result = Pipeline.evaluate(pipeline, parallel, part -> {
+            LongBox box = new LongBox(0);
+            part.push(value -> {
+                box.value = box.present ? op.applyAsLong(box.value, value) : value;
+                box.present = true;
+                return true;
+            });
+            return box;
+        }, (left, right) -> {
+            if (!left.present) {
+                return right;
+            }
+            if (right.present) {
+                left.value = op.applyAsLong(left.value, right.value);
+            }
+            return left;
+        });
+        return result.present ? OptionalLong.of(result.value) : OptionalLong.empty();
+    }
+
+    public long sum() {
+        return reduce(0, Long::sum);
+    }
+
+    public long count() {
+        return Pipeline.evaluate(pipeline, parallel, part -> {
+            long[] count = {0};
+            part.push(value -> {
+                count[0]++;
+                return true;
+            });
+            return count[0];
+        }, Long::sum);
+    }
+
+    public OptionalLong min() {
+        return reduce(Math::min);
+    }
+
+    public OptionalLong max() {
+        return reduce(Math::max);
+    }
+
+    /**
+     * Average of the elements (overflows on huge sums, like LongStream.average), empty if there are none.
+     */
+    public OptionalDouble average() {
+        long[] sumAndCount = Pipeline.evaluate(pipeline, parallel, part -> {
+            long[] totals = new long[2];
+            part.push(value -> {
+                totals[0] += value;
+                totals[1]++;
+                return true;
+            });
+            return totals;
+        }, (left, right) -> new long[]{left[0] + right[0], left[1] + right[1]});
+        return sumAndCount[1] == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sumAndCount[0] / sumAndCount[1]);
+    }
+
+    public long[] toArray() {
+        return Pipeline.evaluate(pipeline, parallel, part -> {
+            long size = part.estimateSize();
+            long[][] buffer = {new long[size < Integer.MAX_VALUE - 8 ? (int) Math.max(size, 16) : 1024]};
+            int[] length = {0};
+            part.push(value -> {
+                if (length[0] == buffer[0].length) {
+                    buffer[0] = Arrays.copyOf(buffer[0], buffer[0].length * 2);
+                }
+                buffer[0][length[0]++] = value;
+                return true;
+            });
+            return Arrays.copyOf(buffer[0], length[0]);
+        }, (left, right) -> {
+            long[] joined = Arrays.copyOf(left, left.length + right.length);
+            System.arraycopy(right, 0, joined, left.length, right.length);
+            return joined;
+        });
+    }
+
+    /**
+     * Passes every element to the action; in a parallel sequence, concurrently and in no particular order.
+     */
+    public void forEach(LongConsumer action) {
+        Pipeline.evaluate(pipeline, parallel, part -> {
+            part.push(value -> {
+                action.accept(value);
+                return true;
+            });
+            return null;
+        }, (left, right) -> null);
+    }
+
+    private static final class LongBox {
+        long value;
+        boolean present;
+
+        LongBox(long value) {
+            this.value = value;
+        }
+    }
+
+    // SECTION 4: SOURCES
+
+    private static final class Range implements Pipeline<LongSink> {
+
+        private long from;
+        private final long to;
+        private boolean withMaxValue; // rangeClosed(x, Long.MAX_VALUE): to cannot be exclusive
+
+        Range(long from, long to, boolean withMaxValue) {
+            this.from = from;
+            this.to = to;
+            this.withMaxValue = withMaxValue;
+        }
+
+        @Override
+        public boolean push(LongSink sink) {
+            long end = to;
+            for (long i = from; i < end; i++) {
+                if (!sink.accept(i)) {
+                    from = i + 1;
+                    return false;
+                }
+            }
+            from = end;
+            if (withMaxValue) {
+                withMaxValue = false;
+                return sink.accept(Long.MAX_VALUE);
+            }
+            return true;
+        }
+
+        @Override
+        public Pipeline<LongSink> trySplit() {
+            long half = (to - from) >>> 1; // unsigned: the range may span more than Long.MAX_VALUE
+            if (half == 0) {
+                return null;
+            }
+            Range prefix = new Range(from, from + half, false);
+            from += half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = to - from;
+            return size < 0 || size == Long.MAX_VALUE ? Long.MAX_VALUE : size + (withMaxValue ? 1 : 0);
+        }
+    }
+
+    private static final class Array implements Pipeline<LongSink> {
+
+        private final long[] values;
+        private int from;
+        private final int to;
+
+        Array(long[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean push(LongSink sink) {
+            long[] array = values;
+            int end = to;
+            for (int i = from; i < end; i++) {
+                if (!sink.accept(array[i])) {
+                    from = i + 1;
+                    return false;
+                }
+            }
+            from = end;
+            return true;
+        }
+
+        @Override
+        public Pipeline<LongSink> trySplit() {
+            int half = (to - from) >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            Array prefix = new Array(values, from, from + half);
+            from += half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+    }
+
+    // each element depends on the previous one: cannot be split
+    private static final class Iterate implements Pipeline<LongSink> {
+
+        private final long seed;
+        private final LongPredicate hasNext;
+        private final LongUnaryOperator step;
+        private boolean done;
+
+        Iterate(long seed, LongPredicate hasNext, LongUnaryOperator step) {
+            this.seed = seed;
+            this.hasNext = hasNext;
+            this.step = step;
+        }
+
+        @Override
+        public boolean push(LongSink sink) {
+            if (done) {
+                return true;
+            }
+            done = true;
+            for (long value = seed; hasNext.test(value); value = step.applyAsLong(value)) {
+                if (!sink.accept(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Pipeline<LongSink> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return done ? 0 : Long.MAX_VALUE;
+        }
+    }
+
+    private static final class Adapter implements Pipeline<LongSink> {
+
+        private final Spliterator.OfLong spliterator;
+
+        Adapter(Spliterator.OfLong spliterator) {
+            this.spliterator = spliterator;
+        }
+
+        @Override
+        public boolean push(LongSink sink) {
+            boolean[] stopped = {false};
+            while (!stopped[0] && spliterator.tryAdvance((long value) -> stopped[0] = !sink.accept(value))) {
+                // tryAdvance passed one element
+            }
+            return !stopped[0];
+        }
+
+        @Override
+        public Pipeline<LongSink> trySplit() {
+            Spliterator.OfLong prefix = spliterator.trySplit();
+            return prefix == null ? null : new Adapter(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return spliterator.estimateSize();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package utils;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Sorting of Person records by age without comparing or moving the records:
+ * - ages are copied once into an int[], then sorted as keys of an index array
+ * - counting sort when the age domain is small (the usual case: max - min below 65,536),
+ *   otherwise a two-pass LSD radix sort on 16-bit digits
+ * - both are stable: people of the same age keep their original order, like stream().sorted()
+ *
+ * The result is a permutation: order[0] is the index of the youngest person.
+ * Use {@link #view} to read the people in that order without copying them.
+ * The input list should be random access (ArrayList, List.of, Arrays.asList).
+ */
+public final class PersonSort {
+
+    // largest domain handled by a single counting pass (64K counters = 256 KB)
+    private static final int COUNTING_LIMIT = 1 << 16;
+
+    // below this size the parallel version is not worth its fork/join overhead
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private PersonSort() {
+    }
+
+    /**
+     * Indexes of {@code people} in ascending age order (stable).
+     */
+    public static int[] byAge(List<Person> people) {
+        int n = people.size();
+        int[] ages = new int[n];
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            int age = people.get(i).age();
+            ages[i] = age;
+            min = Math.min(min, age);
+            max = Math.max(max, age);
+        }
+        if (n == 0) {
+            return ages;
+        }
+        long range = (long) max - min + 1;
+        return range <= COUNTING_LIMIT ? countingSort(ages, min, (int) range) : radixSort(ages, min);
+    }
+
+    /**
+     * Same result as {@link #byAge}, computed on the common fork/join pool.
+     * The input is cut into a few chunks per worker; each chunk counts its ages, the counts give
+     * every chunk its slice of each age bucket, then all chunks scatter their indexes at once.
+     * This merges the sorted chunks without comparing anything, and keeps the sort stable
+     * (chunk order within a bucket is the original order).
+     * Age domains too large for counting fall back to the sequential radix sort.
+     */
+    public static int[] byAgeParallel(List<Person> people) {
+        int n = people.size();
+        if (n < PARALLEL_THRESHOLD) {
+            return byAge(people);
+        }
+        int[] ages = new int[n];
+        IntStream.range(0, n).parallel().forEach(i -> ages[i] = people.get(i).age());
+        int min = IntStream.of(ages).parallel().min().getAsInt();
+        int max = IntStream.of(ages).parallel().max().getAsInt();
+        long range = (long) max - min + 1;
+        if (range > COUNTING_LIMIT) {
+            return radixSort(ages, min);
+        }
+
+        int chunks = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, n / (PARALLEL_THRESHOLD / 4));
+        int chunkSize = (n + chunks - 1) / chunks;
+        int[][] counts = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int[] count = new int[(int) range];
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                count[ages[i] - min]++;
+            }
+            counts[chunk] = count;
+        });
+
+        // turn the counts into start positions: bucket by bucket, chunk by chunk
+        int position = 0;
+        for (int key = 0; key < range; key++) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int count = counts[chunk][key];
+                counts[chunk][key] = position;
+                position += count;
+            }
+        }
+
+        int[] order = new int[n];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int[] next = counts[chunk];
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                order[next[ages[i] - min]++] = i;
+            }
+        });
+        return order;
+    }
+
+    /**
+     * The people in the given order, as a read-only list backed by {@code people} (nothing is copied).
+     */
+    public static List<Person> view(List<Person> people, int[] order) {
+        return new OrderedView(people, order);
+    }
+
+    private static int[] countingSort(int[] ages, int min, int range) {
+        int[] next = new int[range];
+        for (int age : ages) {
+            next[age - min]++;
+        }
+        int position = 0;
+        for (int key = 0; key < range; key++) {
+            int count = next[key];
+            next[key] = position;
+            position += count;
+        }
+        int[] order = new int[ages.length];
+        for (int i = 0; i < ages.length; i++) {
+            order[next[ages[i] - min]++] = i;
+        }
+        return order;
+    }
+
+    /**
+     * LSD radix sort of the indexes on (age - min) read as an unsigned 32-bit key:
+     * low 16 bits first, then high 16 bits. Each pass is a stable counting pass.
+     */
+    private static int[] radixSort(int[] ages, int min) {
+        int n = ages.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[n];
+        int[] next = new int[COUNTING_LIMIT];
+        for (int shift = 0; shift < 32; shift += 16) {
+            Arrays.fill(next, 0);
+            for (int index : order) {
+                next[digit(ages[index], min, shift)]++;
+            }
+            int position = 0;
+            for (int key = 0; key < COUNTING_LIMIT; key++) {
+                int count = next[key];
+                next[key] = position;
+                position += count;
+            }
+            for (int index : order) {
+                buffer[next[digit(ages[index], min, shift)]++] = index;
+            }
+            int[] sorted = buffer;
+            buffer = order;
+            order = sorted;
+        }
+        return order;
+    }
+
+    private static int digit(int age, int min, int shift) {
+        return ((age - min) >>> shift) & (COUNTING_LIMIT - 1);
+    }
+
+    private static final class OrderedView extends AbstractList<Person> implements RandomAccess {
+
+        private final List<Person> people;
+        private final int[] order;
+
+        OrderedView(List<Person> people, int[] order) {
+            this.people = people;
+            this.order = order;
+        }
+
+        @Override
+        public Person get(int index) {
+            return people.get(order[index]);
+        }
+
+        @Override
+        public int size() {
+            return order.length;
+        }
+    }
+}
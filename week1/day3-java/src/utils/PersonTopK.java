@@ -0,0 +1,224 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * "Oldest N" queries over Person records in one pass and O(k) memory per group,
+ * instead of sorting everything and keeping the first k:
+ * - each group keeps a bounded min-heap of its k oldest people seen so far
+ * - a heap entry is a single long: age in the high 32 bits, index in the low 32 bits,
+ *   so there are no objects, no boxing and no Comparator calls
+ * - ties on age keep the earlier index, the same result as a stable sort
+ *
+ * Results are index arrays into the input list, oldest first.
+ */
+public final class PersonTopK {
+
+    // below this size the parallel version is not worth its fork/join overhead
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private PersonTopK() {
+    }
+
+    /**
+     * Indexes of the {@code k} oldest people, oldest first.
+     */
+    public static int[] oldest(List<Person> people, int k) {
+        BoundedHeap heap = new BoundedHeap(k);
+        for (int i = 0, n = people.size(); i < n; i++) {
+            heap.offer(people.get(i).age(), i);
+        }
+        return heap.drainDescending();
+    }
+
+    /**
+     * For each department (in order of first appearance), indexes of its {@code k} oldest people, oldest first.
+     */
+    public static Map<String, int[]> oldestPerDepartment(List<Person> people, int k) {
+        return scan(people, 0, people.size(), k).result();
+    }
+
+    /**
+     * Same result as {@link #oldestPerDepartment}, computed on the common fork/join pool:
+     * every chunk of the input fills its own heaps, then the heaps of each department are merged
+     * (a merge only offers k entries per chunk, whatever the input size).
+     */
+    public static Map<String, int[]> oldestPerDepartmentParallel(List<Person> people, int k) {
+        int n = people.size();
+        if (n < PARALLEL_THRESHOLD) {
+            return oldestPerDepartment(people, k);
+        }
+        int chunks = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, n / (PARALLEL_THRESHOLD / 4));
+        int chunkSize = (n + chunks - 1) / chunks;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> scan(people, chunk * chunkSize, Math.min(n, (chunk + 1) * chunkSize), k))
+                .reduce(Groups::merge)
+                .orElseGet(() -> new Groups(k))
+                .result();
+    }
+
+    private static Groups scan(List<Person> people, int from, int to, int k) {
+        Groups groups = new Groups(k);
+        for (int i = from; i < to; i++) {
+            Person person = people.get(i);
+            groups.heap(person.department()).offer(person.age(), i);
+        }
+        return groups;
+    }
+
+    /**
+     * One heap per department; each heap also remembers the first index seen, so results list
+     * departments in order of first appearance whatever the order chunks are merged in.
+     */
+    private static final class Groups {
+
+        private final int k;
+        private final Map<String, BoundedHeap> heaps = new HashMap<>();
+        private String lastDepartment;
+        private BoundedHeap lastHeap;
+
+        Groups(int k) {
+            this.k = k;
+        }
+
+        // consecutive records often share a department: skip the map lookup for them
+        BoundedHeap heap(String department) {
+            if (department.equals(lastDepartment)) {
+                return lastHeap;
+            }
+            BoundedHeap heap = heaps.get(department);
+            if (heap == null) {
+                heap = new BoundedHeap(k);
+                heaps.put(department, heap);
+            }
+            lastDepartment = department;
+            lastHeap = heap;
+            return heap;
+        }
+
+        Groups merge(Groups other) {
+            other.heaps.forEach((department, heap) -> {
+                BoundedHeap mine = heaps.get(department);
+                if (mine == null) {
+                    heaps.put(department, heap);
+                } else {
+                    mine.addAll(heap);
+                }
+            });
+            return this;
+        }
+
+        Map<String, int[]> result() {
+            List<String> departments = new ArrayList<>(heaps.keySet());
+            departments.sort(Comparator.comparingInt(department -> heaps.get(department).firstIndex()));
+            Map<String, int[]> result = new LinkedHashMap<>();
+            departments.forEach(department -> result.put(department, heaps.get(department).drainDescending()));
+            return result;
+        }
+    }
+
+    /**
+     * Min-heap of at most {@code capacity} packed (age, index) entries: the root is the youngest
+     * person kept, so a new person only enters the heap when older than the root.
+     */
+    private static final class BoundedHeap {
+
+        private final long[] entries;
+        private int size;
+        private int firstIndex = Integer.MAX_VALUE;
+
+        BoundedHeap(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("k must be >= 0: " + capacity);
+            }
+            this.entries = new long[capacity];
+        }
+
+        void offer(int age, int index) {
+            firstIndex = Math.min(firstIndex, index);
+            offer(pack(age, index));
+        }
+
+        void addAll(BoundedHeap other) {
+            firstIndex = Math.min(firstIndex, other.firstIndex);
+            for (int i = 0; i < other.size; i++) {
+                offer(other.entries[i]);
+            }
+        }
+
+        int firstIndex() {
+            return firstIndex;
+        }
+
+        /**
+         * Indexes from the oldest to the youngest kept person; the heap is left empty.
+         */
+        int[] drainDescending() {
+            long[] sorted = Arrays.copyOf(entries, size);
+            Arrays.sort(sorted);
+            int[] indexes = new int[size];
+            for (int i = 0; i < size; i++) {
+                indexes[i] = unpackIndex(sorted[size - 1 - i]);
+            }
+            size = 0;
+            return indexes;
+        }
+
+        private void offer(long entry) {
+            if (size < entries.length) {
+                entries[size] = entry;
+                siftUp(size++);
+            } else if (size > 0 && entry > entries[0]) {
+                entries[0] = entry;
+                siftDown(0);
+            }
+        }
+
+        private void siftUp(int i) {
+            long entry = entries[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (entries[parent] <= entry) {
+                    break;
+                }
+                entries[i] = entries[parent];
+                i = parent;
+            }
+            entries[i] = entry;
+        }
+
+        private void siftDown(int i) {
+            long entry = entries[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && entries[child + 1] < entries[child]) {
+                    child++;
+                }
+                if (entry <= entries[child]) {
+                    break;
+                }
+                entries[i] = entries[child];
+                i = child;
+            }
+            entries[i] = entry;
+        }
+
+        // the low half is the complement of the index: for the same age, an earlier index is a larger entry
+        private static long pack(int age, int index) {
+            return ((long) age << 32) | (~index & 0xFFFFFFFFL);
+        }
+
+        private static int unpackIndex(long entry) {
+            return ~(int) entry;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Internals of IntSeq and LongSeq.
+ * A pipeline is a source plus the operators applied to it. Running it pushes every element
+ * through the operators in a single loop at the source: each operator is a sink wrapping the
+ * next one, so there is no iterator call and no boxing per element.
+ * Like a Spliterator, a pipeline is consumed by running it, and trySplit() hands out a prefix
+ * of the remaining elements, which is how parallel evaluation divides the work.
+ *
+ * @param <S> the sink type the pipeline pushes into (IntSink or LongSink)
+ */
+interface Pipeline<S> {
+
+    /**
+     * Receives the elements; returning false stops the source (short-circuit, e.g. limit).
+     */
+    @FunctionalInterface
+    interface IntSink {
+        boolean accept(int value);
+    }
+
+    @FunctionalInterface
+    interface LongSink {
+        boolean accept(long value);
+    }
+
+    /**
+     * Pushes the remaining elements into the sink until it returns false.
+     *
+     * @return false if the sink stopped the source before the end
+     */
+    boolean push(S sink);
+
+    /**
+     * A new pipeline over the first part of the remaining elements (this one keeps the rest),
+     * or null when the source cannot be split.
+     */
+    Pipeline<S> trySplit();
+
+    /**
+     * Remaining elements at the source, Long.MAX_VALUE if unknown (infinite or adapted sources).
+     */
+    long estimateSize();
+
+    /**
+     * Applies an operator: {@code operator} turns the downstream sink into the sink given to the
+     * upstream pipeline. It is called once per run (and per split part), so per-run state such as
+     * a limit counter lives in the sink it returns.
+     */
+    static <U, D> Pipeline<D> stage(Pipeline<U> upstream, Function<D, U> operator) {
+        return new Pipeline<>() {
+            @Override
+            public boolean push(D sink) {
+                return upstream.push(operator.apply(sink));
+            }
+
+            @Override
+            public Pipeline<D> trySplit() {
+                Pipeline<U> prefix = upstream.trySplit();
+                return prefix == null ? null : stage(prefix, operator);
+            }
+
+            @Override
+            public long estimateSize() {
+                return upstream.estimateSize();
+            }
+        };
+    }
+
+    /**
+     * The same pipeline, never split: operators that depend on encounter order across the whole
+     * sequence (limit) run sequentially even in a parallel sequence.
+     */
+    static <S> Pipeline<S> unsplittable(Pipeline<S> pipeline) {
+        return new Pipeline<>() {
+            @Override
+            public boolean push(S sink) {
+                return pipeline.push(sink);
+            }
+
+            @Override
+            public Pipeline<S> trySplit() {
+                return null;
+            }
+
+            @Override
+            public long estimateSize() {
+                return pipeline.estimateSize();
+            }
+        };
+    }
+
+    /**
+     * Runs a terminal operation: sequentially with {@code leaf}, or when parallel, on the common
+     * fork/join pool with {@code leaf} applied to each split part and the partial results combined
+     * in encounter order.
+     */
+    static <S, A> A evaluate(Pipeline<S> pipeline, boolean parallel, Function<Pipeline<S>, A> leaf,
+                             BinaryOperator<A> combine) {
+        if (!parallel) {
+            return leaf.apply(pipeline);
+        }
+        long size = pipeline.estimateSize();
+        long chunk = size == Long.MAX_VALUE ? Long.MAX_VALUE
+                : Math.max(Split.MIN_CHUNK, size / (ForkJoinPool.getCommonPoolParallelism() * 4L));
+        return ForkJoinPool.commonPool().invoke(new Split<>(pipeline, leaf, combine, chunk));
+    }
+
+    // fork/join tasks are never serialized (same as the JDK's own stream tasks)
+    @SuppressWarnings("serial")
+    final class Split<S, A> extends RecursiveTask<A> {
+
+        // fewer elements than this are not worth a task
+        static final long MIN_CHUNK = 1 << 13;
+
+        private final Pipeline<S> pipeline;
+        private final Function<Pipeline<S>, A> leaf;
+        private final BinaryOperator<A> combine;
+        private final long chunk;
+
+        Split(Pipeline<S> pipeline, Function<Pipeline<S>, A> leaf, BinaryOperator<A> combine, long chunk) {
+            this.pipeline = pipeline;
+            this.leaf = leaf;
+            this.combine = combine;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected A compute() {
+            Pipeline<S> prefix;
+            if (pipeline.estimateSize() <= chunk || (prefix = pipeline.trySplit()) == null) {
+                return leaf.apply(pipeline);
+            }
+            Split<S, A> left = new Split<>(prefix, leaf, combine, chunk);
+            left.fork();
+            A right = new Split<>(pipeline, leaf, combine, chunk).compute();
+            return combine.apply(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.GreetingResponse;
+import com.example.demo.service.HelloService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes GreetingResponse as JSON from cached bytes instead of running Jackson on every request.
+ * The constant greetings are serialized at startup; personalized greetings are kept in an LRU of
+ * {@code maxEntries} messages, so names that keep coming back stay cached and one-off names age out.
+ * Bytes come from the application ObjectMapper, so the output is identical to the default converter.
+ */
+public class GreetingJsonConverter extends AbstractHttpMessageConverter<GreetingResponse> {
+
+    private final ObjectMapper objectMapper;
+    private final byte[] hello;
+    private final byte[] status;
+    private final LinkedHashMap<String, byte[]> cache;
+
+    public GreetingJsonConverter(ObjectMapper objectMapper, int maxEntries) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        // access order: get() moves a message to the end, the eldest is the least recently used
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hello = serialize(HelloService.HELLO);
+        this.status = serialize(HelloService.STATUS);
+    }
+
+    public byte[] bytesFor(GreetingResponse greeting) {
+        if (greeting == HelloService.HELLO) {
+            return hello;
+        }
+        if (greeting == HelloService.STATUS) {
+            return status;
+        }
+        String message = greeting.message();
+        if (message == null) {
+            return serialize(greeting);
+        }
+        byte[] bytes;
+        synchronized (cache) {
+            bytes = cache.get(message);
+        }
+        if (bytes == null) {
+            // serialized outside the lock; two threads racing on a new message both serialize it once
+            bytes = serialize(greeting);
+            synchronized (cache) {
+                cache.put(message, bytes);
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GreetingResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected GreetingResponse readInternal(Class<? extends GreetingResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("GreetingJsonConverter is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(GreetingResponse greeting, MediaType contentType) {
+        return (long) bytesFor(greeting).length;
+    }
+
+    @Override
+    protected void writeInternal(GreetingResponse greeting, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(bytesFor(greeting));
+    }
+
+    private byte[] serialize(GreetingResponse greeting) {
+        try {
+            return objectMapper.writeValueAsBytes(greeting);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write greeting", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final int greetingCacheSize;
+
+    public WebConfig(ObjectMapper objectMapper, @Value("${greetings.cache.max-entries:10000}") int greetingCacheSize) {
+        this.objectMapper = objectMapper;
+        this.greetingCacheSize = greetingCacheSize;
+    }
+
+    // first in the list so it wins for application/json; CBOR/Smile still go through Jackson
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new GreetingJsonConverter(objectMapper, greetingCacheSize));
+    }
+}
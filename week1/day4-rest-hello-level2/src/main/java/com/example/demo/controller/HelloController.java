@@ -3,8 +3,11 @@ package com.example.demo.controller;
 import com.example.demo.dto.GreetingResponse;
 import com.example.demo.dto.UserRequest;
 import com.example.demo.service.HelloService;
+import com.example.demo.validation.UserRequestValidator;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,9 +21,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 public class HelloController {
 
     private final HelloService helloService;
+    private final UserRequestValidator userRequestValidator;
 
-    public HelloController(HelloService helloService) {
+    public HelloController(HelloService helloService, UserRequestValidator userRequestValidator) {
         this.helloService = helloService;
+        this.userRequestValidator = userRequestValidator;
+    }
+
+    // @Valid UserRequest uses the compiled validator instead of the reflective Bean Validation path
+    @InitBinder("userRequest")
+    public void initUserRequestBinder(WebDataBinder binder) {
+        binder.setValidator(userRequestValidator);
     }
 
     @GetMapping("/hello")
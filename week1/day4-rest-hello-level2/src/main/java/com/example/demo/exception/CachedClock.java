@@ -0,0 +1,27 @@
+package com.example.demo.exception;
+
+import java.time.LocalDateTime;
+
+/**
+ * Millisecond-resolution clock for error timestamps: LocalDateTime.now() is only called
+ * when the millisecond changes, every other read returns the shared instance.
+ */
+final class CachedClock {
+
+    private record Tick(long millis, LocalDateTime time) { }
+
+    private static volatile Tick last = new Tick(0, LocalDateTime.now());
+
+    private CachedClock() {
+    }
+
+    static LocalDateTime now() {
+        long millis = System.currentTimeMillis();
+        Tick tick = last;
+        if (tick.millis() != millis) {
+            tick = new Tick(millis, LocalDateTime.now());
+            last = tick;
+        }
+        return tick.time();
+    }
+}
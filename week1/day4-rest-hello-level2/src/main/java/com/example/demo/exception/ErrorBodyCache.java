@@ -0,0 +1,102 @@
+package com.example.demo.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-serialized ApiError bodies for repeated errors (same status, error, message and path).
+ * Each body is stored as the JSON before and after the timestamp; only the timestamp is
+ * serialized per response, and at most once per millisecond.
+ * <p>
+ * Bodies are kept in an LRU of {@code maxEntries}: 404s carry the requested URL, so a URL scan
+ * brings one-off bodies that age out instead of taking the place of the errors that repeat.
+ */
+class ErrorBodyCache {
+
+    private record Key(int status, String error, String message, String path) { }
+
+    private record Template(byte[] prefix, byte[] suffix) { }
+
+    private record Timestamp(LocalDateTime time, byte[] json) { }
+
+    // never a real timestamp, used to find where the timestamp goes in the serialized body
+    private static final LocalDateTime MARKER = LocalDateTime.of(1970, 1, 1, 0, 0, 0, 123_456_789);
+
+    private final ObjectMapper objectMapper;
+    private final LinkedHashMap<Key, Template> templates;
+    private volatile Timestamp lastTimestamp = new Timestamp(null, null);
+
+    ErrorBodyCache(ObjectMapper objectMapper, int maxEntries) {
+        this.objectMapper = objectMapper;
+        // access order: get() moves a body to the end, the eldest is the least recently used
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Template> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    byte[] body(int status, String error, String message, String path) throws JsonProcessingException {
+        Key key = new Key(status, error, message, path);
+        Template template;
+        synchronized (templates) {
+            template = templates.get(key);
+        }
+        if (template == null) {
+            template = template(key);
+            synchronized (templates) {
+                templates.put(key, template);
+            }
+        }
+        byte[] timestamp = timestampJson(CachedClock.now());
+        byte[] body = Arrays.copyOf(template.prefix(), template.prefix().length + timestamp.length + template.suffix().length);
+        System.arraycopy(timestamp, 0, body, template.prefix().length, timestamp.length);
+        System.arraycopy(template.suffix(), 0, body, template.prefix().length + timestamp.length, template.suffix().length);
+        return body;
+    }
+
+    boolean isCached(int status, String error, String message, String path) {
+        synchronized (templates) {
+            return templates.containsKey(new Key(status, error, message, path));
+        }
+    }
+
+    private byte[] timestampJson(LocalDateTime now) throws JsonProcessingException {
+        Timestamp last = lastTimestamp;
+        if (last.time() != now) {
+            last = new Timestamp(now, objectMapper.writeValueAsBytes(now));
+            lastTimestamp = last;
+        }
+        return last.json();
+    }
+
+    private Template template(Key key) throws JsonProcessingException {
+        byte[] body = objectMapper.writeValueAsBytes(new ApiError(MARKER, key.status(), key.error(), key.message(), key.path()));
+        byte[] marker = objectMapper.writeValueAsString(MARKER).getBytes(StandardCharsets.UTF_8);
+        int at = indexOf(body, marker);
+        if (at < 0) {
+            throw new IllegalStateException("timestamp not found in serialized ApiError");
+        }
+        return new Template(Arrays.copyOfRange(body, 0, at), Arrays.copyOfRange(body, at + marker.length, body.length));
+    }
+
+    private static int indexOf(byte[] body, byte[] marker) {
+        outer:
+        for (int i = 0; i <= body.length - marker.length; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (body[i + j] != marker[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
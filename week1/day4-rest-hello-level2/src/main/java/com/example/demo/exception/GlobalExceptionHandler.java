@@ -1,43 +1,70 @@
 package com.example.demo.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.NoHandlerFoundException;
 
-import java.time.LocalDateTime;
-import java.util.stream.Collectors;
+import java.util.List;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Validation errors and unknown URLs repeat a lot: their bodies are served pre-serialized
+    private final ErrorBodyCache errorBodies;
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper,
+                                  @Value("${errors.body-cache.max-entries:1000}") int maxEntries) {
+        this.errorBodies = new ErrorBodyCache(objectMapper, maxEntries);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ApiError> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
-        String errors = ex.getBindingResult().getFieldErrors().stream()
-                .map(FieldError::getDefaultMessage)
-                .collect(Collectors.joining("; "));
-        ApiError apiError = new ApiError(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                "Validation Error",
-                errors,
-                request.getDescription(false).replace("uri=", "")
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+    public ResponseEntity<byte[]> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request)
+            throws JsonProcessingException {
+        List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
+        StringBuilder errors = new StringBuilder();
+        for (FieldError fieldError : fieldErrors) {
+            if (!errors.isEmpty()) {
+                errors.append("; ");
+            }
+            errors.append(fieldError.getDefaultMessage());
+        }
+        return json(HttpStatus.BAD_REQUEST, "Validation Error", errors.toString(), request);
+    }
+
+    @ExceptionHandler(NoHandlerFoundException.class)
+    public ResponseEntity<byte[]> handleNoHandlerFound(NoHandlerFoundException ex, WebRequest request)
+            throws JsonProcessingException {
+        return json(HttpStatus.NOT_FOUND, "Not Found", "No endpoint " + ex.getHttpMethod() + " " + ex.getRequestURL(), request);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleAllExceptions(Exception ex, WebRequest request) {
         ApiError apiError = new ApiError(
-                LocalDateTime.now(),
+                CachedClock.now(),
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 "Internal Server Error",
                 ex.getMessage(),
-                request.getDescription(false).replace("uri=", "")
+                path(request)
         );
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(apiError);
     }
+
+    private ResponseEntity<byte[]> json(HttpStatus status, String error, String message, WebRequest request)
+            throws JsonProcessingException {
+        byte[] body = errorBodies.body(status.value(), error, message, path(request));
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static String path(WebRequest request) {
+        return request.getDescription(false).replace("uri=", "");
+    }
 }
@@ -7,8 +7,12 @@ import org.springframework.stereotype.Service;
 @Service
 public class HelloService {
 
+    // Constant responses are shared instances; their JSON is pre-serialized by GreetingJsonConverter
+    public static final GreetingResponse HELLO = new GreetingResponse("Hello, World! Welcome to REST APIs!");
+    public static final GreetingResponse STATUS = new GreetingResponse("Service is running smoothly!");
+
     public GreetingResponse sayHello() {
-        return new GreetingResponse("Hello, World! Welcome to REST APIs!");
+        return HELLO;
     }
 
     public GreetingResponse sayHelloTo(String name) {
@@ -24,6 +28,6 @@ public class HelloService {
     }
 
     public GreetingResponse checkStatus() {
-        return new GreetingResponse("Service is running smoothly!");
+        return STATUS;
     }
 }
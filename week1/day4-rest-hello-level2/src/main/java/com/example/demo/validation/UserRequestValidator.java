@@ -0,0 +1,54 @@
+package com.example.demo.validation;
+
+import com.example.demo.dto.UserRequest;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+/**
+ * Plain-code equivalent of the constraints declared on UserRequest
+ * ({@code @NotBlank name}, {@code @Min(0) age}): no metadata lookup or reflection per call.
+ * Messages come from Hibernate Validator's bundle in the request locale ({@link LocaleContextHolder}),
+ * as Spring's Bean Validation interpolator does, so the error text is identical to the
+ * annotation-driven validation; the message source caches each locale's bundle.
+ * Keep in sync with the annotations on UserRequest (UserRequestValidatorTest compares both).
+ */
+@Component
+public class UserRequestValidator implements Validator {
+
+    private static final long AGE_MIN = 0;
+
+    private final MessageSource messages;
+
+    public UserRequestValidator() {
+        ResourceBundleMessageSource bundle = new ResourceBundleMessageSource();
+        bundle.setBasename("org.hibernate.validator.ValidationMessages");
+        this.messages = bundle;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return UserRequest.class == clazz;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        UserRequest request = (UserRequest) target;
+        String name = request.name();
+        if (name == null || name.trim().isEmpty()) {
+            errors.rejectValue("name", "NotBlank", message("jakarta.validation.constraints.NotBlank.message"));
+        }
+        if (request.age() < AGE_MIN) {
+            errors.rejectValue("age", "Min", new Object[]{AGE_MIN},
+                    message("jakarta.validation.constraints.Min.message").replace("{value}", Long.toString(AGE_MIN)));
+        }
+    }
+
+    // no arguments: the text is returned as is, since "{value}" is not a MessageFormat placeholder
+    private String message(String code) {
+        return messages.getMessage(code, null, LocaleContextHolder.getLocale());
+    }
+}
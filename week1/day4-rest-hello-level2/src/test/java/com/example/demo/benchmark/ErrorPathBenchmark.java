@@ -0,0 +1,106 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.controller.HelloController;
+import com.example.demo.exception.ApiError;
+import com.example.demo.exception.GlobalExceptionHandler;
+import com.example.demo.service.HelloService;
+import com.example.demo.validation.UserRequestValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * POST /api/hello throughput through the full MVC pipeline with 50% invalid payloads,
+ * comparing the previous exception handler ("legacy") with the pre-serialized error path ("cached").
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.benchmark.ErrorPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    private static final String VALID = "{\"name\": \"Charlie\", \"age\": 30}";
+    private static final String INVALID = "{\"name\": \"\", \"age\": -1}";
+
+    @Param({"legacy", "cached"})
+    String handler;
+
+    private MockMvc mockMvc;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Object advice = "legacy".equals(handler)
+                ? new LegacyExceptionHandler()
+                : new GlobalExceptionHandler(objectMapper, 1000);
+        mockMvc = MockMvcBuilders.standaloneSetup(new HelloController(new HelloService(), new UserRequestValidator()))
+                .setControllerAdvice(advice)
+                .build();
+    }
+
+    @Benchmark
+    public int halfInvalid() throws Exception {
+        String body = (next++ & 1) == 0 ? VALID : INVALID;
+        MvcResult result = mockMvc.perform(post("/api/hello").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andReturn();
+        return result.getResponse().getContentAsByteArray().length;
+    }
+
+    // the handler as it was before the cached error path, kept here as the baseline
+    @RestControllerAdvice
+    static class LegacyExceptionHandler {
+
+        @ExceptionHandler(MethodArgumentNotValidException.class)
+        public ResponseEntity<ApiError> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
+            String errors = ex.getBindingResult().getFieldErrors().stream()
+                    .map(FieldError::getDefaultMessage)
+                    .collect(Collectors.joining("; "));
+            ApiError apiError = new ApiError(
+                    LocalDateTime.now(),
+                    HttpStatus.BAD_REQUEST.value(),
+                    "Validation Error",
+                    errors,
+                    request.getDescription(false).replace("uri=", "")
+            );
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ErrorPathBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.config.GreetingJsonConverter;
+import com.example.demo.dto.GreetingResponse;
+import com.example.demo.service.HelloService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Greeting bodies per second on one core (@Threads(1)): Jackson on every call ("before")
+ * versus pre-serialized / cached bytes ("after"), for the constant and personalized endpoints.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.benchmark.GreetingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class GreetingBenchmark {
+
+    private static final String[] NAMES = {"Alice", "Bob", "Charlie", "Dana", "Eve", "Frank", "Grace", "Heidi"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final GreetingJsonConverter converter = new GreetingJsonConverter(objectMapper, 10_000);
+    private final HelloService helloService = new HelloService();
+    private int next;
+
+    @Benchmark
+    public byte[] statusBefore() throws IOException {
+        return objectMapper.writeValueAsBytes(new GreetingResponse("Service is running smoothly!"));
+    }
+
+    @Benchmark
+    public byte[] statusAfter() {
+        return converter.bytesFor(helloService.checkStatus());
+    }
+
+    @Benchmark
+    public byte[] helloToBefore() throws IOException {
+        return objectMapper.writeValueAsBytes(helloService.sayHelloTo(nextName()));
+    }
+
+    @Benchmark
+    public byte[] helloToAfter() {
+        return converter.bytesFor(helloService.sayHelloTo(nextName()));
+    }
+
+    private String nextName() {
+        return NAMES[next++ & (NAMES.length - 1)];
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(GreetingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
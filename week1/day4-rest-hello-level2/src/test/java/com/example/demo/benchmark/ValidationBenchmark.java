@@ -0,0 +1,82 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.UserRequest;
+import com.example.demo.validation.UserRequestValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserRequest validation through Hibernate Validator (what @Valid used before) versus UserRequestValidator.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.benchmark.ValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final UserRequest valid = new UserRequest("Charlie", 30);
+    private final UserRequest invalid = new UserRequest(" ", -1);
+    private final Validator compiled = new UserRequestValidator();
+    private LocalValidatorFactoryBean reflective;
+
+    @Setup
+    public void setUp() {
+        reflective = new LocalValidatorFactoryBean();
+        reflective.afterPropertiesSet();
+    }
+
+    @TearDown
+    public void tearDown() {
+        reflective.close();
+    }
+
+    @Benchmark
+    public int reflectiveValid() {
+        return validate(reflective, valid);
+    }
+
+    @Benchmark
+    public int compiledValid() {
+        return validate(compiled, valid);
+    }
+
+    @Benchmark
+    public int reflectiveInvalid() {
+        return validate(reflective, invalid);
+    }
+
+    @Benchmark
+    public int compiledInvalid() {
+        return validate(compiled, invalid);
+    }
+
+    private static int validate(Validator validator, UserRequest request) {
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(request, "userRequest");
+        validator.validate(request, errors);
+        return errors.getErrorCount();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
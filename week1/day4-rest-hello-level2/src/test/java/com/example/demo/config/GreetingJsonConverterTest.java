@@ -0,0 +1,43 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.GreetingResponse;
+import com.example.demo.service.HelloService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GreetingJsonConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final GreetingJsonConverter converter = new GreetingJsonConverter(objectMapper, 2);
+    private final HelloService helloService = new HelloService();
+
+    @Test
+    void testBytesMatchJackson() throws Exception {
+        GreetingResponse greeting = helloService.sayHelloTo("Alice");
+        assertArrayEquals(objectMapper.writeValueAsBytes(greeting), converter.bytesFor(greeting));
+        assertArrayEquals(objectMapper.writeValueAsBytes(HelloService.HELLO), converter.bytesFor(helloService.sayHello()));
+    }
+
+    @Test
+    void testConstantAndRepeatedGreetingsReuseBytes() {
+        assertSame(converter.bytesFor(helloService.checkStatus()), converter.bytesFor(helloService.checkStatus()));
+        assertSame(converter.bytesFor(helloService.greetWithParam("Bob")), converter.bytesFor(helloService.greetWithParam("Bob")));
+    }
+
+    @Test
+    void testLeastRecentlyUsedGreetingIsEvicted() {
+        byte[] alice = converter.bytesFor(helloService.sayHelloTo("Alice"));
+        byte[] bob = converter.bytesFor(helloService.sayHelloTo("Bob"));
+        // Alice is used again, so Carol pushes Bob out
+        assertSame(alice, converter.bytesFor(helloService.sayHelloTo("Alice")));
+        converter.bytesFor(helloService.sayHelloTo("Carol"));
+
+        assertSame(alice, converter.bytesFor(helloService.sayHelloTo("Alice")));
+        assertNotSame(bob, converter.bytesFor(helloService.sayHelloTo("Bob")));
+    }
+}
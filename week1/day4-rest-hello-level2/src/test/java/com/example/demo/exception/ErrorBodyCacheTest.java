@@ -0,0 +1,43 @@
+package com.example.demo.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ErrorBodyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ErrorBodyCache cache = new ErrorBodyCache(objectMapper, 2);
+
+    @Test
+    void testBodyIsTheSerializedApiError() throws Exception {
+        cache.body(400, "Validation Error", "Name is required", "/api/hello/user");
+        JsonNode body = objectMapper.readTree(cache.body(400, "Validation Error", "Name is required", "/api/hello/user"));
+
+        assertEquals(400, body.get("status").asInt());
+        assertEquals("Validation Error", body.get("error").asText());
+        assertEquals("Name is required", body.get("message").asText());
+        assertEquals("/api/hello/user", body.get("path").asText());
+        assertTrue(body.has("timestamp"));
+    }
+
+    @Test
+    void testOneOffNotFoundPathsDoNotPushOutRepeatedErrors() throws Exception {
+        cache.body(400, "Validation Error", "Name is required", "/api/hello/user");
+        for (int i = 0; i < 10; i++) {
+            String path = "/scan/" + i;
+            cache.body(404, "Not Found", "No endpoint GET " + path, path);
+            // the validation error keeps coming back between the scanned URLs
+            cache.body(400, "Validation Error", "Name is required", "/api/hello/user");
+        }
+
+        assertTrue(cache.isCached(400, "Validation Error", "Name is required", "/api/hello/user"));
+        assertTrue(cache.isCached(404, "Not Found", "No endpoint GET /scan/9", "/scan/9"));
+        assertFalse(cache.isCached(404, "Not Found", "No endpoint GET /scan/8", "/scan/8"));
+    }
+}
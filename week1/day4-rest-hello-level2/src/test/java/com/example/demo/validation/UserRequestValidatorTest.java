@@ -0,0 +1,76 @@
+package com.example.demo.validation;
+
+import com.example.demo.dto.UserRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserRequestValidatorTest {
+
+    private final UserRequestValidator compiled = new UserRequestValidator();
+    private final LocalValidatorFactoryBean reflective = new LocalValidatorFactoryBean();
+
+    @BeforeAll
+    void initAll() {
+        reflective.afterPropertiesSet();
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        reflective.close();
+    }
+
+    Stream<Arguments> requests() {
+        return Stream.of(
+                Arguments.of(new UserRequest("Charlie", 30)),
+                Arguments.of(new UserRequest("", 30)),
+                Arguments.of(new UserRequest("   ", 0)),
+                Arguments.of(new UserRequest(null, -1)),
+                Arguments.of(new UserRequest("Dana", -5)),
+                Arguments.of(new UserRequest("\t", Integer.MIN_VALUE))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("requests")
+    void testSameErrorsAsBeanValidation(UserRequest request) {
+        assertEquals(errors(reflective, request), errors(compiled, request));
+    }
+
+    @ParameterizedTest
+    @MethodSource("requests")
+    void testMessagesFollowTheRequestLocale(UserRequest request) {
+        for (Locale locale : List.of(Locale.FRENCH, Locale.GERMAN, Locale.ENGLISH)) {
+            LocaleContextHolder.setLocale(locale);
+            try {
+                assertEquals(errors(reflective, request), errors(compiled, request), locale.toString());
+            } finally {
+                LocaleContextHolder.resetLocaleContext();
+            }
+        }
+    }
+
+    private static List<String> errors(org.springframework.validation.Validator validator, UserRequest request) {
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(request, "userRequest");
+        validator.validate(request, result);
+        return result.getFieldErrors().stream()
+                .sorted(Comparator.comparing(FieldError::getField))
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .toList();
+    }
+}
@@ -1,41 +1,86 @@
 package com.example;
 
+import java.util.Currency;
+
 public class BankAccount {
 
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("EUR");
+
     private String owner;
-    private double balance;
+    private final Currency currency;
+    // minor units (cents): exact, and deposit/withdraw with Money allocate nothing
+    private long balance;
 
-    public BankAccount(String owner, double initialBalance) {
+    public BankAccount(String owner, Money initialBalance) {
         this.owner = owner;
-        this.balance = initialBalance;
+        this.currency = initialBalance.currency();
+        this.balance = initialBalance.minorUnits();
+    }
+
+    public BankAccount(String owner, double initialBalance) {
+        this(owner, Money.of(initialBalance, DEFAULT_CURRENCY));
     }
 
     public String getOwner() {
         return owner;
     }
 
-    public double getBalance() {
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Money getBalanceMoney() {
+        return Money.ofMinor(balance, currency);
+    }
+
+    public long getBalanceMinorUnits() {
         return balance;
     }
 
+    // kept for existing callers; use getBalanceMoney() for exact values
+    public double getBalance() {
+        return getBalanceMoney().toDouble();
+    }
+
     // Deposit money into the account
+    public void deposit(Money amount) {
+        long minorUnits = minorUnitsOf(amount);
+        if (minorUnits <= 0) {
+            throw new IllegalArgumentException("Deposit amount must be > 0");
+        }
+        balance = Math.addExact(balance, minorUnits);
+    }
+
+    // checked as given, like before cents: a positive amount under half a cent is accepted and adds nothing
     public void deposit(double amount) {
         if (amount <= 0) {
             throw new IllegalArgumentException("Deposit amount must be > 0");
         }
-        balance += amount;
+        balance = Math.addExact(balance, Money.of(amount, currency).minorUnits());
     }
 
-    // Withdraw money if the balance is sufficient
-    public void withdraw(double amount) {
-        if (amount > balance) {
+    // Withdraw money if the balance is sufficient (the only check, as before cents)
+    public void withdraw(Money amount) {
+        long minorUnits = minorUnitsOf(amount);
+        if (minorUnits > balance) {
             throw new IllegalArgumentException("Insufficient balance");
         }
-        balance -= amount;
+        balance = Math.subtractExact(balance, minorUnits);
+    }
+
+    public void withdraw(double amount) {
+        withdraw(Money.of(amount, currency));
     }
 
     // Check if the account is overdrawn
     public boolean isOverdrawn() {
         return balance < 0;
     }
-}
\ No newline at end of file
+
+    private long minorUnitsOf(Money amount) {
+        if (!currency.equals(amount.currency())) {
+            throw new IllegalArgumentException("Currency mismatch: account in " + currency + ", amount in " + amount.currency());
+        }
+        return amount.minorUnits();
+    }
+}
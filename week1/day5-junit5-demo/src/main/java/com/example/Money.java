@@ -0,0 +1,119 @@
+package com.example;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * An amount of money as a {@code long} count of minor units (cents for EUR/USD, yen for JPY)
+ * in the currency's own scale. Arithmetic is exact and throws {@link ArithmeticException}
+ * on overflow instead of wrapping; the only rounding is in {@link #multiplyBasisPoints(int)},
+ * which rounds half-even like {@link RoundingMode#HALF_EVEN}.
+ * <p>
+ * The static methods work on raw minor units so hot loops (BankAccount, the batch jobs) can
+ * stay on primitives and allocate nothing.
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more decimals than the currency allows
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        return new Money(amount.setScale(scale(currency), RoundingMode.UNNECESSARY).unscaledValue().longValueExact(),
+                currency);
+    }
+
+    public static Money of(String amount, Currency currency) {
+        return of(new BigDecimal(amount), currency);
+    }
+
+    // the decimal value the double stands for, not its binary expansion (0.1 -> 10 cents)
+    public static Money of(double amount, Currency currency) {
+        return new Money(BigDecimal.valueOf(amount).setScale(scale(currency), RoundingMode.HALF_EVEN)
+                .unscaledValue().longValueExact(), currency);
+    }
+
+    public static int scale(Currency currency) {
+        return Math.max(0, currency.getDefaultFractionDigits());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, requireSameCurrency(other).minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, requireSameCurrency(other).minorUnits), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    public Money multiplyBasisPoints(int basisPoints) {
+        return new Money(multiplyBasisPoints(minorUnits, basisPoints), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale(currency));
+    }
+
+    public double toDouble() {
+        return toBigDecimal().doubleValue();
+    }
+
+    private Money requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+        return other;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, requireSameCurrency(other).minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    /**
+     * {@code minorUnits * basisPoints / 10_000} rounded half-even (1 bp = 0.01%), e.g. interest.
+     */
+    public static long multiplyBasisPoints(long minorUnits, int basisPoints) {
+        return divideHalfEven(Math.multiplyExact(minorUnits, basisPoints), 10_000);
+    }
+
+    // banker's rounding of n / d for d > 0, exact for every long n
+    public static long divideHalfEven(long n, long d) {
+        long quotient = n / d;
+        long twiceRemainder = Math.abs(n % d) * 2;
+        if (twiceRemainder > d || (twiceRemainder == d && (quotient & 1) != 0)) {
+            quotient += Long.signum(n);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.batch;
+
+import com.example.Money;
+
+/**
+ * One step of a nightly job, applied to a balance in cents.
+ * Works on primitives so the batch loop allocates nothing per account.
+ */
+@FunctionalInterface
+public interface AccountOperation {
+
+    long apply(long balanceCents);
+
+    default AccountOperation andThen(AccountOperation next) {
+        return balance -> next.apply(apply(balance));
+    }
+
+    /**
+     * Interest in basis points (1 bp = 0.01%), rounded half-even to the cent ({@link Money#multiplyBasisPoints(long, int)}).
+     * Negative balances are charged at the same rate.
+     */
+    static AccountOperation interest(int basisPoints) {
+        return balance -> Math.addExact(balance, Money.multiplyBasisPoints(balance, basisPoints));
+    }
+
+    static AccountOperation fee(long feeCents) {
+        return balance -> Math.subtractExact(balance, feeCents);
+    }
+
+    // charged only to accounts that are already overdrawn
+    static AccountOperation overdraftFee(long feeCents) {
+        return balance -> balance < 0 ? Math.subtractExact(balance, feeCents) : balance;
+    }
+}
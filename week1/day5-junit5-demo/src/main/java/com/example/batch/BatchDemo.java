@@ -0,0 +1,36 @@
+package com.example.batch;
+
+import java.util.SplittableRandom;
+
+/**
+ * Nightly job on synthetic accounts: 1.25% interest, then a 15.00 fee on overdrawn accounts.
+ * <p>
+ * Usage: {@code java -Xmx2g -cp target/classes com.example.batch.BatchDemo 100000000}
+ * (100M accounts need about 820 MB of heap: balances plus the overdrawn bitset).
+ */
+public class BatchDemo {
+
+    public static void main(String[] args) {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        AccountStore store = new AccountStore(accounts);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < accounts; i++) {
+            // -1,000.00 .. 99,000.00
+            store.add(random.nextLong(-100_000, 9_900_000));
+        }
+
+        BatchProcessor processor = new BatchProcessor();
+        BatchReport report = processor.run(store,
+                AccountOperation.interest(125).andThen(AccountOperation.overdraftFee(1_500)));
+
+        System.out.print("First overdrawn accounts:");
+        int[] shown = {0};
+        report.forEachOverdrawn(index -> {
+            if (shown[0]++ < 10) {
+                System.out.print(" " + index);
+            }
+        });
+        System.out.println();
+    }
+}
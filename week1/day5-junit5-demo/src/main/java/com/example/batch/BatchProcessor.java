@@ -0,0 +1,123 @@
+package com.example.batch;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies an {@link AccountOperation} to every account of an {@link AccountStore} in place,
+ * splitting the index range across a fork-join pool.
+ * <p>
+ * Slices are split on multiples of 64, so each worker owns whole words of the overdrawn bitset and
+ * sets bits without atomics. Counters are per slice and added to shared LongAdders once per slice.
+ * Progress (processed, rate, overdrawn so far) is printed every {@code progressInterval}.
+ */
+public class BatchProcessor {
+
+    private final ForkJoinPool pool;
+    private final int sliceSize;
+    private final PrintStream progressOut;
+    private final Duration progressInterval;
+
+    public BatchProcessor(ForkJoinPool pool, int sliceSize, PrintStream progressOut, Duration progressInterval) {
+        if (sliceSize < 64) {
+            throw new IllegalArgumentException("Slice size must be >= 64");
+        }
+        this.pool = pool;
+        this.sliceSize = sliceSize;
+        this.progressOut = progressOut;
+        this.progressInterval = progressInterval;
+    }
+
+    public BatchProcessor() {
+        this(ForkJoinPool.commonPool(), 1 << 16, System.out, Duration.ofSeconds(1));
+    }
+
+    /**
+     * @throws ArithmeticException if a balance overflows; accounts already processed keep their new balance
+     */
+    public BatchReport run(AccountStore store, AccountOperation operation) {
+        Run run = new Run(store.balances(), operation, new long[(store.size() + 63) >>> 6]);
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "batch-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long intervalNanos = progressInterval.toNanos();
+        progress.scheduleAtFixedRate(() -> printProgress(run, store.size(), start),
+                intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        try {
+            pool.invoke(new Slice(run, 0, store.size()));
+        } finally {
+            progress.shutdownNow();
+        }
+        BatchReport report = new BatchReport(store.size(), run.overdrawnCount.sum(), run.netChange.sum(),
+                System.nanoTime() - start, run.overdrawn);
+        progressOut.println("[batch] done: " + report);
+        return report;
+    }
+
+    private void printProgress(Run run, int total, long start) {
+        long processed = run.processed.sum();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        progressOut.printf("[batch] %d/%d (%.1f%%) %.0f accounts/s, overdrawn so far %d%n",
+                processed, total, total == 0 ? 100.0 : 100.0 * processed / total,
+                processed / seconds, run.overdrawnCount.sum());
+    }
+
+    private record Run(long[] balances, AccountOperation operation, long[] overdrawn,
+                       LongAdder processed, LongAdder overdrawnCount, LongAdder netChange) {
+        Run(long[] balances, AccountOperation operation, long[] overdrawn) {
+            this(balances, operation, overdrawn, new LongAdder(), new LongAdder(), new LongAdder());
+        }
+    }
+
+    private final class Slice extends RecursiveAction {
+
+        private final Run run;
+        private final int from;
+        private final int to;
+
+        Slice(Run run, int from, int to) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > sliceSize) {
+                // from is a multiple of 64, keep the split point one too
+                int mid = ((from + to) >>> 1) & ~63;
+                if (mid > from) {
+                    invokeAll(new Slice(run, from, mid), new Slice(run, mid, to));
+                    return;
+                }
+            }
+            long[] balances = run.balances();
+            long[] overdrawn = run.overdrawn();
+            AccountOperation operation = run.operation();
+            long overdrawnCount = 0;
+            long netChange = 0;
+            for (int i = from; i < to; i++) {
+                long before = balances[i];
+                long after = operation.apply(before);
+                balances[i] = after;
+                netChange += after - before;
+                if (after < 0) {
+                    overdrawn[i >>> 6] |= 1L << i;
+                    overdrawnCount++;
+                }
+            }
+            run.processed().add(to - from);
+            run.overdrawnCount().add(overdrawnCount);
+            run.netChange().add(netChange);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.batch;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Outcome of one batch run. Overdrawn accounts are kept as a bitset (1 bit per account,
+ * 12.5 MB for 100M accounts) instead of a list of indices.
+ */
+public final class BatchReport {
+
+    private final int processed;
+    private final long overdrawnCount;
+    private final long netChangeCents;
+    private final long elapsedNanos;
+    private final long[] overdrawn;
+
+    BatchReport(int processed, long overdrawnCount, long netChangeCents, long elapsedNanos, long[] overdrawn) {
+        this.processed = processed;
+        this.overdrawnCount = overdrawnCount;
+        this.netChangeCents = netChangeCents;
+        this.elapsedNanos = elapsedNanos;
+        this.overdrawn = overdrawn;
+    }
+
+    public int processed() {
+        return processed;
+    }
+
+    public long overdrawnCount() {
+        return overdrawnCount;
+    }
+
+    public long netChangeCents() {
+        return netChangeCents;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isOverdrawn(int index) {
+        return (overdrawn[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // ascending account indices, one word scan per 64 accounts
+    public void forEachOverdrawn(IntConsumer action) {
+        for (int word = 0; word < overdrawn.length; word++) {
+            long bits = overdrawn[word];
+            while (bits != 0) {
+                action.accept(word * 64 + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        double seconds = elapsedNanos / 1e9;
+        // sign and magnitude apart: -50 cents has no sign in its integer part ("0.50")
+        return "processed=%d overdrawn=%d netChange=%s%d.%02d elapsed=%.2fs rate=%.0f/s".formatted(
+                processed, overdrawnCount, netChangeCents < 0 ? "-" : "",
+                Math.abs(netChangeCents / 100), Math.abs(netChangeCents % 100),
+                seconds, seconds == 0 ? 0 : processed / seconds);
+    }
+}
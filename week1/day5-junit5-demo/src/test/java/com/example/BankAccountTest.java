@@ -65,6 +65,19 @@ class BankAccountTest {
                 "Should throw exception if balance is insufficient");
     }
 
+    @Test
+    void testWithdrawZeroLeavesBalanceUnchanged() {
+        account.withdraw(0);
+        assertEquals(1000, account.getBalance());
+    }
+
+    @Test
+    void testDepositBelowOneCentIsAcceptedAndRounded() {
+        account.deposit(0.004);
+        assertEquals(100_000, account.getBalanceMinorUnits());
+        assertThrows(IllegalArgumentException.class, () -> account.deposit(0));
+    }
+
     @Test
     void testMultipleAssertions() {
         account.deposit(100);
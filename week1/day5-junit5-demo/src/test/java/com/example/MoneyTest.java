@@ -0,0 +1,126 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Property tests: random operands (fixed seed, reproducible) checked against BigDecimal
+class MoneyTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency JPY = Currency.getInstance("JPY");
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+    private static final int RUNS = 100_000;
+
+    @ParameterizedTest
+    @CsvSource({
+            "25, 10, 2",     // 2.5 -> 2 (half to even)
+            "35, 10, 4",     // 3.5 -> 4
+            "-25, 10, -2",
+            "-35, 10, -4",
+            "26, 10, 3",
+            "-26, 10, -3",
+            "24, 10, 2"
+    })
+    void testDivideHalfEven(long n, long d, long expected) {
+        assertEquals(expected, Money.divideHalfEven(n, d));
+    }
+
+    @Test
+    void testAdditionMatchesBigDecimalOrOverflows() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < RUNS; i++) {
+            long a = randomAmount(random);
+            long b = randomAmount(random);
+            BigInteger exact = BigInteger.valueOf(a).add(BigInteger.valueOf(b));
+            if (fitsInLong(exact)) {
+                Money sum = Money.ofMinor(a, EUR).plus(Money.ofMinor(b, EUR));
+                assertEquals(BigDecimal.valueOf(a, 2).add(BigDecimal.valueOf(b, 2)), sum.toBigDecimal());
+                assertEquals(Money.ofMinor(a, EUR), sum.minus(Money.ofMinor(b, EUR)));
+            } else {
+                assertThrows(ArithmeticException.class, () -> Money.ofMinor(a, EUR).plus(Money.ofMinor(b, EUR)));
+            }
+        }
+    }
+
+    @Test
+    void testMultiplicationMatchesBigDecimalOrOverflows() {
+        SplittableRandom random = new SplittableRandom(2);
+        for (int i = 0; i < RUNS; i++) {
+            long a = randomAmount(random);
+            long factor = random.nextLong(-1_000_000, 1_000_000);
+            BigInteger exact = BigInteger.valueOf(a).multiply(BigInteger.valueOf(factor));
+            if (fitsInLong(exact)) {
+                assertEquals(exact.longValueExact(), Money.ofMinor(a, EUR).times(factor).minorUnits());
+            } else {
+                assertThrows(ArithmeticException.class, () -> Money.ofMinor(a, EUR).times(factor));
+            }
+        }
+    }
+
+    @Test
+    void testBasisPointsRoundHalfEvenLikeBigDecimal() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < RUNS; i++) {
+            long a = random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L);
+            int basisPoints = random.nextInt(-20_000, 20_000);
+            BigDecimal expected = BigDecimal.valueOf(a, 2)
+                    .multiply(BigDecimal.valueOf(basisPoints, 4))
+                    .setScale(2, RoundingMode.HALF_EVEN);
+            assertEquals(expected, Money.ofMinor(a, EUR).multiplyBasisPoints(basisPoints).toBigDecimal(),
+                    () -> a + " * " + basisPoints + "bp");
+        }
+    }
+
+    @Test
+    void testParsingRoundTrips() {
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < RUNS; i++) {
+            long a = randomAmount(random);
+            Money money = Money.ofMinor(a, EUR);
+            assertEquals(money, Money.of(money.toBigDecimal().toPlainString(), EUR));
+        }
+    }
+
+    @Test
+    void testCurrencyScale() {
+        assertEquals(1234, Money.of("12.34", EUR).minorUnits());
+        assertEquals(1234, Money.of("1234", JPY).minorUnits());
+        assertEquals("0.10 EUR", Money.of(0.1, EUR).toString());
+        assertThrows(ArithmeticException.class, () -> Money.of("12.345", EUR));
+        assertThrows(ArithmeticException.class, () -> Money.of("1.5", JPY));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1", EUR).plus(Money.of("1", JPY)));
+    }
+
+    @Test
+    void testBankAccountIsExact() {
+        BankAccount account = new BankAccount("Ismail", Money.of("0.00", EUR));
+        Money tenCents = Money.of("0.10", EUR);
+        for (int i = 0; i < 10; i++) {
+            account.deposit(tenCents);
+        }
+        // with double: 0.1 added ten times is 0.9999999999999999
+        assertEquals(Money.of("1.00", EUR), account.getBalanceMoney());
+        assertEquals(1.0, account.getBalance());
+        assertThrows(IllegalArgumentException.class, () -> account.deposit(Money.of("1", JPY)));
+    }
+
+    // mostly realistic amounts, with some near the long limits to exercise overflow
+    private static long randomAmount(SplittableRandom random) {
+        return random.nextInt(10) == 0 ? random.nextLong() : random.nextLong(-10_000_000_000L, 10_000_000_000L);
+    }
+
+    private static boolean fitsInLong(BigInteger value) {
+        return value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0;
+    }
+}
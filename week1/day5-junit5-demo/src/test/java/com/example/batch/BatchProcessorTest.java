@@ -0,0 +1,87 @@
+package com.example.batch;
+
+import com.example.BankAccount;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchProcessorTest {
+
+    private final ByteArrayOutputStream progress = new ByteArrayOutputStream();
+    private final BatchProcessor processor =
+            new BatchProcessor(new ForkJoinPool(4), 64, new PrintStream(progress), Duration.ofMillis(10));
+
+    @Test
+    void testMatchesBigDecimalReference() {
+        SplittableRandom random = new SplittableRandom(7);
+        int accounts = 10_000;
+        AccountStore store = new AccountStore(accounts);
+        long[] expected = new long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            long balance = random.nextLong(-1_000_000, 100_000_000);
+            store.add(balance);
+            BigDecimal withInterest = BigDecimal.valueOf(balance, 2)
+                    .multiply(new BigDecimal("1.0125"))
+                    .setScale(2, RoundingMode.HALF_EVEN);
+            long cents = withInterest.unscaledValue().longValueExact();
+            expected[i] = cents < 0 ? cents - 1_500 : cents;
+        }
+
+        BatchReport report = processor.run(store,
+                AccountOperation.interest(125).andThen(AccountOperation.overdraftFee(1_500)));
+
+        long overdrawn = 0;
+        for (int i = 0; i < accounts; i++) {
+            assertEquals(expected[i], store.balance(i), "account " + i);
+            assertEquals(expected[i] < 0, report.isOverdrawn(i), "account " + i);
+            overdrawn += expected[i] < 0 ? 1 : 0;
+        }
+        assertEquals(accounts, report.processed());
+        assertEquals(overdrawn, report.overdrawnCount());
+        assertTrue(progress.toString().contains("[batch] done"));
+    }
+
+    @Test
+    void testOverdrawnReportFromBankAccounts() {
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            accounts.add(new BankAccount("owner" + i, i % 3 == 0 ? 0.10 : 100));
+        }
+        AccountStore store = AccountStore.of(accounts);
+
+        BatchReport report = processor.run(store, AccountOperation.fee(50));
+
+        List<Integer> overdrawn = new ArrayList<>();
+        report.forEachOverdrawn(overdrawn::add);
+        assertAll(
+                () -> assertEquals(67, report.overdrawnCount()),
+                () -> assertEquals(67, overdrawn.size()),
+                () -> assertEquals(0, overdrawn.get(0)),
+                () -> assertEquals(198, overdrawn.get(66)),
+                () -> assertEquals(-40, store.balance(0)),
+                () -> assertFalse(report.isOverdrawn(1)),
+                () -> assertEquals(-200 * 50, report.netChangeCents())
+        );
+    }
+
+    @Test
+    void testOverflowIsDetected() {
+        AccountStore store = new AccountStore(1);
+        store.add(Long.MAX_VALUE / 2);
+        assertThrows(ArithmeticException.class, () -> processor.run(store, AccountOperation.interest(125)));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.batch;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchReportTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0.00",
+            "-1, -0.01",
+            "-50, -0.50",
+            "-99, -0.99",
+            "-100, -1.00",
+            "-12345, -123.45",
+            "50, 0.50",
+            "12345, 123.45",
+            "-9223372036854775808, -92233720368547758.08"
+    })
+    void testNetChangeKeepsTheSignBelowOneUnit(long cents, String expected) {
+        BatchReport report = new BatchReport(0, 0, cents, 0, new long[0]);
+        String text = report.toString();
+        assertTrue(text.contains(" netChange=" + expected + " "), text);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.benchmark;
+
+import com.example.BankAccount;
+import com.example.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of 1,000 deposits plus monthly interest with double, BigDecimal and Money (long minor units).
+ * Run with the GC profiler to compare allocation: Money and double report ~0 B/op, BigDecimal does not.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.benchmark.MoneyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int BASIS_POINTS = 125;
+    private static final BigDecimal RATE = BigDecimal.valueOf(BASIS_POINTS, 4);
+
+    private long[] minorUnits;
+    private double[] doubles;
+    private BigDecimal[] decimals;
+    private Money[] amounts;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        minorUnits = new long[1_000];
+        doubles = new double[minorUnits.length];
+        decimals = new BigDecimal[minorUnits.length];
+        amounts = new Money[minorUnits.length];
+        for (int i = 0; i < minorUnits.length; i++) {
+            minorUnits[i] = random.nextLong(1, 1_000_000);
+            doubles[i] = minorUnits[i] / 100.0;
+            decimals[i] = BigDecimal.valueOf(minorUnits[i], 2);
+            amounts[i] = Money.ofMinor(minorUnits[i], BankAccount.DEFAULT_CURRENCY);
+        }
+    }
+
+    @Benchmark
+    public double doubleBalance() {
+        double balance = 0;
+        for (double amount : doubles) {
+            balance += amount;
+            balance += Math.round(balance * BASIS_POINTS / 100.0) / 100.0;
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalBalance() {
+        BigDecimal balance = BigDecimal.ZERO.setScale(2);
+        for (BigDecimal amount : decimals) {
+            balance = balance.add(amount);
+            balance = balance.add(balance.multiply(RATE).setScale(2, RoundingMode.HALF_EVEN));
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public long moneyBalance() {
+        long balance = 0;
+        for (long amount : minorUnits) {
+            balance = Math.addExact(balance, amount);
+            balance = Math.addExact(balance, Money.multiplyBasisPoints(balance, BASIS_POINTS));
+        }
+        return balance;
+    }
+
+    // the BankAccount hot path: Money instances are created once, deposits allocate nothing
+    @Benchmark
+    public long bankAccountDeposits() {
+        BankAccount account = new BankAccount("bench", Money.ofMinor(0, BankAccount.DEFAULT_CURRENCY));
+        for (Money amount : amounts) {
+            account.deposit(amount);
+        }
+        return account.getBalanceMinorUnits();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,28 @@
+-- One-off upgrade of an existing notes table to the compressed content column
+-- (notes.content varchar(1000) -> notes.content_data bytea, see NoteContentCodec).
+-- Run it before starting the new version:  psql -U notes_user -d notes_db -f db/migrate-note-content.sql
+-- Running it again does nothing.
+--
+-- Existing rows are copied in the raw format (format byte 0, then the UTF-8 text): PostgreSQL has
+-- no deflate, so a note is compressed the next time the application writes it.
+
+begin;
+
+alter table notes add column if not exists content_data bytea;
+
+do $$
+begin
+    if exists (select 1 from information_schema.columns
+               where table_name = 'notes' and column_name = 'content') then
+        update notes set content_data = '\x00'::bytea || convert_to(content, 'UTF8') where content_data is null;
+        alter table notes drop column content;
+    end if;
+end $$;
+
+alter table notes alter column content_data set not null;
+
+-- values are compressed already: when a row is too large for its page, move content_data to TOAST
+-- without another (pglz) compression attempt
+alter table notes alter column content_data set storage external;
+
+commit;
@@ -0,0 +1,25 @@
+-- Storage figures of the notes table, to compare before and after compressed content:
+--   psql -U notes_user -d notes_db -f db/note-storage-stats.sql
+-- For the buffer cache hit ratio of one load test, run "select pg_stat_reset();" before it.
+
+-- average row size and content size as stored (after compression, before TOAST), and how many
+-- rows are compressed (format byte 1)
+select count(*)                                                 as notes,
+       round(avg(pg_column_size(n.*)))                          as avg_row_bytes,
+       round(avg(pg_column_size(n.content_data)))               as avg_content_bytes,
+       count(*) filter (where get_byte(n.content_data, 0) = 1)  as compressed
+from notes n;
+
+-- heap (rows per 8KB page: more rows per page, fewer pages to cache), TOAST and index sizes
+select pg_size_pretty(pg_relation_size('notes'))                                   as heap,
+       pg_size_pretty(pg_table_size('notes') - pg_relation_size('notes'))          as toast_and_maps,
+       pg_size_pretty(pg_indexes_size('notes'))                                    as indexes,
+       (select round(reltuples / nullif(relpages, 0)) from pg_class where relname = 'notes') as rows_per_page;
+
+-- share of block reads served from shared buffers since the last stats reset
+select heap_blks_hit + heap_blks_read                                               as heap_reads,
+       round(heap_blks_hit::numeric / nullif(heap_blks_hit + heap_blks_read, 0), 4) as heap_hit_ratio,
+       round(toast_blks_hit::numeric / nullif(toast_blks_hit + toast_blks_read, 0), 4) as toast_hit_ratio,
+       round(idx_blks_hit::numeric / nullif(idx_blks_hit + idx_blks_read, 0), 4)   as index_hit_ratio
+from pg_statio_user_tables
+where relname = 'notes';
@@ -2,8 +2,10 @@ package com.example.notes;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NotesRuntimeHints.class)
 public class NotesApplication {
 
 	public static void main(String[] args) {
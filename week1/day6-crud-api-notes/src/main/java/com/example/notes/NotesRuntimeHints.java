@@ -0,0 +1,26 @@
+package com.example.notes;
+
+import com.example.notes.dto.NoteSummaryDTO;
+import com.example.notes.entity.Note;
+import com.example.notes.metrics.QueryMetricsListener;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection the native image cannot discover on its own: classes Hibernate instantiates
+ * from a property value (hibernate.session.events.auto) or a query ({@code select new ...}), and the
+ * entity accessed reflectively.
+ */
+public class NotesRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(QueryMetricsListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(Note.class,
+                MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS);
+        hints.reflection().registerType(NoteSummaryDTO.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.notes.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD concurrency limit: the number of requests allowed in flight grows by about one per
+ * "limit" fast completions and is cut by {@code backoffRatio} when a request is slower than
+ * {@code targetLatency}. Requests above the limit are rejected instead of queueing in Tomcat.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(Long.MIN_VALUE);
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        if (latencyNanos > targetLatencyNanos) {
+            // one decrease per target-latency window, so a burst of slow responses does not collapse the limit
+            long last = lastDecreaseNanos.get();
+            if ((last == Long.MIN_VALUE || nowNanos - last > targetLatencyNanos) && lastDecreaseNanos.compareAndSet(last, nowNanos)) {
+                update(limit -> Math.max(minLimit, limit * backoffRatio));
+            }
+        } else {
+            update(limit -> Math.min(maxLimit, limit + 1.0 / limit));
+        }
+    }
+
+    public int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(java.util.function.DoubleUnaryOperator operator) {
+        while (true) {
+            long bits = limitBits.get();
+            double next = operator.applyAsDouble(Double.longBitsToDouble(bits));
+            if (limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.notes.controller;
 
+import com.example.notes.dto.NearDuplicateDTO;
+import com.example.notes.dto.NoteBatchResponse;
 import com.example.notes.dto.NoteDTO;
+import com.example.notes.dto.NoteSummaryDTO;
 import com.example.notes.entity.Note;
 import com.example.notes.service.NoteService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/notes")
@@ -25,13 +32,23 @@ public class NoteController {
         return new NoteDTO(saved.getId(), saved.getTitle(), saved.getContent());
     }
 
-    // READ ALL
+    // READ ALL: id and title only (the content is on GET /api/notes/{id})
     @GetMapping
-    public List<NoteDTO> getAllNotes() {
-        return noteService.getAllNotes()
-                .stream()
-                .map(note -> new NoteDTO(note.getId(), note.getTitle(), note.getContent()))
-                .toList();
+    public List<NoteSummaryDTO> getAllNotes() {
+        return noteService.getAllNotes();
+    }
+
+    // READ MANY BY ID: GET /api/notes?ids=1,2,3 in one query instead of N calls
+    @GetMapping(params = "ids")
+    public NoteBatchResponse getNotesByIds(@RequestParam List<Long> ids) {
+        List<NoteDTO> notes = new ArrayList<>(ids.size());
+        Set<Long> foundIds = new HashSet<>();
+        for (Note note : noteService.getNotesByIds(ids)) {
+            foundIds.add(note.getId());
+            notes.add(new NoteDTO(note.getId(), note.getTitle(), note.getContent()));
+        }
+        List<Long> missing = ids.stream().filter(Objects::nonNull).distinct().filter(id -> !foundIds.contains(id)).toList();
+        return new NoteBatchResponse(notes, missing);
     }
 
     // READ BY ID
@@ -42,6 +59,22 @@ public class NoteController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // NEAR-DUPLICATES: notes with (almost) the same title and content, closest first
+    @GetMapping("/{id}/near-duplicates")
+    public List<NearDuplicateDTO> getNearDuplicates(@PathVariable Long id) {
+        return noteService.findNearDuplicates(id)
+                .stream()
+                .map(match -> new NearDuplicateDTO(match.note().getId(), match.note().getTitle(),
+                        match.note().getContent(), match.distance()))
+                .toList();
+    }
+
+    // SEARCH BY TITLE PREFIX (case-insensitive), id and title only
+    @GetMapping("/search")
+    public List<NoteSummaryDTO> searchByTitle(@RequestParam String title) {
+        return noteService.searchByTitle(title);
+    }
+
     // UPDATE
     @PutMapping("/{id}")
     public ResponseEntity<NoteDTO> updateNote(@PathVariable Long id, @RequestBody NoteDTO noteDTO) {
@@ -0,0 +1,6 @@
+package com.example.notes.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,38 @@
+package com.example.notes.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the replica and everything else to the
+ * primary. Falls back to the primary when the client must read its own writes or the replica lags.
+ * <p>
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager asks for a
+ * connection before the read-only flag of the new transaction is visible here.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    public DataSourceRoute currentRoute() {
+        boolean replicaAllowed = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWrites.primaryRequired()
+                && lagMonitor.isReplicaUsable();
+        return replicaAllowed ? DataSourceRoute.REPLICA : DataSourceRoute.PRIMARY;
+    }
+}
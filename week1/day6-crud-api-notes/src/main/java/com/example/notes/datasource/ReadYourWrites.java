@@ -0,0 +1,25 @@
+package com.example.notes.datasource;
+
+/**
+ * Per-request flag set by {@link ReadYourWritesFilter}: the client wrote recently, so its reads
+ * go to the primary until the replica has had time to catch up.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean primaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.notes.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica for its replay lag. While the lag is above {@code maxLag}, or the replica
+ * cannot be reached, reads are routed to the primary.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    public void start(Duration interval) {
+        check();
+        scheduler.scheduleWithFixedDelay(this::check, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * @return the last measured lag, -1 when the replica could not be queried
+     */
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    void check() {
+        boolean usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            rs.next();
+            lagMillis = Math.round(rs.getDouble(1) * 1000);
+            usable = lagMillis <= maxLagMillis;
+        } catch (Exception e) {
+            lagMillis = -1;
+            usable = false;
+            if (replicaUsable) {
+                log.warn("Replica unreachable, routing reads to the primary", e);
+            }
+        }
+        if (usable != replicaUsable && lagMillis >= 0) {
+            log.info("Replica lag {} ms: reads go to the {}", lagMillis, usable ? "replica" : "primary");
+        }
+        replicaUsable = usable;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
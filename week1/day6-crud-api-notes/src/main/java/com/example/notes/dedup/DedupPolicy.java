@@ -0,0 +1,14 @@
+package com.example.notes.dedup;
+
+/**
+ * What createNote does when the new note is a near-duplicate of an existing one
+ * (notes.dedup.policy).
+ */
+public enum DedupPolicy {
+    // create it anyway
+    NONE,
+    // 409 Conflict, naming the existing note
+    REJECT,
+    // update the closest existing note with the new title and content, and return it
+    MERGE
+}
@@ -0,0 +1,140 @@
+package com.example.notes.dedup;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of note {@link SimHash} fingerprints, to find near-duplicates without comparing
+ * a note against all the others.
+ * <p>
+ * The 64 bits are cut into {@code max-distance + 1} bands and each band value maps to the ids
+ * having it. Two fingerprints at most {@code max-distance} bits apart cannot differ in every band,
+ * so they share at least one bucket: a lookup only checks the ids of its own buckets (about
+ * {@code bands * notes / 2^band-bits}) and still finds every match. Larger distances mean shorter
+ * bands, hence more candidates per lookup.
+ * <p>
+ * Reads are lock-free; writes are serialized (a handful of map updates each).
+ */
+@Component
+public class NearDuplicateIndex {
+
+    public record Match(long id, int distance) { }
+
+    private final int maxDistance;
+    private final int[] bandShifts;
+    private final long[] bandMasks;
+    private final ConcurrentHashMap<Long, Long> fingerprints = new ConcurrentHashMap<>();
+    // per band: band value -> ids
+    private final List<ConcurrentHashMap<Long, Set<Long>>> buckets = new ArrayList<>();
+
+    public NearDuplicateIndex(@Value("${notes.dedup.max-distance:4}") int maxDistance) {
+        if (maxDistance < 0 || maxDistance > 7) {
+            throw new IllegalArgumentException("notes.dedup.max-distance must be between 0 and 7, got " + maxDistance);
+        }
+        this.maxDistance = maxDistance;
+        int bands = maxDistance + 1;
+        bandShifts = new int[bands];
+        bandMasks = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            int from = band * Long.SIZE / bands;
+            int to = (band + 1) * Long.SIZE / bands;
+            bandShifts[band] = from;
+            bandMasks[band] = to - from == Long.SIZE ? -1L : (1L << (to - from)) - 1;
+            buckets.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    public int maxDistance() {
+        return maxDistance;
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    /**
+     * The indexed fingerprint of a note, or null if it is not indexed.
+     */
+    public Long fingerprint(long id) {
+        return fingerprints.get(id);
+    }
+
+    /**
+     * Adds a note, or moves it if its fingerprint changed.
+     */
+    public synchronized void put(long id, long fingerprint) {
+        Long previous = fingerprints.put(id, fingerprint);
+        if (previous != null) {
+            if (previous == fingerprint) {
+                return;
+            }
+            unindex(id, previous);
+        }
+        for (int band = 0; band < bandShifts.length; band++) {
+            buckets.get(band).computeIfAbsent(band(fingerprint, band), key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    /**
+     * Adds a note unless it is already indexed (bulk loading must not undo a newer put).
+     */
+    public synchronized void putIfAbsent(long id, long fingerprint) {
+        if (!fingerprints.containsKey(id)) {
+            put(id, fingerprint);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        Long previous = fingerprints.remove(id);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+    }
+
+    /**
+     * Indexed notes at most max-distance bits from the fingerprint (except excludeId), closest first.
+     */
+    public List<Match> find(long fingerprint, Long excludeId) {
+        Set<Long> seen = new HashSet<>();
+        List<Match> matches = new ArrayList<>();
+        for (int band = 0; band < bandShifts.length; band++) {
+            Set<Long> ids = buckets.get(band).get(band(fingerprint, band));
+            if (ids == null) {
+                continue;
+            }
+            for (Long id : ids) {
+                if (id.equals(excludeId) || !seen.add(id)) {
+                    continue;
+                }
+                // the current fingerprint: the note may have moved since the bucket was read
+                Long current = fingerprints.get(id);
+                int distance = current == null ? Integer.MAX_VALUE : SimHash.distance(fingerprint, current);
+                if (distance <= maxDistance) {
+                    matches.add(new Match(id, distance));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparingLong(Match::id));
+        return matches;
+    }
+
+    private void unindex(long id, long fingerprint) {
+        for (int band = 0; band < bandShifts.length; band++) {
+            buckets.get(band).computeIfPresent(band(fingerprint, band), (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private long band(long fingerprint, int band) {
+        return fingerprint >>> bandShifts[band] & bandMasks[band];
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.notes.dedup;
+
+import java.util.Locale;
+
+/**
+ * 64-bit SimHash of a note: every word and every pair of adjacent words of the title and the
+ * content is hashed, and bit i of the fingerprint is set when most of the hashes have it set.
+ * Notes that share most of their words get fingerprints a few bits apart; unrelated notes differ
+ * in about 32 bits. Case and punctuation are ignored. The hash is fixed (FNV-1a then the
+ * MurmurHash3 finalizer), so fingerprints are identical across JVMs and restarts.
+ */
+public final class SimHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    public static long fingerprint(String title, String content) {
+        int[] weights = new int[Long.SIZE];
+        long previous = add(weights, title, 0);
+        add(weights, content, previous);
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    // adds the words of text (and word pairs, the first one continuing from previous); returns the last word's hash
+    private static long add(int[] weights, String text, long previous) {
+        if (text == null) {
+            return previous;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int i = 0;
+        while (i < lower.length()) {
+            if (!Character.isLetterOrDigit(lower.charAt(i))) {
+                i++;
+                continue;
+            }
+            long word = FNV_OFFSET;
+            for (; i < lower.length() && Character.isLetterOrDigit(lower.charAt(i)); i++) {
+                word = (word ^ lower.charAt(i)) * FNV_PRIME;
+            }
+            vote(weights, mix(word));
+            if (previous != 0) {
+                vote(weights, mix(previous * FNV_PRIME + word));
+            }
+            previous = word;
+        }
+        return previous;
+    }
+
+    private static void vote(int[] weights, long hash) {
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            weights[bit] += (int) (hash >>> bit & 1) * 2 - 1;
+        }
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec3L;
+        return h ^ h >>> 33;
+    }
+}
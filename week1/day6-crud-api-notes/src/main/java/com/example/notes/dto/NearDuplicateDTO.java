@@ -0,0 +1,4 @@
+package com.example.notes.dto;
+
+// distance: number of differing SimHash bits (0 = same words)
+public record NearDuplicateDTO(Long id, String title, String content, int distance) { }
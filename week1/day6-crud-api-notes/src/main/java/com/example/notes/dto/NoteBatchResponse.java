@@ -0,0 +1,6 @@
+package com.example.notes.dto;
+
+import java.util.List;
+
+// notes in request order; ids with no note are listed in missing, in request order too
+public record NoteBatchResponse(List<NoteDTO> notes, List<Long> missing) { }
@@ -0,0 +1,4 @@
+package com.example.notes.dto;
+
+// list views: no content (GET /api/notes/{id} has it)
+public record NoteSummaryDTO(Long id, String title) { }
@@ -0,0 +1,28 @@
+package com.example.notes.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Note.content to and from the content_data column; Hibernate gets it from the Spring context,
+ * with the configured {@link NoteContentCodec}.
+ */
+@Converter
+public class NoteContentConverter implements AttributeConverter<String, byte[]> {
+
+    private final NoteContentCodec codec;
+
+    public NoteContentConverter(NoteContentCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String content) {
+        return codec.encode(content);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] data) {
+        return codec.decode(data);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.notes.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateNoteException extends RuntimeException {
+    public DuplicateNoteException(long existingId) {
+        super("Note is a near-duplicate of note " + existingId, null, false, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.notes.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class NoteContentTooLongException extends RuntimeException {
+    public NoteContentTooLongException(int length, int max) {
+        super("Note content too long: " + length + " characters (max " + max + ")", null, false, false);
+    }
+}
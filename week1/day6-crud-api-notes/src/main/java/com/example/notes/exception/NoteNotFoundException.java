@@ -0,0 +1,12 @@
+package com.example.notes.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// expected failure: no stack trace is captured (it would never be read)
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class NoteNotFoundException extends RuntimeException {
+    public NoteNotFoundException(Long id) {
+        super("Note not found with id " + id, null, false, false);
+    }
+}
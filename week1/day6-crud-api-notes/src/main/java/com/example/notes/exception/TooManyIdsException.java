@@ -0,0 +1,11 @@
+package com.example.notes.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class TooManyIdsException extends RuntimeException {
+    public TooManyIdsException(int requested, int max) {
+        super("Too many ids: " + requested + " (max " + max + ")", null, false, false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.notes.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// backpressure: the write-behind queue is full, the client retries later
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class WriteBehindFullException extends RuntimeException {
+    public WriteBehindFullException() {
+        super("Note ingest queue is full, retry later", null, false, false);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.notes.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public MetricsConfig(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    // no registry in sliced tests (@WebMvcTest): skip the interceptor there
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        registry.ifAvailable(meterRegistry ->
+                interceptors.addInterceptor(new QueryMetricsInterceptor(meterRegistry)).addPathPatterns("/api/**"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.notes.metrics;
+
+/**
+ * JDBC statement count and time of the request running on the current thread.
+ * One mutable instance per thread, reset at the start of each request, so recording allocates nothing.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = ThreadLocal.withInitial(RequestQueryStats::new);
+
+    private boolean active;
+    private int count;
+    private long nanos;
+
+    private RequestQueryStats() {
+    }
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public void start() {
+        active = true;
+        count = 0;
+        nanos = 0;
+    }
+
+    public void stop() {
+        active = false;
+    }
+
+    // statements run outside a request (startup, background threads) are not attributed to any endpoint
+    public void record(long statementNanos) {
+        if (active) {
+            count++;
+            nanos += statementNanos;
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+}
@@ -1,8 +1,35 @@
 package com.example.notes.repository;
 
+import com.example.notes.dto.NoteSummaryDTO;
 import com.example.notes.entity.Note;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface NoteRepository extends JpaRepository<Note, Long> { }
+public interface NoteRepository extends JpaRepository<Note, Long>, NoteStore {
+
+    // list views select id and title only: content is neither read nor decompressed
+    @Query("select new com.example.notes.dto.NoteSummaryDTO(n.id, n.title) from Note n order by n.id")
+    List<NoteSummaryDTO> findAllSummaries();
+
+    List<NoteSummaryDTO> findSummariesByTitleStartingWithIgnoreCase(String prefix);
+
+    // content is lazy on the entity: these read it in the same query instead of one more per note.
+    // The notes returned are not managed (changes to them are not saved).
+
+    @Query("select new com.example.notes.entity.Note(n.id, n.title, n.content) from Note n where n.id = :id")
+    Optional<Note> findWithContentById(@Param("id") Long id);
+
+    @Query("select new com.example.notes.entity.Note(n.id, n.title, n.content) from Note n where n.id in :ids")
+    List<Note> findWithContentByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.example.notes.entity.Note(n.id, n.title, n.content) from Note n where n.id > :after order by n.id")
+    List<Note> findWithContentByIdGreaterThan(@Param("after") Long after, Limit limit);
+}
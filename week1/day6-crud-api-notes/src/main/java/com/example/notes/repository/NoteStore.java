@@ -0,0 +1,56 @@
+package com.example.notes.repository;
+
+import com.example.notes.dto.NoteSummaryDTO;
+import com.example.notes.entity.Note;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The note storage operations the application uses. {@link NoteRepository} provides them on the
+ * database; the in-memory store of the {@code inmemory} profile implements this interface only,
+ * rather than all of JpaRepository.
+ */
+public interface NoteStore {
+
+    <S extends Note> S save(S note);
+
+    <S extends Note> List<S> saveAll(Iterable<S> notes);
+
+    Optional<Note> findById(Long id);
+
+    void deleteById(Long id);
+
+    long count();
+
+    List<NoteSummaryDTO> findAllSummaries();
+
+    List<NoteSummaryDTO> findSummariesByTitleStartingWithIgnoreCase(String prefix);
+
+    Optional<Note> findWithContentById(Long id);
+
+    List<Note> findWithContentByIdIn(Collection<Long> ids);
+
+    // the notes with an id above after, in id order, at most limit of them
+    List<Note> findWithContentByIdGreaterThan(Long after, Limit limit);
+
+    /**
+     * Passes every note, content included, to {@code action}, reading {@code pageSize} notes per query.
+     * Pages continue after the last id seen rather than at an offset: each query seeks the primary key
+     * instead of skipping all the rows before it, so a full scan stays linear in the number of notes.
+     */
+    default void forEachWithContent(int pageSize, Consumer<Note> action) {
+        Long after = Long.MIN_VALUE;
+        List<Note> page;
+        do {
+            page = findWithContentByIdGreaterThan(after, Limit.of(pageSize));
+            page.forEach(action);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == pageSize);
+    }
+}
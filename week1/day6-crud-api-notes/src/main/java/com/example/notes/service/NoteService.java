@@ -1,46 +1,280 @@
 package com.example.notes.service;
 
+import com.example.notes.dedup.DedupPolicy;
+import com.example.notes.dedup.NearDuplicateIndex;
+import com.example.notes.dedup.SimHash;
+import com.example.notes.dto.NoteSummaryDTO;
 import com.example.notes.entity.Note;
-import com.example.notes.repository.NoteRepository;
+import com.example.notes.exception.DuplicateNoteException;
+import com.example.notes.exception.NoteContentTooLongException;
+import com.example.notes.exception.NoteNotFoundException;
+import com.example.notes.exception.TooManyIdsException;
+import com.example.notes.repository.NoteStore;
+import com.example.notes.writebehind.WriteBehindNoteWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class NoteService {
 
-    private final NoteRepository noteRepository;
+    private static final Logger log = LoggerFactory.getLogger(NoteService.class);
 
-    public NoteService(NoteRepository noteRepository) {
+    /**
+     * A near-duplicate of a note; distance is the number of differing SimHash bits.
+     */
+    public record NearDuplicate(Note note, int distance) { }
+
+    private final NoteStore noteRepository;
+    // null unless notes.write-behind.enabled=true
+    private final WriteBehindNoteWriter writeBehind;
+    private final int batchChunkSize;
+    private final int batchMaxIds;
+    private final NearDuplicateIndex nearDuplicates;
+    private final DedupPolicy dedupPolicy;
+    // the Spring proxy, so a merge runs updateNote in its transaction; null outside a container
+    private final ObjectProvider<NoteService> self;
+
+    public NoteService(NoteStore noteRepository) {
+        this(noteRepository, Optional.empty(), 1000, 10_000);
+    }
+
+    public NoteService(NoteStore noteRepository, Optional<WriteBehindNoteWriter> writeBehind,
+                       int batchChunkSize, int batchMaxIds) {
+        this(noteRepository, writeBehind, batchChunkSize, batchMaxIds, new NearDuplicateIndex(4), DedupPolicy.NONE);
+    }
+
+    public NoteService(NoteStore noteRepository, Optional<WriteBehindNoteWriter> writeBehind,
+                       int batchChunkSize, int batchMaxIds,
+                       NearDuplicateIndex nearDuplicates, DedupPolicy dedupPolicy) {
+        this(noteRepository, writeBehind, batchChunkSize, batchMaxIds, nearDuplicates, dedupPolicy, null);
+    }
+
+    @Autowired
+    public NoteService(NoteStore noteRepository, Optional<WriteBehindNoteWriter> writeBehind,
+                       @Value("${notes.batch-get.chunk-size:1000}") int batchChunkSize,
+                       @Value("${notes.batch-get.max-ids:10000}") int batchMaxIds,
+                       NearDuplicateIndex nearDuplicates,
+                       @Value("${notes.dedup.policy:none}") DedupPolicy dedupPolicy,
+                       ObjectProvider<NoteService> self) {
         this.noteRepository = noteRepository;
+        this.writeBehind = writeBehind.orElse(null);
+        this.batchChunkSize = batchChunkSize;
+        this.batchMaxIds = batchMaxIds;
+        this.nearDuplicates = nearDuplicates;
+        this.dedupPolicy = dedupPolicy;
+        this.self = self;
     }
 
+    /**
+     * Saves the note, unless notes.dedup.policy is reject or merge and a near-duplicate exists.
+     * The check is best effort: two identical notes created at the same time can both get in.
+     *
+     * @throws DuplicateNoteException with the reject policy
+     * @throws NoteContentTooLongException above {@link Note#MAX_CONTENT_LENGTH} characters
+     */
     public Note createNote(Note note) {
-        return noteRepository.save(note);
+        checkContentLength(note);
+        long fingerprint = SimHash.fingerprint(note.getTitle(), note.getContent());
+        if (dedupPolicy != DedupPolicy.NONE) {
+            List<NearDuplicateIndex.Match> matches = nearDuplicates.find(fingerprint, null);
+            if (!matches.isEmpty()) {
+                long existingId = matches.get(0).id();
+                if (dedupPolicy == DedupPolicy.REJECT) {
+                    throw new DuplicateNoteException(existingId);
+                }
+                try {
+                    // through the proxy: a call on this would bypass updateNote's @Transactional
+                    return (self != null ? self.getObject() : this).updateNote(existingId, note);
+                } catch (NoteNotFoundException e) {
+                    // deleted in the meantime: create it after all
+                }
+            }
+        }
+        Note saved = writeBehind != null ? writeBehind.submit(note) : noteRepository.save(note);
+        nearDuplicates.put(saved.getId(), fingerprint);
+        return saved;
     }
 
-    public List<Note> getAllNotes() {
-        return noteRepository.findAll();
+    // titles only: content is not read for lists
+    @Transactional(readOnly = true)
+    public List<NoteSummaryDTO> getAllNotes() {
+        List<NoteSummaryDTO> notes = noteRepository.findAllSummaries();
+        if (writeBehind == null || writeBehind.pendingNotes().isEmpty()) {
+            return notes;
+        }
+        // a note can be flushed between the two reads: keep the first copy
+        List<NoteSummaryDTO> all = new ArrayList<>(notes);
+        Set<Long> ids = new HashSet<>();
+        notes.forEach(note -> ids.add(note.id()));
+        writeBehind.pendingNotes().stream()
+                .filter(note -> ids.add(note.getId()))
+                .forEach(note -> all.add(new NoteSummaryDTO(note.getId(), note.getTitle())));
+        return all;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Note> getNoteById(Long id) {
-        return noteRepository.findById(id);
+        if (writeBehind != null) {
+            Note pending = writeBehind.pending(id);
+            if (pending != null) {
+                return Optional.of(pending);
+            }
+        }
+        return noteRepository.findWithContentById(id);
+    }
+
+    /**
+     * Notes for the given ids in request order (duplicates and unknown ids dropped),
+     * with one {@code where id in (...)} query per {@code chunk-size} ids.
+     *
+     * @throws TooManyIdsException above {@code notes.batch-get.max-ids}
+     */
+    @Transactional(readOnly = true)
+    public List<Note> getNotesByIds(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > batchMaxIds) {
+            throw new TooManyIdsException(distinct.size(), batchMaxIds);
+        }
+        Map<Long, Note> found = new HashMap<>(distinct.size() * 2);
+        List<Long> toQuery = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            Note pending = writeBehind == null ? null : writeBehind.pending(id);
+            if (pending != null) {
+                found.put(id, pending);
+            } else {
+                toQuery.add(id);
+            }
+        }
+        for (int from = 0; from < toQuery.size(); from += batchChunkSize) {
+            List<Long> chunk = toQuery.subList(from, Math.min(toQuery.size(), from + batchChunkSize));
+            noteRepository.findWithContentByIdIn(chunk).forEach(note -> found.put(note.getId(), note));
+        }
+        List<Note> notes = new ArrayList<>(found.size());
+        for (Long id : distinct) {
+            Note note = found.get(id);
+            if (note != null) {
+                notes.add(note);
+            }
+        }
+        return notes;
     }
 
+    /**
+     * Notes whose title and content are near-identical to this note's, closest first
+     * (at most notes.dedup.max-distance SimHash bits apart).
+     *
+     * @throws NoteNotFoundException if there is no such note
+     */
+    @Transactional(readOnly = true)
+    public List<NearDuplicate> findNearDuplicates(Long id) {
+        Long fingerprint = nearDuplicates.fingerprint(id);
+        if (fingerprint == null) {
+            // not indexed yet (startup indexing still running)
+            Note note = getNoteById(id).orElseThrow(() -> new NoteNotFoundException(id));
+            fingerprint = SimHash.fingerprint(note.getTitle(), note.getContent());
+        }
+        List<NearDuplicateIndex.Match> matches = nearDuplicates.find(fingerprint, id);
+        Map<Long, Integer> distances = new HashMap<>(matches.size() * 2);
+        matches.stream().limit(batchMaxIds).forEach(match -> distances.put(match.id(), match.distance()));
+        // getNotesByIds keeps the closest-first order and drops notes deleted meanwhile
+        List<Long> ids = matches.stream().limit(batchMaxIds).map(NearDuplicateIndex.Match::id).toList();
+        return getNotesByIds(ids).stream()
+                .map(note -> new NearDuplicate(note, distances.get(note.getId())))
+                .toList();
+    }
+
+    // flushed notes only: the write-behind queue is not indexed by title
+    @Transactional(readOnly = true)
+    public List<NoteSummaryDTO> searchByTitle(String prefix) {
+        return noteRepository.findSummariesByTitleStartingWithIgnoreCase(prefix);
+    }
+
+    @Transactional
     public Note updateNote(Long id, Note noteDetails) {
+        checkContentLength(noteDetails);
+        awaitFlushed(id);
         Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Note not found with id " + id));
+                .orElseThrow(() -> new NoteNotFoundException(id));
         note.setTitle(noteDetails.getTitle());
         note.setContent(noteDetails.getContent());
-        return noteRepository.save(note);
+        Note saved = noteRepository.save(note);
+        long fingerprint = SimHash.fingerprint(saved.getTitle(), saved.getContent());
+        afterCommit(() -> nearDuplicates.put(id, fingerprint));
+        return saved;
     }
 
+    @Transactional
     public void deleteNote(Long id) {
+        awaitFlushed(id);
         noteRepository.deleteById(id);
+        afterCommit(() -> nearDuplicates.remove(id));
+    }
+
+    /**
+     * Fills the near-duplicate index with the notes already stored, a page at a time. Requests are
+     * served meanwhile; notes written by them are indexed with their newest version.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexExistingNotes() {
+        long start = System.nanoTime();
+        noteRepository.forEachWithContent(batchChunkSize, note ->
+                nearDuplicates.putIfAbsent(note.getId(), SimHash.fingerprint(note.getTitle(), note.getContent())));
+        if (writeBehind != null) {
+            writeBehind.pendingNotes().forEach(note ->
+                    nearDuplicates.putIfAbsent(note.getId(), SimHash.fingerprint(note.getTitle(), note.getContent())));
+        }
+        log.info("Indexed {} notes for near-duplicate detection in {} ms",
+                nearDuplicates.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void checkContentLength(Note note) {
+        if (note.getContent() != null && note.getContent().length() > Note.MAX_CONTENT_LENGTH) {
+            throw new NoteContentTooLongException(note.getContent().length(), Note.MAX_CONTENT_LENGTH);
+        }
+    }
+
+    // the index describes committed notes only: a rolled-back update or delete leaves it unchanged
+    private static void afterCommit(Runnable indexUpdate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexUpdate.run();
+                }
+            });
+        } else {
+            indexUpdate.run();
+        }
+    }
+
+    // a note still in the write-behind queue has no row to update or delete yet
+    private void awaitFlushed(Long id) {
+        if (writeBehind != null) {
+            writeBehind.awaitFlushed(id);
+        }
     }
 
     // Modern JDK21: switch expression
+    @Transactional(readOnly = true)
     public String getNotesSummary() {
         int count = (int) noteRepository.count();
         return switch (count) {
@@ -51,10 +285,11 @@ public class NoteService {
     }
 
     // Modern streams
+    @Transactional(readOnly = true)
     public List<String> getAllTitlesUppercase() {
-        return noteRepository.findAll()
+        return getAllNotes()
                 .stream()
-                .map(Note::getTitle)
+                .map(NoteSummaryDTO::title)
                 .map(String::toUpperCase)
                 .toList();
     }
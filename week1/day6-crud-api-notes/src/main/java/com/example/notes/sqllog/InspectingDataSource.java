@@ -0,0 +1,143 @@
+package com.example.notes.sqllog;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Hands out connections whose statements report SQL, bind count and execution time to the
+ * {@link SqlLogger}. Everything else goes straight to the target (JDK proxies over the driver's
+ * objects); being a {@link DelegatingDataSource}, pool metrics and health checks still find the
+ * Hikari pool underneath.
+ */
+public class InspectingDataSource extends DelegatingDataSource {
+
+    private final SqlLogger sqlLogger;
+
+    public InspectingDataSource(DataSource target, SqlLogger sqlLogger) {
+        super(target);
+        this.sqlLogger = sqlLogger;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return inspect(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return inspect(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection inspect(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        // proxies are compared by identity (Hibernate tracks open statements in hash maps)
+        switch (method.getName()) {
+            case "equals":
+                if (method.getParameterCount() == 1) {
+                    return proxy == args[0];
+                }
+                break;
+            case "hashCode":
+                if (method.getParameterCount() == 0) {
+                    return System.identityHashCode(proxy);
+                }
+                break;
+            default:
+                break;
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InspectingDataSource.invoke(proxy, target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, (Connection) proxy, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+        private String sql;      // prepared SQL, or the last SQL passed to execute/addBatch
+        private int binds;       // highest parameter index set since clearParameters
+        private int batchBinds;
+
+        StatementHandler(Statement target, Connection connection, String sql) {
+            this.target = target;
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(proxy, method, args, name.endsWith("Batch"));
+            }
+            if (name.startsWith("set") && method.getDeclaringClass() != Statement.class && args != null && args.length >= 2) {
+                // setXxx(index, value...) on PreparedStatement, or setXxx(name, value...) on CallableStatement
+                binds = args[0] instanceof Integer index ? Math.max(binds, index) : binds + 1;
+            } else if (name.equals("clearParameters")) {
+                binds = 0;
+            } else if (name.equals("addBatch")) {
+                if (args != null && args.length == 1) {
+                    sql = (String) args[0];
+                }
+                batchBinds += binds;
+            } else if (name.equals("clearBatch")) {
+                batchBinds = 0;
+            } else if (name.equals("getConnection")) {
+                return connection;
+            }
+            return InspectingDataSource.invoke(proxy, target, method, args);
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args, boolean batch) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            long start = System.nanoTime();
+            try {
+                return InspectingDataSource.invoke(proxy, target, method, args);
+            } finally {
+                sqlLogger.executed(executed, batch ? batchBinds : binds, System.nanoTime() - start);
+                if (batch) {
+                    batchBinds = 0;
+                }
+            }
+        }
+    }
+}
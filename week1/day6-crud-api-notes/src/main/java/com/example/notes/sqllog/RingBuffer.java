@@ -0,0 +1,66 @@
+package com.example.notes.sqllog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer. Each slot carries a sequence
+ * number telling whether it is free for position {@code p} ({@code p}) or holds the item for it
+ * ({@code p + 1}), so producers only contend on one CAS and never block: when the ring is full,
+ * {@link #offer} returns false and the caller drops the item.
+ */
+final class RingBuffer<T> {
+
+    private final Object[] items;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // consumer thread only
+
+    RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        items = new Object[size];
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items[index] = item;
+                    sequences.set(index, position + 1); // publishes the item
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                return false; // the consumer has not freed this slot yet: full
+            } else {
+                position = tail.get(); // another producer took this position
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    T poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        T item = (T) items[index];
+        items[index] = null;
+        sequences.set(index, head + items.length); // free for the producer one lap ahead
+        head++;
+        return item;
+    }
+
+    int capacity() {
+        return items.length;
+    }
+}
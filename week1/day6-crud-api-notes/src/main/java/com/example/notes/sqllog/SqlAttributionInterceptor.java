@@ -0,0 +1,33 @@
+package com.example.notes.sqllog;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Tags the statements of each request with the controller method that issued them
+ * ({@code NoteController#getNoteById}) and reports repeated statements when the request ends.
+ */
+public class SqlAttributionInterceptor implements HandlerInterceptor {
+
+    private final SqlLogger sqlLogger;
+
+    public SqlAttributionInterceptor(SqlLogger sqlLogger) {
+        this.sqlLogger = sqlLogger;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String name = handler instanceof HandlerMethod method
+                ? method.getBeanType().getSimpleName() + "#" + method.getMethod().getName()
+                : request.getMethod() + " " + request.getRequestURI();
+        sqlLogger.requestStarted(name);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        sqlLogger.requestFinished();
+    }
+}
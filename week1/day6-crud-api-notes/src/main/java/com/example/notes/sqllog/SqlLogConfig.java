@@ -0,0 +1,57 @@
+package com.example.notes.sqllog;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application's DataSource (the bean named "dataSource": the Hikari pool, or the
+ * routing DataSource when the read replica is on) so every statement goes through the
+ * {@link SqlLogger}, whatever issues it: Hibernate, JdbcTemplate or the write-behind writer.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql-log.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlLogConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<SqlLogger> sqlLogger;
+
+    public SqlLogConfig(ObjectProvider<SqlLogger> sqlLogger) {
+        this.sqlLogger = sqlLogger;
+    }
+
+    @Bean(destroyMethod = "close")
+    public SqlLogger sqlLogger(@Value("${sql-log.sample-rate:0.01}") double sampleRate,
+                               @Value("${sql-log.slow-threshold:100ms}") Duration slowThreshold,
+                               @Value("${sql-log.n-plus-one-threshold:10}") int nPlusOneThreshold,
+                               @Value("${sql-log.buffer-size:8192}") int bufferSize) {
+        return new SqlLogger(sampleRate, slowThreshold, nPlusOneThreshold, bufferSize);
+    }
+
+    // static: post-processors are created before regular beans
+    @Bean
+    public static BeanPostProcessor inspectingDataSourcePostProcessor(ObjectProvider<SqlLogger> sqlLogger) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (beanName.equals("dataSource") && bean instanceof DataSource dataSource
+                        && !(bean instanceof InspectingDataSource)) {
+                    return new InspectingDataSource(dataSource, sqlLogger.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new SqlAttributionInterceptor(sqlLogger.getObject())).addPathPatterns("/api/**");
+    }
+}
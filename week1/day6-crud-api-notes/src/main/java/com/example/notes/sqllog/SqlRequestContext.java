@@ -0,0 +1,61 @@
+package com.example.notes.sqllog;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Controller method and per-statement execution counts of the request running on the current thread.
+ * The same SQL text executed many times in one request is the signature of an N+1 pattern
+ * (prepared statements keep their {@code ?} placeholders, so the text is identical per row).
+ */
+final class SqlRequestContext {
+
+    static final String NO_HANDLER = "-";
+
+    private static final ThreadLocal<SqlRequestContext> CURRENT = ThreadLocal.withInitial(SqlRequestContext::new);
+
+    private final Map<String, int[]> executions = new HashMap<>();
+    private String handler = NO_HANDLER;
+    private boolean active;
+
+    private SqlRequestContext() {
+    }
+
+    static SqlRequestContext current() {
+        return CURRENT.get();
+    }
+
+    void start(String handler) {
+        this.handler = handler;
+        executions.clear();
+        active = true;
+    }
+
+    /**
+     * Ends the request, reporting each statement executed at least {@code threshold} times.
+     */
+    void stop(int threshold, BiConsumer<String, Integer> repeated) {
+        if (active) {
+            executions.forEach((sql, count) -> {
+                if (count[0] >= threshold) {
+                    repeated.accept(sql, count[0]);
+                }
+            });
+        }
+        executions.clear();
+        handler = NO_HANDLER;
+        active = false;
+    }
+
+    // statements run outside a request (startup, background threads) are not counted
+    void executed(String sql) {
+        if (active) {
+            executions.computeIfAbsent(sql, key -> new int[1])[0]++;
+        }
+    }
+
+    String handler() {
+        return handler;
+    }
+}
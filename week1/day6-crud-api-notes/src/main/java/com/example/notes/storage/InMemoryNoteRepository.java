@@ -0,0 +1,293 @@
+package com.example.notes.storage;
+
+import com.example.notes.dto.NoteSummaryDTO;
+import com.example.notes.entity.Note;
+import com.example.notes.repository.NoteStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * NoteStore for edge deployments (profile {@code inmemory}): notes live in a ConcurrentHashMap
+ * and every call is served from memory, with no database.
+ * <p>
+ * Durability: each write is appended to a {@link WriteAheadLog} (fsync'ed, group commit) before it
+ * is applied; a snapshot of the whole map is taken every {@code snapshot-interval} and at shutdown,
+ * after which older log segments are dropped. Startup loads the latest snapshot and replays the log.
+ * <p>
+ * Concurrency: reads are lock-free. Writes to the same id are serialized by one of
+ * {@code STRIPES} locks; a snapshot briefly blocks writers (not readers) to cut the log consistently.
+ * Stored notes are private copies: callers can modify what they get without touching the store.
+ * Each call is atomic on its own; there are no multi-call transactions to roll back.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryNoteRepository implements NoteStore {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryNoteRepository.class);
+    private static final int STRIPES = 64;
+
+    private final ConcurrentHashMap<Long, Note> notes = new ConcurrentHashMap<>();
+    // (lower-cased title, id) pairs, sorted for prefix searches
+    private final ConcurrentSkipListSet<TitleKey> titleIndex = new ConcurrentSkipListSet<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    // writers share the read side; a snapshot takes the write side to cut the log
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Path directory;
+    private final WriteAheadLog wal;
+    private final ScheduledExecutorService snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "notes-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InMemoryNoteRepository(@Value("${notes.inmemory.directory:./data/inmemory}") Path directory,
+                                  @Value("${notes.inmemory.fsync:true}") boolean fsync,
+                                  @Value("${notes.inmemory.snapshot-interval:5m}") Duration snapshotInterval) {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.directory = directory;
+        this.wal = new WriteAheadLog(directory, fsync);
+        recover();
+        long period = snapshotInterval.toMillis();
+        snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // ---- writes
+
+    @Override
+    public <S extends Note> S save(S entity) {
+        // same constraint as the NOT NULL columns of the notes table
+        if (entity.getTitle() == null || entity.getContent() == null) {
+            throw new DataIntegrityViolationException("Note title and content must not be null");
+        }
+        if (entity.getId() == null) {
+            entity.setId(sequence.incrementAndGet());
+        } else {
+            sequence.accumulateAndGet(entity.getId(), Math::max);
+        }
+        Note copy = copy(entity);
+        write(copy.getId(), () -> {
+            wal.append(WriteAheadLog.PUT, copy);
+            put(copy);
+        });
+        return entity;
+    }
+
+    @Override
+    public <S extends Note> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        write(id, () -> {
+            if (notes.containsKey(id)) {
+                wal.append(WriteAheadLog.DELETE, new Note(id, null, null));
+                remove(id);
+            }
+        });
+    }
+
+    // ---- reads
+
+    @Override
+    public Optional<Note> findById(Long id) {
+        Note note = notes.get(id);
+        return note == null ? Optional.empty() : Optional.of(copy(note));
+    }
+
+    @Override
+    public long count() {
+        return notes.size();
+    }
+
+    @Override
+    public List<NoteSummaryDTO> findSummariesByTitleStartingWithIgnoreCase(String prefix) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        List<NoteSummaryDTO> found = new ArrayList<>();
+        for (TitleKey match : titleIndex.subSet(new TitleKey(key, Long.MIN_VALUE), new TitleKey(key + Character.MAX_VALUE, Long.MIN_VALUE))) {
+            Note note = notes.get(match.id());
+            if (note != null) {
+                found.add(new NoteSummaryDTO(note.getId(), note.getTitle()));
+            }
+        }
+        return found;
+    }
+
+    // ---- the projections of the JPA repository: nothing is lazy in memory, so these are plain reads
+
+    @Override
+    public List<NoteSummaryDTO> findAllSummaries() {
+        return notes.values().stream()
+                .sorted(Comparator.comparing(Note::getId))
+                .map(note -> new NoteSummaryDTO(note.getId(), note.getTitle()))
+                .toList();
+    }
+
+    @Override
+    public Optional<Note> findWithContentById(Long id) {
+        return findById(id);
+    }
+
+    @Override
+    public List<Note> findWithContentByIdIn(Collection<Long> ids) {
+        List<Note> found = new ArrayList<>();
+        for (Long id : ids) {
+            Note note = notes.get(id);
+            if (note != null) {
+                found.add(copy(note));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Note> findWithContentByIdGreaterThan(Long after, Limit limit) {
+        return notes.values().stream()
+                .filter(note -> note.getId() > after)
+                .sorted(Comparator.comparing(Note::getId))
+                .limit(limit.isLimited() ? limit.max() : Long.MAX_VALUE)
+                .map(InMemoryNoteRepository::copy)
+                .toList();
+    }
+
+    // no pages in memory: one pass over the map, in no particular order
+    @Override
+    public void forEachWithContent(int pageSize, Consumer<Note> action) {
+        notes.values().forEach(note -> action.accept(copy(note)));
+    }
+
+    // ---- durability
+
+    /**
+     * Writes a snapshot and drops the log segments it covers.
+     */
+    public void snapshot() {
+        List<Note> image;
+        long walSegment;
+        long lastId;
+        snapshotLock.writeLock().lock();
+        try {
+            walSegment = wal.roll();
+            lastId = sequence.get();
+            image = List.copyOf(notes.values());
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+        Snapshots.write(directory, walSegment, lastId, image);
+        wal.deleteBefore(walSegment);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        snapshotter.shutdownNow();
+        snapshot();
+        wal.close();
+    }
+
+    private void recover() {
+        Snapshots.Loaded snapshot = Snapshots.loadLatest(directory);
+        snapshot.notes().forEach(this::put);
+        sequence.set(snapshot.lastId());
+        long replayed = wal.open(snapshot.walSegment(), (op, note) -> {
+            // deleted ids count too: like the database sequence, ids are never handed out twice
+            sequence.accumulateAndGet(note.getId(), Math::max);
+            if (op == WriteAheadLog.PUT) {
+                put(note);
+            } else {
+                remove(note.getId());
+            }
+        });
+        if (!notes.isEmpty() || replayed > 0) {
+            log.info("Recovered {} notes from {} (snapshot {} + {} log records)",
+                    notes.size(), directory, snapshot.notes().size(), replayed);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("Snapshot of the in-memory note store failed; the write-ahead log keeps growing", e);
+        }
+    }
+
+    private void write(Long id, Runnable mutation) {
+        ReentrantLock stripe = stripes[Long.hashCode(id) & (STRIPES - 1)];
+        snapshotLock.readLock().lock();
+        stripe.lock();
+        try {
+            mutation.run();
+        } finally {
+            stripe.unlock();
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    // map + index update; callers hold the id's stripe (or run single-threaded during recovery)
+    private void put(Note note) {
+        Note previous = notes.put(note.getId(), note);
+        if (previous != null) {
+            unindex(previous);
+        }
+        titleIndex.add(TitleKey.of(note));
+    }
+
+    private void remove(Long id) {
+        Note previous = notes.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    private void unindex(Note note) {
+        titleIndex.remove(TitleKey.of(note));
+    }
+
+    private record TitleKey(String title, long id) implements Comparable<TitleKey> {
+
+        static TitleKey of(Note note) {
+            return new TitleKey(note.getTitle().toLowerCase(Locale.ROOT), note.getId());
+        }
+
+        @Override
+        public int compareTo(TitleKey other) {
+            int byTitle = title.compareTo(other.title);
+            return byTitle != 0 ? byTitle : Long.compare(id, other.id);
+        }
+    }
+
+    private static Note copy(Note note) {
+        return new Note(note.getId(), note.getTitle(), note.getContent());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.notes.storage;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Without JPA there is no transaction manager, but the services keep their {@code @Transactional}
+ * annotations. Each {@link InMemoryNoteRepository} call is atomic on its own, so transactions only
+ * demarcate: nothing to begin, commit or roll back. A nested call joins the caller's transaction, as
+ * under JPA, so after-commit callbacks wait for the outermost commit.
+ */
+@Configuration
+@Profile("inmemory")
+public class InMemoryStorageConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected boolean isExistingTransaction(Object transaction) {
+                return TransactionSynchronizationManager.isActualTransactionActive();
+            }
+
+            @Override
+            protected Object doSuspend(Object transaction) {
+                return transaction;
+            }
+
+            @Override
+            protected void doResume(Object transaction, Object suspendedResources) {
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        };
+    }
+}
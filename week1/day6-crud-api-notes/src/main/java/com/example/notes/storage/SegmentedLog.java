@@ -0,0 +1,257 @@
+package com.example.notes.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of CRC-framed records in numbered segment files ({@code <prefix><n><suffix>}),
+ * shared by the {@link WriteAheadLog} of the in-memory store and the write-behind journal.
+ * Record: [int length][payload][int crc32 of the payload], the length counting payload and crc.
+ * <p>
+ * A segment is opened on the first write after a {@link #roll()} or once it reaches
+ * {@code segmentBytes}; callers decide when older segments can be deleted.
+ * Writes are made durable with group commit: concurrent writers share one fsync.
+ */
+public class SegmentedLog implements AutoCloseable {
+
+    /**
+     * A written record: the segment holding it, and the sequence number to pass to {@link #sync(long)}.
+     */
+    public record Position(long segment, long sequence) { }
+
+    private final Path directory;
+    private final String prefix;
+    private final String suffix;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final String name;
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+    private long segment = -1;
+    private long segmentSize;
+    private long written;
+    private volatile long synced;
+
+    /**
+     * @param name what the log is, for error messages (e.g. "write-ahead log")
+     */
+    public SegmentedLog(Path directory, String prefix, String suffix, long segmentBytes, boolean fsync, String name) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        this.name = name;
+    }
+
+    /**
+     * A record with room for {@code payloadBytes}: put exactly that many bytes, then {@link #write} it.
+     */
+    public static ByteBuffer newRecord(int payloadBytes) {
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + payloadBytes + Integer.BYTES);
+        return record.putInt(payloadBytes + Integer.BYTES);
+    }
+
+    /**
+     * Passes the payload of every record of segments {@code >= fromSegment} to {@code reader}, oldest
+     * first. A torn or corrupt record, or one the reader returns false for, ends its segment: it is
+     * the tail of a crash during an append.
+     *
+     * @return the number of records read
+     */
+    public synchronized long replay(long fromSegment, Predicate<ByteBuffer> reader) {
+        long count = 0;
+        for (long index : segments()) {
+            if (index >= fromSegment) {
+                count += read(path(index), reader);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes, without waiting for the disk; see {@link #append} and {@link #sync}.
+     */
+    public synchronized Position write(ByteBuffer record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), Integer.BYTES, record.position() - Integer.BYTES);
+        record.putInt((int) crc.getValue()).flip();
+        if (channel == null || segmentSize >= segmentBytes) {
+            roll();
+        }
+        try {
+            while (record.hasRemaining()) {
+                segmentSize += channel.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to " + name + " " + path(segment), e);
+        }
+        return new Position(segment, ++written);
+    }
+
+    /**
+     * Writes and (with fsync on) waits until the record is on disk.
+     *
+     * @return the segment holding the record
+     */
+    public long append(ByteBuffer record) {
+        Position position = write(record);
+        sync(position.sequence());
+        return position.segment();
+    }
+
+    // group commit: whoever gets the lock forces everything written so far, the others find it done
+    public void sync(long sequence) {
+        if (!fsync || synced >= sequence) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= sequence) {
+                return;
+            }
+            FileChannel current;
+            long target;
+            synchronized (this) {
+                current = channel;
+                target = written;
+            }
+            try {
+                current.force(false);
+            } catch (IOException e) {
+                // a roll() closed the channel after forcing it: the record is already durable
+                if (current.isOpen()) {
+                    throw new UncheckedIOException("Cannot sync " + name + " " + directory, e);
+                }
+            }
+            synced = target;
+        }
+    }
+
+    /**
+     * Closes the current segment and starts a new one, numbered after every segment on disk.
+     * The old segment is forced first, so {@link #sync} only ever needs the current one.
+     *
+     * @return the new segment index
+     */
+    public synchronized long roll() {
+        long next = segment + 1;
+        if (channel != null) {
+            closeSegment();
+        } else {
+            for (long index : segments()) {
+                next = Math.max(next, index + 1);
+            }
+        }
+        Path file = path(next);
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create " + name + " " + file, e);
+        }
+        segment = next;
+        segmentSize = 0;
+        return segment;
+    }
+
+    /**
+     * @return the segment being written, or -1 before the first write
+     */
+    public synchronized long currentSegment() {
+        return channel == null ? -1 : segment;
+    }
+
+    /**
+     * The segment indexes on disk, oldest first.
+     */
+    public synchronized List<Long> segments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(file -> file.matches(prefix + "\\d+" + "\\" + suffix))
+                    .map(file -> Long.parseLong(file.substring(prefix.length(), file.length() - suffix.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list " + name + " " + directory, e);
+        }
+    }
+
+    // the current segment is never deleted: it is still being written
+    public synchronized void delete(long index) {
+        if (channel != null && index == segment) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path(index));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete " + name + " " + path(index), e);
+        }
+    }
+
+    public synchronized void deleteBefore(long index) {
+        for (long existing : segments()) {
+            if (existing < index) {
+                delete(existing);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            closeSegment();
+            channel = null;
+        }
+    }
+
+    private void closeSegment() {
+        try {
+            if (fsync) {
+                channel.force(false);
+            }
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close " + name + " " + path(segment), e);
+        }
+    }
+
+    private Path path(long index) {
+        return directory.resolve(prefix + index + suffix);
+    }
+
+    private long read(Path file, Predicate<ByteBuffer> reader) {
+        long count = 0;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            while (buffer.remaining() >= Integer.BYTES) {
+                int length = buffer.getInt();
+                if (length < Integer.BYTES || length > buffer.remaining()) {
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(buffer.position(), length - Integer.BYTES);
+                CRC32 crc = new CRC32();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != buffer.getInt(buffer.position() + length - Integer.BYTES) || !reader.test(payload)) {
+                    break;
+                }
+                buffer.position(buffer.position() + length);
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay " + name + " " + file, e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.notes.storage;
+
+import com.example.notes.entity.Note;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Full images of the in-memory store ({@code snapshot-<walSegment>.bin}). The number is the first
+ * write-ahead log segment not covered by the image, i.e. where recovery resumes replaying.
+ * Format: [int magic][long last id handed out][long count] then per note [long id][int len][title][int len][content],
+ * followed by the CRC32 of everything before it. Written to a temp file, fsynced, then renamed,
+ * so a crash never leaves a half-written snapshot under the final name.
+ */
+final class Snapshots {
+
+    record Loaded(long walSegment, long lastId, List<Note> notes) { }
+
+    private static final int MAGIC = 0x4E4F5431; // "NOT1"
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private Snapshots() {
+    }
+
+    static void write(Path directory, long walSegment, long lastId, Collection<Note> notes) {
+        Path target = directory.resolve(PREFIX + walSegment + SUFFIX);
+        Path temp = directory.resolve(PREFIX + walSegment + SUFFIX + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            CRC32 crc = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeLong(lastId);
+                out.writeLong(notes.size());
+                for (Note note : notes) {
+                    out.writeLong(note.getId());
+                    writeString(out, note.getTitle());
+                    writeString(out, note.getContent());
+                }
+                out.flush();
+                file.write(ByteBuffer.allocate(Integer.BYTES).putInt((int) crc.getValue()).array());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, e);
+        }
+        deleteOlderThan(directory, walSegment);
+    }
+
+    /**
+     * @return the newest valid snapshot, or an empty one starting at segment 0
+     */
+    static Loaded loadLatest(Path directory) {
+        List<Path> snapshots = list(directory);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Loaded loaded = read(snapshots.get(i));
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+        return new Loaded(0, 0, List.of());
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // null when truncated or corrupt: recovery falls back to an older snapshot
+    private static Loaded read(Path file) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.remaining() < Integer.BYTES + 2 * Long.BYTES + Integer.BYTES) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, buffer.remaining() - Integer.BYTES));
+            if ((int) crc.getValue() != buffer.getInt(buffer.remaining() - Integer.BYTES) || buffer.getInt() != MAGIC) {
+                return null;
+            }
+            long lastId = buffer.getLong();
+            long count = buffer.getLong();
+            List<Note> notes = new ArrayList<>((int) Math.min(count, 1 << 20));
+            for (long i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                notes.add(new Note(id, readString(buffer), readString(buffer)));
+            }
+            return new Loaded(indexOf(file), lastId, notes);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void deleteOlderThan(Path directory, long walSegment) {
+        for (Path file : list(directory)) {
+            if (indexOf(file) < walSegment) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot delete snapshot " + file, e);
+                }
+            }
+        }
+    }
+
+    private static List<Path> list(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().matches(PREFIX + "\\d+\\" + SUFFIX))
+                    .sorted((a, b) -> Long.compare(indexOf(a), indexOf(b)))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list snapshots in " + directory, e);
+        }
+    }
+
+    private static long indexOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.notes.storage;
+
+import com.example.notes.entity.Note;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Redo log of the in-memory store: a {@link SegmentedLog} of {@code wal-<n>.log} segments.
+ * Record payload: [byte op][long id][int titleLen][title][int contentLen][content].
+ * A snapshot starts a new segment; segments older than the latest snapshot are deleted.
+ */
+class WriteAheadLog implements AutoCloseable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    interface Replay {
+        void apply(byte op, Note note);
+    }
+
+    private final SegmentedLog log;
+
+    WriteAheadLog(Path directory, boolean fsync) {
+        this.log = new SegmentedLog(directory, "wal-", ".log", Long.MAX_VALUE, fsync, "write-ahead log");
+    }
+
+    /**
+     * Replays every record of segments {@code >= fromSegment}, oldest first. A torn or corrupt record
+     * ends the replay of its segment; appends then go to a new segment.
+     *
+     * @return the number of records replayed
+     */
+    long open(long fromSegment, Replay replay) {
+        return log.replay(fromSegment, payload -> decode(payload, replay));
+    }
+
+    void append(byte op, Note note) {
+        log.append(encode(op, note));
+    }
+
+    /**
+     * Starts a new segment; records appended afterwards belong to the next snapshot's log.
+     *
+     * @return the new segment index
+     */
+    long roll() {
+        return log.roll();
+    }
+
+    // called once a snapshot covering everything before `segment` is safely on disk
+    void deleteBefore(long segment) {
+        log.deleteBefore(segment);
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    private static ByteBuffer encode(byte op, Note note) {
+        byte[] title = op == PUT ? note.getTitle().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] content = op == PUT ? note.getContent().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return SegmentedLog.newRecord(1 + Long.BYTES + Integer.BYTES + title.length + Integer.BYTES + content.length)
+                .put(op)
+                .putLong(note.getId())
+                .putInt(title.length).put(title)
+                .putInt(content.length).put(content);
+    }
+
+    private static boolean decode(ByteBuffer payload, Replay replay) {
+        if (payload.remaining() < 1 + Long.BYTES + 2 * Integer.BYTES) {
+            return false;
+        }
+        byte op = payload.get();
+        long id = payload.getLong();
+        String title = Snapshots.readString(payload);
+        String content = Snapshots.readString(payload);
+        if (title == null || content == null || (op != PUT && op != DELETE)) {
+            return false;
+        }
+        replay.apply(op, new Note(id, title, content));
+        return true;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.notes.writebehind;
+
+import com.example.notes.entity.Note;
+import com.example.notes.storage.SegmentedLog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Durable log of accepted notes that have not reached the database yet.
+ * <p>
+ * Records go to a {@link SegmentedLog} of {@code <index>.journal} segments in one directory, with
+ * payload [long id][int titleLen][title][int contentLen][content].
+ * A segment is deleted once it is no longer the active one and every record in it has been
+ * flushed, so disk usage follows the backlog, not the total ingest.
+ * Notes the database rejects for good go to {@code dead-letter-<index>.journal} (same record format),
+ * which is never replayed.
+ */
+public class NoteJournal implements AutoCloseable {
+
+    private final SegmentedLog log;
+    private final SegmentedLog deadLetter;
+    // records of this run not flushed yet, per segment
+    private final Map<Long, Integer> outstanding = new HashMap<>();
+    private long active = -1;
+
+    public NoteJournal(Path directory, long segmentBytes, boolean fsync) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create write-behind journal directory " + directory, e);
+        }
+        this.log = new SegmentedLog(directory, "", ".journal", segmentBytes, fsync, "write-behind journal");
+        this.deadLetter = new SegmentedLog(directory, "dead-letter-", ".journal", Long.MAX_VALUE, fsync,
+                "write-behind dead letter");
+    }
+
+    /**
+     * Records left by a previous run, oldest first. They may or may not have reached the database,
+     * so the caller re-inserts them idempotently and then calls {@link #discardReplayed()}.
+     * Reading a segment stops at the first torn or corrupt record (a crash during the last append).
+     */
+    public List<Note> replay() {
+        return read(log);
+    }
+
+    public void discardReplayed() {
+        log.deleteBefore(Long.MAX_VALUE);
+    }
+
+    /**
+     * Appends and (with fsync on) waits until the record is on disk.
+     *
+     * @return the segment holding the record, to pass to {@link #markFlushed(long)}
+     */
+    public long append(Note note) {
+        ByteBuffer record = encode(note);
+        SegmentedLog.Position position;
+        synchronized (this) {
+            position = log.write(record);
+            if (position.segment() != active) {
+                long previous = active;
+                active = position.segment();
+                if (previous >= 0 && !outstanding.containsKey(previous)) {
+                    log.delete(previous);
+                }
+            }
+            outstanding.merge(position.segment(), 1, Integer::sum);
+        }
+        log.sync(position.sequence());
+        return position.segment();
+    }
+
+    /**
+     * Called by the writer once a record of {@code segment} is committed to the database.
+     */
+    public synchronized void markFlushed(long segment) {
+        if (!outstanding.containsKey(segment)) {
+            return;
+        }
+        Integer left = outstanding.computeIfPresent(segment, (s, count) -> count > 1 ? count - 1 : null);
+        if (left == null && segment != active) {
+            log.delete(segment);
+        }
+    }
+
+    /**
+     * Sets aside notes that failed permanently, so they stop blocking the queue but are not lost:
+     * they stay in the dead-letter segments for an operator to inspect and re-insert.
+     */
+    public void deadLetter(List<Note> notes) {
+        long last = 0;
+        for (Note note : notes) {
+            last = deadLetter.write(encode(note)).sequence();
+        }
+        deadLetter.sync(last);
+    }
+
+    public List<Note> deadLetters() {
+        return read(deadLetter);
+    }
+
+    public int segmentCount() {
+        return log.segments().size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+        deadLetter.close();
+    }
+
+    private static List<Note> read(SegmentedLog log) {
+        List<Note> notes = new ArrayList<>();
+        log.replay(Long.MIN_VALUE, payload -> {
+            Note note = decode(payload);
+            if (note != null) {
+                notes.add(note);
+            }
+            return note != null;
+        });
+        return notes;
+    }
+
+    // rejected here, before anything is written, rather than as an NPE halfway through a record
+    private static ByteBuffer encode(Note note) {
+        if (note.getId() == null || note.getTitle() == null || note.getContent() == null) {
+            throw new IllegalArgumentException("Cannot journal a note without id, title and content: " + note);
+        }
+        byte[] title = note.getTitle().getBytes(StandardCharsets.UTF_8);
+        byte[] content = note.getContent().getBytes(StandardCharsets.UTF_8);
+        return SegmentedLog.newRecord(Long.BYTES + Integer.BYTES + title.length + Integer.BYTES + content.length)
+                .putLong(note.getId())
+                .putInt(title.length).put(title)
+                .putInt(content.length).put(content);
+    }
+
+    private static Note decode(ByteBuffer payload) {
+        if (payload.remaining() < Long.BYTES + 2 * Integer.BYTES) {
+            return null;
+        }
+        long id = payload.getLong();
+        String title = readString(payload);
+        String content = readString(payload);
+        return title == null || content == null ? null : new Note(id, title, content);
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0 || length > record.remaining()) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
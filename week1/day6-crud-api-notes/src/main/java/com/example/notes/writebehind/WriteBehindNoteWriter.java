@@ -0,0 +1,324 @@
+package com.example.notes.writebehind;
+
+import com.example.notes.entity.Note;
+import com.example.notes.entity.NoteContentCodec;
+import com.example.notes.exception.WriteBehindFullException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind path for note creation (notes.write-behind.enabled=true).
+ * <p>
+ * A create gets its id from {@link NoteIdAllocator}, is appended to the {@link NoteJournal}
+ * (durable once the call returns) and acknowledged; a single background thread inserts queued
+ * notes in batches, one transaction per batch. Memory is bounded by {@code capacity}: when that
+ * many notes are waiting, creates fail fast with 503 after {@code offer-timeout}.
+ * On startup the journal is replayed with an idempotent insert, so notes accepted before a crash
+ * are not lost. Until flushed, notes are served from {@link #pending(Long)}.
+ * A batch that fails with anything but a transient error (database unreachable, lock or query
+ * timeout) is retried {@code max-attempts} times, then flushed note by note so that only the notes
+ * that still fail are moved to the journal's dead letter, where they no longer block the queue.
+ */
+@Component
+@ConditionalOnProperty(name = "notes.write-behind.enabled", havingValue = "true")
+public class WriteBehindNoteWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindNoteWriter.class);
+
+    // replayed rows may already be in the table: the id makes the insert idempotent
+    private static final String INSERT =
+            "insert into notes (id, title, content_data) values (?, ?, ?) on conflict (id) do nothing";
+
+    private record Entry(Note note, long segment) { }
+
+    private final JdbcTemplate jdbcTemplate;
+    // plain JDBC bypasses the JPA converter: content is encoded here
+    private final NoteContentCodec contentCodec;
+    private final TransactionTemplate transactionTemplate;
+    private final NoteIdAllocator idAllocator;
+    private final NoteJournal journal;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long offerTimeoutMillis;
+    private final long flushWaitMillis;
+    private final Semaphore capacity;
+    private final LinkedBlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final ConcurrentHashMap<Long, Note> pending = new ConcurrentHashMap<>();
+    private final Object flushed = new Object();
+    private volatile boolean running;
+    private Thread writer;
+
+    public WriteBehindNoteWriter(JdbcTemplate jdbcTemplate,
+                                 NoteContentCodec contentCodec,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectProvider<MeterRegistry> registry,
+                                 @Value("${notes.write-behind.journal-dir:./data/write-behind}") Path journalDir,
+                                 @Value("${notes.write-behind.segment-bytes:8388608}") long segmentBytes,
+                                 @Value("${notes.write-behind.fsync:true}") boolean fsync,
+                                 @Value("${notes.write-behind.capacity:10000}") int capacity,
+                                 @Value("${notes.write-behind.batch-size:500}") int batchSize,
+                                 @Value("${notes.write-behind.max-attempts:3}") int maxAttempts,
+                                 @Value("${notes.write-behind.id-block-size:1000}") int idBlockSize,
+                                 @Value("${notes.write-behind.offer-timeout:50ms}") Duration offerTimeout,
+                                 @Value("${notes.write-behind.flush-wait:5s}") Duration flushWait) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.contentCodec = contentCodec;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocator = new NoteIdAllocator(jdbcTemplate, idBlockSize);
+        this.journal = new NoteJournal(journalDir, segmentBytes, fsync);
+        this.capacity = new Semaphore(capacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.offerTimeoutMillis = offerTimeout.toMillis();
+        this.flushWaitMillis = flushWait.toMillis();
+        registry.ifAvailable(meterRegistry ->
+                Gauge.builder("notes.write_behind.pending", pending, ConcurrentHashMap::size).register(meterRegistry));
+    }
+
+    /**
+     * Accepts a note for insertion; it is durable when this returns.
+     *
+     * @throws WriteBehindFullException when the queue stays full for the offer timeout
+     */
+    public Note submit(Note note) {
+        if (!running || !tryAcquire()) {
+            throw new WriteBehindFullException();
+        }
+        try {
+            Note accepted = new Note(idAllocator.nextId(), note.getTitle(), note.getContent());
+            long segment = journal.append(accepted);
+            pending.put(accepted.getId(), accepted);
+            queue.add(new Entry(accepted, segment));
+            return accepted;
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    public Note pending(Long id) {
+        return pending.get(id);
+    }
+
+    public Collection<Note> pendingNotes() {
+        return pending.values();
+    }
+
+    /**
+     * Blocks until the note is in the table (or the flush wait elapses), so updates and deletes
+     * of a just-created note see the row.
+     */
+    public void awaitFlushed(Long id) {
+        long deadline = System.currentTimeMillis() + flushWaitMillis;
+        synchronized (flushed) {
+            while (pending.containsKey(id)) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return;
+                }
+                try {
+                    flushed.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // a note the database rejects is dead-lettered instead of failing startup; an unreachable
+    // database still does, and the journal is kept for the next start
+    @Override
+    public void start() {
+        List<Note> replayed = journal.replay();
+        for (int from = 0; from < replayed.size(); from += batchSize) {
+            if (!flushWithRetry(replayed.subList(from, Math.min(replayed.size(), from + batchSize)))) {
+                throw new IllegalStateException("Cannot replay the write-behind journal: the database is unavailable");
+            }
+        }
+        journal.discardReplayed();
+        if (!replayed.isEmpty()) {
+            log.info("Replayed {} notes from the write-behind journal", replayed.size());
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("notes-write-behind").daemon().start(this::drain);
+    }
+
+    // stops accepting, then lets the writer empty the queue; anything left is still in the journal
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(flushWaitMillis);
+            journal.close();
+        } catch (Exception e) {
+            log.warn("Write-behind writer did not stop cleanly", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // start before and stop after the web server, so no request reaches a stopped writer
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private boolean tryAcquire() {
+        try {
+            return capacity.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // batches form naturally: under load the queue holds many notes when the writer comes back.
+    // An unexpected failure keeps the batch and tries it again: a dead writer thread would leave
+    // every later create waiting for capacity that is never released
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                if (!flushWithRetry(batch.stream().map(Entry::note).toList())) {
+                    log.warn("Shutting down with {} unflushed notes; they will be replayed on restart", pending.size());
+                    return;
+                }
+                complete(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Write-behind writer failed on a batch of {} notes, retrying", batch.size(), e);
+                if (!running || !pause(1000)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void complete(List<Entry> batch) {
+        for (Entry entry : batch) {
+            pending.remove(entry.note().getId());
+            try {
+                journal.markFlushed(entry.segment());
+            } catch (RuntimeException e) {
+                // the segment file is left behind and replayed idempotently on the next start
+                log.warn("Cannot release write-behind journal segment {}", entry.segment(), e);
+            }
+        }
+        capacity.release(batch.size());
+        synchronized (flushed) {
+            flushed.notifyAll();
+        }
+    }
+
+    /**
+     * The database being down must not lose notes: transient failures are retried with backoff while
+     * the writer runs (at shutdown the journal keeps them). Any other failure is retried
+     * {@code maxAttempts} times; then a batch is split and a single note is dead-lettered.
+     *
+     * @return false when retrying was cut short by shutdown or interruption
+     */
+    private boolean flushWithRetry(List<Note> notes) {
+        long backoffMillis = 100;
+        int failures = 0;
+        while (true) {
+            try {
+                insert(notes);
+                return true;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    if (++failures >= maxAttempts) {
+                        return notes.size() == 1 ? deadLetter(notes, e) : flushEach(notes);
+                    }
+                } else if (!running) {
+                    return false;
+                }
+                log.warn("Write-behind flush of {} notes failed, retrying in {} ms", notes.size(), backoffMillis, e);
+                if (!pause(backoffMillis)) {
+                    return false;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, 5000);
+            }
+        }
+    }
+
+    private boolean flushEach(List<Note> notes) {
+        for (Note note : notes) {
+            if (!flushWithRetry(List.of(note))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean deadLetter(List<Note> notes, RuntimeException cause) {
+        journal.deadLetter(notes);
+        log.error("Moved note {} to the write-behind dead letter after {} failed attempts",
+                notes.get(0).getId(), maxAttempts, cause);
+        return true;
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void insert(List<Note> notes) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT, notes, notes.size(), (ps, note) -> {
+                    ps.setLong(1, note.getId());
+                    ps.setString(2, note.getTitle());
+                    ps.setBytes(3, contentCodec.encode(note.getContent()));
+                }));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.notes.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testBurstThenRefill() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100);
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("a", now));
+        }
+        long wait = limiter.tryAcquire("a", now);
+        assertTrue(wait > 0 && wait <= SECOND / 10);
+
+        // other clients have their own bucket
+        assertEquals(0, limiter.tryAcquire("b", now));
+
+        assertEquals(0, limiter.tryAcquire("a", now + SECOND / 10));
+        assertTrue(limiter.tryAcquire("a", now + SECOND / 10) > 0);
+    }
+
+    @Test
+    void testIdleBucketsAreEvicted() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 2);
+        limiter.tryAcquire("a", 0);
+        limiter.tryAcquire("b", 0);
+        // both buckets are busy: the map is full and a new client is refused
+        assertTrue(limiter.tryAcquire("c", 0) > 0);
+        assertEquals(2, limiter.clients());
+
+        assertEquals(0, limiter.tryAcquire("d", SECOND));
+        assertEquals(1, limiter.clients());
+    }
+
+    @Test
+    void testNewClientFloodIsCappedAndSweptOncePerInterval() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100);
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("flood-" + i, i);
+        }
+        assertEquals(100, limiter.clients());
+
+        // the buckets are idle again, but the last sweep was less than a second ago
+        assertTrue(limiter.tryAcquire("late", SECOND / 2) > 0);
+        assertEquals(0, limiter.tryAcquire("late", 2 * SECOND));
+        assertEquals(1, limiter.clients());
+    }
+
+    @Test
+    void testConcurrencyLimitBacksOffOnSlowResponses() {
+        long target = 100_000_000L;
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 50, target, 0.5);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(2 * target, 0);
+        assertEquals(5, limiter.limit());
+        // a second slow response inside the same window does not cut again
+        limiter.release(2 * target, target / 2);
+        assertEquals(5, limiter.limit());
+        assertEquals(8, limiter.inFlight());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void testConcurrencyLimitGrowsOnFastResponses() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 50, 100_000_000L, 0.5);
+        for (int i = 0; i < 40; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(1_000_000L, i);
+        }
+        assertTrue(limiter.limit() > 4);
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void testFilterRejectsWith429() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new TokenBucketRateLimiter(0.001, 1, 100),
+                new AdaptiveConcurrencyLimiter(10, 2, 50, 100_000_000L, 0.9),
+                "X-Client-Id");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notes");
+        request.addHeader("X-Client-Id", "client-1");
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request, first, new MockFilterChain());
+        assertEquals(200, first.getStatus());
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request, second, new MockFilterChain());
+        assertEquals(429, second.getStatus());
+        assertTrue(Long.parseLong(second.getHeader("Retry-After")) > 0);
+    }
+
+    @Test
+    void testClientHeaderIsIgnoredUnlessConfigured() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new TokenBucketRateLimiter(0.001, 1, 100),
+                new AdaptiveConcurrencyLimiter(10, 2, 50, 100_000_000L, 0.9),
+                "");
+
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/notes");
+        first.addHeader("X-Client-Id", "client-1");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+
+        // same address, new made-up id: still the same bucket
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/api/notes");
+        second.addHeader("X-Client-Id", "client-2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(second, response, new MockFilterChain());
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void testFilterRejectsWith503WhenSaturated() throws Exception {
+        AdaptiveConcurrencyLimiter concurrency = new AdaptiveConcurrencyLimiter(1, 1, 1, 100_000_000L, 0.9);
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new TokenBucketRateLimiter(1000, 100, 100), concurrency, "X-Client-Id");
+        assertTrue(concurrency.tryAcquire());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/notes"), response, new MockFilterChain());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+}
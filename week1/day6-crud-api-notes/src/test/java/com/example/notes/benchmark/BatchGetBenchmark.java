@@ -0,0 +1,128 @@
+package com.example.notes.benchmark;
+
+import com.example.notes.NotesApplication;
+import com.example.notes.entity.Note;
+import com.example.notes.repository.NoteStore;
+import com.example.notes.service.NoteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Fetching 1,000 notes: N x GET /api/notes/{id} (the current client pattern) against one
+ * GET /api/notes?ids=..., over HTTP and at the service level (N findById against chunked findAllById).
+ * The application runs on an in-memory H2 database, so the numbers exclude network latency to
+ * PostgreSQL, which makes the per-query gap only larger in production.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.notes.benchmark.BatchGetBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchGetBenchmark {
+
+    private static final int IDS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private HttpClient client;
+    private String baseUrl;
+    private List<Long> ids;
+    private URI multiGetUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(NotesApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:batch-get;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "admission.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        noteService = context.getBean(NoteService.class);
+        NoteStore repository = context.getBean(NoteStore.class);
+        List<Note> saved = repository.saveAll(IntStream.range(0, IDS)
+                .mapToObj(i -> new Note(null, "Title " + i, "Content of note " + i))
+                .toList());
+        ids = saved.stream().map(Note::getId).toList();
+
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/notes";
+        multiGetUri = URI.create(baseUrl + "?ids=" + ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int httpSequentialGetById() throws IOException, InterruptedException {
+        int bytes = 0;
+        for (Long id : ids) {
+            bytes += get(URI.create(baseUrl + "/" + id)).length();
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public int httpMultiGet() throws IOException, InterruptedException {
+        return get(multiGetUri).length();
+    }
+
+    @Benchmark
+    public List<Note> serviceFindByIdLoop() {
+        List<Note> notes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Optional<Note> note = noteService.getNoteById(id);
+            note.ifPresent(notes::add);
+        }
+        return notes;
+    }
+
+    @Benchmark
+    public List<Note> serviceGetNotesByIds() {
+        return noteService.getNotesByIds(ids);
+    }
+
+    private String get(URI uri) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(BatchGetBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.notes.benchmark;
+
+import com.example.notes.NotesApplication;
+import com.example.notes.dto.NoteSummaryDTO;
+import com.example.notes.entity.Note;
+import com.example.notes.entity.NoteContentCodec;
+import com.example.notes.repository.NoteStore;
+import com.example.notes.service.NoteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Listing 10,000 notes as title-only summaries against loading them with their content (the
+ * previous list query, now also paying for decompression), and the codec on its own. Content is
+ * prose-like text of content-length characters; setUp prints the stored size against the UTF-8
+ * size. H2 in memory: row size matters more on PostgreSQL, where it decides how many rows fit in
+ * shared buffers (db/note-storage-stats.sql reports it there).
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.notes.benchmark.NoteContentBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteContentBenchmark {
+
+    private static final int NOTES = 10_000;
+    private static final String[] WORDS = ("the a of to and in for on with meeting project review budget release "
+            + "team client deadline draft update plan sprint feature bug fix deploy server database note idea "
+            + "call email report monday friday week next today agreed asked prepare check send").split(" ");
+
+    @Param({"200", "2000"})
+    private int contentLength;
+
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private NoteStore repository;
+    private NoteContentCodec codec;
+    private String content;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(NotesApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:note-content;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "admission.enabled=false",
+                        "sql-log.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        noteService = context.getBean(NoteService.class);
+        repository = context.getBean(NoteStore.class);
+        codec = context.getBean(NoteContentCodec.class);
+        SplittableRandom random = new SplittableRandom(42);
+        List<Note> notes = IntStream.range(0, NOTES)
+                .mapToObj(i -> new Note(null, "Title " + i, text(random, contentLength)))
+                .toList();
+        repository.saveAll(notes);
+        long utf8 = 0;
+        long stored = 0;
+        for (Note note : notes) {
+            utf8 += note.getContent().length();
+            stored += codec.encode(note.getContent()).length;
+        }
+        System.out.printf("%n%d notes of %d chars: %d KB of content stored in %d KB%n",
+                NOTES, contentLength, utf8 / 1024, stored / 1024);
+        content = notes.get(0).getContent();
+        encoded = codec.encode(content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<NoteSummaryDTO> listSummaries() {
+        return noteService.getAllNotes();
+    }
+
+    @Benchmark
+    public List<Note> listWithContent() {
+        return repository.findWithContentByIdGreaterThan(Long.MIN_VALUE, Limit.unlimited());
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(content);
+    }
+
+    @Benchmark
+    public String decode() {
+        return codec.decode(encoded);
+    }
+
+    private static String text(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return text.substring(0, length);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(NoteContentBenchmark.class.getSimpleName()).build()).run();
+    }
+}
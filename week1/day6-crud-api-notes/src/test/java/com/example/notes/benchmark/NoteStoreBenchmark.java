@@ -0,0 +1,127 @@
+package com.example.notes.benchmark;
+
+import com.example.notes.NotesApplication;
+import com.example.notes.dto.NoteSummaryDTO;
+import com.example.notes.entity.Note;
+import com.example.notes.service.NoteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * CRUD through NoteService on the embedded store (profile inmemory, fsync'ed write-ahead log)
+ * against JPA. Throughput gives ops/sec, SampleTime the latency distribution (read p0.99).
+ * JPA runs on an in-memory H2 database here, which flatters it: against PostgreSQL every
+ * operation also pays a network round trip, and writes a commit fsync on the server.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.notes.benchmark.NoteStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class NoteStoreBenchmark {
+
+    private static final int NOTES = 10_000;
+
+    @Param({"inmemory", "jpa"})
+    public String store;
+
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private Path directory;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("notes-store-benchmark");
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(NotesApplication.class)
+                .properties(
+                        "server.port=0",
+                        "admission.enabled=false",
+                        "logging.level.root=WARN");
+        if (store.equals("inmemory")) {
+            builder.profiles("inmemory").properties("notes.inmemory.directory=" + directory);
+        } else {
+            builder.properties(
+                    "spring.datasource.url=jdbc:h2:mem:note-store;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.password=",
+                    "spring.jpa.hibernate.ddl-auto=create-drop",
+                    "spring.jpa.show-sql=false",
+                    "spring.jpa.properties.hibernate.format_sql=false");
+        }
+        context = builder.run();
+        noteService = context.getBean(NoteService.class);
+        List<Note> saved = IntStream.range(0, NOTES)
+                .mapToObj(i -> noteService.createNote(new Note(null, "Title " + i, "Content of note " + i)))
+                .toList();
+        ids = saved.stream().mapToLong(Note::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory.toFile());
+    }
+
+    @Benchmark
+    public Optional<Note> read() {
+        return noteService.getNoteById(randomId());
+    }
+
+    @Benchmark
+    public Note update() {
+        long id = randomId();
+        return noteService.updateNote(id, new Note(id, "Updated " + id, "Updated content"));
+    }
+
+    // create + delete, so the data set keeps its size across iterations
+    @Benchmark
+    public Note createAndDelete() {
+        Note created = noteService.createNote(new Note(null, "Transient", "Created and deleted"));
+        noteService.deleteNote(created.getId());
+        return created;
+    }
+
+    @Benchmark
+    public List<NoteSummaryDTO> searchByTitle() {
+        return noteService.searchByTitle("Title 99");
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(NoteStoreBenchmark.class.getSimpleName()).build()).run();
+    }
+}
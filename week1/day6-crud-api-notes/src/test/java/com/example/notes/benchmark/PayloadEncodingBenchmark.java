@@ -0,0 +1,95 @@
+package com.example.notes.benchmark;
+
+import com.example.notes.dto.NoteDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost and size of the GET /api/notes body in JSON, CBOR and Smile.
+ * Sizes (raw and gzipped) are printed once per trial; the benchmark measures CPU per encoding.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.notes.benchmark.PayloadEncodingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadEncodingBenchmark {
+
+    @Param({"100", "1000"})
+    int notes;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new CBORMapper();
+    private final ObjectMapper smile = new SmileMapper();
+    private List<NoteDTO> body;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = LongStream.rangeClosed(1, notes)
+                .mapToObj(id -> new NoteDTO(id, "Learn Spring Boot " + id,
+                        "Build a REST API using Spring Boot 3.4 and PostgreSQL. Note number " + id + "."))
+                .toList();
+        for (Map.Entry<String, ObjectMapper> entry : Map.of("json", json, "cbor", cbor, "smile", smile).entrySet()) {
+            byte[] raw = entry.getValue().writeValueAsBytes(body);
+            System.out.printf("%n%s, %d notes: %d bytes raw, %d bytes gzip%n",
+                    entry.getKey(), notes, raw.length, gzip(raw).length);
+        }
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return json.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cbor.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return smile.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(json.writeValueAsBytes(body));
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PayloadEncodingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
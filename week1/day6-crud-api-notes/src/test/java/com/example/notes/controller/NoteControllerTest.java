@@ -1,6 +1,7 @@
 package com.example.notes.controller;
 
 import com.example.notes.dto.NoteDTO;
+import com.example.notes.dto.NoteSummaryDTO;
 import com.example.notes.entity.Note;
 import com.example.notes.service.NoteService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,6 +24,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
 @WebMvcTest(NoteController.class)
 class NoteControllerTest {
@@ -54,13 +56,52 @@ class NoteControllerTest {
     @Test
     void testGetAllNotes() throws Exception {
         when(noteService.getAllNotes()).thenReturn(List.of(
-                new Note(1L, "Title1", "Content1"),
-                new Note(2L, "Title2", "Content2")
+                new NoteSummaryDTO(1L, "Title1"),
+                new NoteSummaryDTO(2L, "Title2")
         ));
 
         mockMvc.perform(get("/api/notes"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Title1"))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+    }
+
+    @Test
+    void testGetAllNotesAsCbor() throws Exception {
+        when(noteService.getAllNotes()).thenReturn(List.of(new NoteSummaryDTO(1L, "Title1")));
+
+        mockMvc.perform(get("/api/notes").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_CBOR_VALUE));
+    }
+
+    @Test
+    void testGetNearDuplicates() throws Exception {
+        when(noteService.findNearDuplicates(1L)).thenReturn(List.of(
+                new NoteService.NearDuplicate(new Note(4L, "Groceries", "Milk and eggs"), 0),
+                new NoteService.NearDuplicate(new Note(9L, "Groceries", "Milk, eggs and bread"), 3)));
+
+        mockMvc.perform(get("/api/notes/1/near-duplicates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(9))
+                .andExpect(jsonPath("$[1].distance").value(3));
+    }
+
+    @Test
+    void testGetNotesByIdsKeepsRequestOrderAndReportsMissing() throws Exception {
+        when(noteService.getNotesByIds(List.of(3L, 1L, 2L))).thenReturn(List.of(
+                new Note(3L, "Title3", "Content3"),
+                new Note(1L, "Title1", "Content1")
+        ));
+
+        mockMvc.perform(get("/api/notes").param("ids", "3,1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notes.length()").value(2))
+                .andExpect(jsonPath("$.notes[0].id").value(3))
+                .andExpect(jsonPath("$.notes[1].id").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(2));
     }
 
     @Test
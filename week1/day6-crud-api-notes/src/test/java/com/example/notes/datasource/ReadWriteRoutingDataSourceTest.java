@@ -0,0 +1,131 @@
+package com.example.notes.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// H2 stand-in pair: each database holds a row naming itself
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replica = database("replica");
+        lagMonitor = new ReplicaLagMonitor(replica, "select 0", Duration.ofSeconds(2));
+        lagMonitor.check();
+
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, lagMonitor));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lagMonitor.close();
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplica() {
+        assertEquals("replica", readOnly.execute(status -> server()));
+        assertEquals("primary", readWrite.execute(status -> server()));
+        // outside a transaction
+        assertEquals("primary", server());
+    }
+
+    @Test
+    void testReadYourWritesUsesPrimary() {
+        ReadYourWrites.requirePrimary();
+        assertEquals("primary", readOnly.execute(status -> server()));
+    }
+
+    @Test
+    void testLaggingOrDownReplicaFallsBackToPrimary() {
+        ReplicaLagMonitor lagging = new ReplicaLagMonitor(replica, "select 10", Duration.ofSeconds(2));
+        lagging.check();
+        assertFalse(lagging.isReplicaUsable());
+        assertEquals(10_000, lagging.lagMillis());
+
+        ReplicaLagMonitor down = new ReplicaLagMonitor(replica, "select missing_column from marker", Duration.ofSeconds(2));
+        down.check();
+        assertFalse(down.isReplicaUsable());
+        assertEquals(-1, down.lagMillis());
+
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(database("primary"), replica, lagging));
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        tx.setReadOnly(true);
+        assertEquals("primary", tx.execute(status -> new JdbcTemplate(routing).queryForObject("select name from marker", String.class)));
+    }
+
+    @Test
+    void testWriteSetsStickyCookie() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+
+        MockHttpServletResponse postResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/notes"), postResponse, recordingChain(primaryRequired));
+        Cookie cookie = postResponse.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertTrue(primaryRequired.get());
+        assertFalse(ReadYourWrites.primaryRequired());
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/notes");
+        get.setCookies(cookie);
+        primaryRequired.set(false);
+        filter.doFilter(get, new MockHttpServletResponse(), recordingChain(primaryRequired));
+        assertTrue(primaryRequired.get());
+
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/notes");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, "1"));
+        filter.doFilter(expired, new MockHttpServletResponse(), recordingChain(primaryRequired));
+        assertFalse(primaryRequired.get());
+    }
+
+    // records whether the request reached the application marked for the primary
+    private static MockFilterChain recordingChain(AtomicBoolean primaryRequired) {
+        return new MockFilterChain(new HttpServlet() { },
+                (request, response, chain) -> primaryRequired.set(ReadYourWrites.primaryRequired()));
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists marker (name varchar(20))");
+        jdbc.update("delete from marker");
+        jdbc.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.notes.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearDuplicateIndexTest {
+
+    private static final String MEETING = "Meeting notes for the quarterly planning session. We reviewed the roadmap "
+            + "for the mobile app, agreed to move the payment screen redesign to the next sprint and asked the "
+            + "backend team to estimate the migration of the notification service. Action items: Alice prepares "
+            + "the budget, Bob updates the release calendar, everyone reviews the draft before Friday.";
+
+    @Test
+    void testSimHashIgnoresCaseAndPunctuationAndSeparatesUnrelatedNotes() {
+        long meeting = SimHash.fingerprint("Planning meeting", MEETING);
+
+        assertEquals(0, SimHash.distance(meeting, SimHash.fingerprint("PLANNING  meeting!", MEETING.toUpperCase())));
+        assertTrue(SimHash.distance(meeting, SimHash.fingerprint("Planning meeting", MEETING + " Thanks!")) <= 4);
+        assertTrue(SimHash.distance(meeting, SimHash.fingerprint("Groceries",
+                "Shopping list: milk, eggs, bread, butter, coffee and apples for the weekend.")) > 10);
+    }
+
+    @Test
+    void testFindReturnsEveryFingerprintWithinMaxDistance() {
+        NearDuplicateIndex index = new NearDuplicateIndex(3);
+        SplittableRandom random = new SplittableRandom(7);
+        long query = random.nextLong();
+        for (long id = 0; id < 1000; id++) {
+            index.put(id, random.nextLong());
+        }
+        // flips 0 to 4 random bits each
+        for (long id = 1000; id < 1100; id++) {
+            long fingerprint = query;
+            for (int flips = (int) (id % 5); Long.bitCount(fingerprint ^ query) < flips; ) {
+                fingerprint ^= 1L << random.nextInt(64);
+            }
+            index.put(id, fingerprint);
+        }
+
+        List<NearDuplicateIndex.Match> matches = index.find(query, 1000L);
+
+        assertEquals(79, matches.size());
+        assertTrue(matches.stream().allMatch(match -> match.id() >= 1000 && match.id() % 5 != 4));
+        assertEquals(1005, matches.get(0).id());
+        assertEquals(0, matches.get(0).distance());
+        assertEquals(3, matches.get(matches.size() - 1).distance());
+    }
+
+    @Test
+    void testPutMovesAndRemoveDropsNotes() {
+        NearDuplicateIndex index = new NearDuplicateIndex(4);
+        long meeting = SimHash.fingerprint("Planning meeting", MEETING);
+        long edited = SimHash.fingerprint("Planning meeting", MEETING.replace("Alice prepares the budget, ", ""));
+        long groceries = SimHash.fingerprint("Groceries", "Milk, eggs, bread");
+        index.put(1, meeting);
+        index.put(2, groceries);
+
+        assertEquals(List.of(new NearDuplicateIndex.Match(1, SimHash.distance(meeting, edited))), index.find(edited, null));
+
+        index.put(1, groceries);
+        index.putIfAbsent(1, meeting);
+        assertEquals(List.of(), index.find(meeting, null));
+        assertEquals(List.of(1L, 2L), index.find(groceries, null).stream().map(NearDuplicateIndex.Match::id).toList());
+
+        index.remove(1);
+        assertNull(index.fingerprint(1));
+        assertEquals(1, index.size());
+        assertEquals(List.of(2L), index.find(groceries, null).stream().map(NearDuplicateIndex.Match::id).toList());
+    }
+
+    @Test
+    void testMaxDistanceIsBounded() {
+        assertThrows(IllegalArgumentException.class, () -> new NearDuplicateIndex(8));
+        assertThrows(IllegalArgumentException.class, () -> new NearDuplicateIndex(-1));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.notes.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NoteContentCodecTest {
+
+    private final NoteContentCodec codec = new NoteContentCodec(256);
+
+    @Test
+    void testShortContentIsStoredRaw() {
+        byte[] encoded = codec.encode("Buy milk ☕");
+
+        assertEquals(NoteContentCodec.RAW, encoded[0]);
+        assertEquals(1 + "Buy milk ☕".getBytes(StandardCharsets.UTF_8).length, encoded.length);
+        assertEquals("Buy milk ☕", codec.decode(encoded));
+        assertEquals("", codec.decode(codec.encode("")));
+        assertNull(codec.encode(null));
+        assertNull(codec.decode(null));
+    }
+
+    @Test
+    void testLongContentIsCompressed() {
+        String content = "Meeting notes: review the release plan with the team, déjà vu édition. ".repeat(200);
+
+        byte[] encoded = codec.encode(content);
+
+        assertEquals(NoteContentCodec.DEFLATE, encoded[0]);
+        assertTrue(encoded.length < content.length() / 10);
+        assertEquals(content, codec.decode(encoded));
+    }
+
+    @Test
+    void testNeverLargerThanRaw() {
+        SplittableRandom random = new SplittableRandom(1);
+        byte[] noise = new byte[1000];
+        random.nextBytes(noise);
+        String text = new String(noise, StandardCharsets.ISO_8859_1);
+
+        byte[] encoded = codec.encode(text);
+
+        assertTrue(encoded.length <= 1 + text.getBytes(StandardCharsets.UTF_8).length);
+        assertEquals(text, codec.decode(encoded));
+    }
+
+    @Test
+    void testCorruptContentIsRejected() {
+        byte[] encoded = codec.encode("x".repeat(1000));
+
+        assertThrows(IllegalStateException.class, () -> codec.decode(Arrays.copyOf(encoded, encoded.length / 2)));
+        assertThrows(IllegalStateException.class, () -> codec.decode(new byte[]{7, 1, 2}));
+    }
+}
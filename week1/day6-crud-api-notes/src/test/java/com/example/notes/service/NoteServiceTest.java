@@ -1,7 +1,15 @@
 package com.example.notes.service;
 
+import com.example.notes.dedup.DedupPolicy;
+import com.example.notes.dedup.NearDuplicateIndex;
+import com.example.notes.dto.NoteSummaryDTO;
 import com.example.notes.entity.Note;
-import com.example.notes.repository.NoteRepository;
+import com.example.notes.exception.DuplicateNoteException;
+import com.example.notes.exception.NoteContentTooLongException;
+import com.example.notes.exception.NoteNotFoundException;
+import com.example.notes.exception.TooManyIdsException;
+import com.example.notes.repository.NoteStore;
+import com.example.notes.writebehind.WriteBehindNoteWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -12,18 +20,20 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.times;
 
 class NoteServiceTest {
 
-    private NoteRepository noteRepository;
+    private NoteStore noteRepository;
     private NoteService noteService;
 
     @BeforeEach
     void setUp() {
-        noteRepository = Mockito.mock(NoteRepository.class);
+        noteRepository = Mockito.mock(NoteStore.class);
         noteService = new NoteService(noteRepository);
     }
 
@@ -39,25 +49,44 @@ class NoteServiceTest {
 
     @Test
     void testGetAllNotes() {
-        when(noteRepository.findAll()).thenReturn(List.of(
-                new Note(1L, "Title1", "Content1"),
-                new Note(2L, "Title2", "Content2")
+        when(noteRepository.findAllSummaries()).thenReturn(List.of(
+                new NoteSummaryDTO(1L, "Title1"),
+                new NoteSummaryDTO(2L, "Title2")
         ));
 
-        List<Note> notes = noteService.getAllNotes();
+        List<NoteSummaryDTO> notes = noteService.getAllNotes();
         assertEquals(2, notes.size());
     }
 
     @Test
     void testGetNoteById() {
         Note note = new Note(1L, "Title", "Content");
-        when(noteRepository.findById(1L)).thenReturn(Optional.of(note));
+        when(noteRepository.findWithContentById(1L)).thenReturn(Optional.of(note));
 
         Optional<Note> found = noteService.getNoteById(1L);
         assertTrue(found.isPresent());
         assertEquals("Title", found.get().getTitle());
     }
 
+    @Test
+    void testGetNotesByIdsQueriesInChunksAndKeepsOrder() {
+        NoteService chunked = new NoteService(noteRepository, Optional.empty(), 2, 100);
+        when(noteRepository.findWithContentByIdIn(List.of(5L, 1L))).thenReturn(List.of(
+                new Note(1L, "Title1", "Content1"), new Note(5L, "Title5", "Content5")));
+        when(noteRepository.findWithContentByIdIn(List.of(3L))).thenReturn(List.of());
+
+        List<Note> notes = chunked.getNotesByIds(List.of(5L, 1L, 5L, 3L));
+
+        assertEquals(List.of(5L, 1L), notes.stream().map(Note::getId).toList());
+        verify(noteRepository, times(2)).findWithContentByIdIn(any());
+    }
+
+    @Test
+    void testGetNotesByIdsRejectsTooManyIds() {
+        NoteService limited = new NoteService(noteRepository, Optional.empty(), 2, 2);
+        assertThrows(TooManyIdsException.class, () -> limited.getNotesByIds(List.of(1L, 2L, 3L)));
+    }
+
     @Test
     void testUpdateNote() {
         Note existing = new Note(1L, "Old Title", "Old Content");
@@ -71,6 +100,33 @@ class NoteServiceTest {
         assertEquals("New Content", updated.getContent());
     }
 
+    @Test
+    void testUpdateMissingNoteThrowsNotFound() {
+        when(noteRepository.findById(42L)).thenReturn(Optional.empty());
+
+        NoteNotFoundException ex = assertThrows(NoteNotFoundException.class,
+                () -> noteService.updateNote(42L, new Note(null, "Title", "Content")));
+        assertEquals("Note not found with id 42", ex.getMessage());
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+    @Test
+    void testContentLengthIsLimited() {
+        String longest = "x".repeat(Note.MAX_CONTENT_LENGTH);
+        when(noteRepository.save(any(Note.class))).thenAnswer(invocation -> {
+            Note note = invocation.getArgument(0);
+            return new Note(1L, note.getTitle(), note.getContent());
+        });
+        assertEquals(longest, noteService.createNote(new Note(null, "Title", longest)).getContent());
+
+        NoteContentTooLongException ex = assertThrows(NoteContentTooLongException.class,
+                () -> noteService.createNote(new Note(null, "Title", longest + "x")));
+        assertEquals("Note content too long: 100001 characters (max 100000)", ex.getMessage());
+        assertThrows(NoteContentTooLongException.class,
+                () -> noteService.updateNote(1L, new Note(null, "Title", longest + "x")));
+        verify(noteRepository, times(1)).save(any(Note.class));
+    }
+
     @Test
     void testDeleteNote() {
         noteService.deleteNote(1L);
@@ -86,11 +142,80 @@ class NoteServiceTest {
 
     @Test
     void testGetAllTitlesUppercase() {
-        when(noteRepository.findAll()).thenReturn(List.of(
-                new Note(1L, "Title1", "Content1"),
-                new Note(2L, "Title2", "Content2")
+        when(noteRepository.findAllSummaries()).thenReturn(List.of(
+                new NoteSummaryDTO(1L, "Title1"),
+                new NoteSummaryDTO(2L, "Title2")
         ));
         List<String> titles = noteService.getAllTitlesUppercase();
         assertEquals(List.of("TITLE1", "TITLE2"), titles);
     }
+
+    @Test
+    void testWriteBehindCreateIsVisibleBeforeFlush() {
+        WriteBehindNoteWriter writer = Mockito.mock(WriteBehindNoteWriter.class);
+        NoteService writeBehindService = new NoteService(noteRepository, Optional.of(writer), 1000, 10_000);
+        Note note = new Note(null, "Title", "Content");
+        Note accepted = new Note(7L, "Title", "Content");
+        when(writer.submit(note)).thenReturn(accepted);
+        when(writer.pending(7L)).thenReturn(accepted);
+        when(writer.pendingNotes()).thenReturn(List.of(accepted));
+        when(noteRepository.findAllSummaries()).thenReturn(List.of(new NoteSummaryDTO(1L, "Title1")));
+
+        assertEquals(7L, writeBehindService.createNote(note).getId());
+        assertEquals(accepted, writeBehindService.getNoteById(7L).orElseThrow());
+        assertEquals(2, writeBehindService.getAllNotes().size());
+        verify(noteRepository, times(0)).save(note);
+    }
+
+    @Test
+    void testFindNearDuplicatesFollowsCreatesUpdatesAndDeletes() {
+        when(noteRepository.save(any(Note.class))).thenAnswer(invocation -> {
+            Note note = invocation.getArgument(0);
+            return new Note(note.getId() != null ? note.getId() : 10L + note.getTitle().length(), note.getTitle(), note.getContent());
+        });
+        Note first = noteService.createNote(new Note(null, "Groceries", "Milk, eggs, bread and butter"));
+        Note second = noteService.createNote(new Note(null, "groceries!", "milk eggs bread and butter"));
+        when(noteRepository.findWithContentByIdIn(List.of(second.getId()))).thenReturn(List.of(second));
+
+        List<NoteService.NearDuplicate> duplicates = noteService.findNearDuplicates(first.getId());
+        assertEquals(1, duplicates.size());
+        assertEquals(second, duplicates.get(0).note());
+        assertEquals(0, duplicates.get(0).distance());
+
+        when(noteRepository.findById(second.getId())).thenReturn(Optional.of(second));
+        noteService.updateNote(second.getId(), new Note(null, "Call the bank", "About the mortgage rate"));
+        assertEquals(List.of(), noteService.findNearDuplicates(first.getId()));
+
+        noteService.deleteNote(first.getId());
+        assertThrows(NoteNotFoundException.class, () -> noteService.findNearDuplicates(first.getId()));
+    }
+
+    @Test
+    void testRejectPolicyRefusesNearDuplicates() {
+        NoteService rejecting = new NoteService(noteRepository, Optional.empty(), 1000, 10_000,
+                new NearDuplicateIndex(4), DedupPolicy.REJECT);
+        when(noteRepository.save(any(Note.class))).thenReturn(new Note(1L, "Groceries", "Milk, eggs, bread and butter"));
+        rejecting.createNote(new Note(null, "Groceries", "Milk, eggs, bread and butter"));
+
+        DuplicateNoteException ex = assertThrows(DuplicateNoteException.class,
+                () -> rejecting.createNote(new Note(null, "GROCERIES", "milk, eggs, bread, and butter.")));
+        assertEquals("Note is a near-duplicate of note 1", ex.getMessage());
+        verify(noteRepository, times(1)).save(any(Note.class));
+    }
+
+    @Test
+    void testMergePolicyUpdatesTheExistingNote() {
+        NoteService merging = new NoteService(noteRepository, Optional.empty(), 1000, 10_000,
+                new NearDuplicateIndex(4), DedupPolicy.MERGE);
+        Note existing = new Note(1L, "Groceries", "Milk, eggs, bread and butter");
+        when(noteRepository.save(any(Note.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(noteRepository.findById(1L)).thenReturn(Optional.of(existing));
+        merging.createNote(existing);
+
+        Note merged = merging.createNote(new Note(null, "GROCERIES", "milk, eggs, bread, and butter."));
+
+        assertEquals(1L, merged.getId());
+        assertEquals("milk, eggs, bread, and butter.", merged.getContent());
+        verify(noteRepository, times(2)).save(any(Note.class));
+    }
 }
@@ -0,0 +1,101 @@
+package com.example.notes.service;
+
+import com.example.notes.dedup.NearDuplicateIndex;
+import com.example.notes.entity.Note;
+import com.example.notes.repository.NoteStore;
+import com.example.notes.storage.InMemoryStorageConfig;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * NoteService behind its Spring proxy: checks which writes run inside a transaction.
+ */
+@SpringJUnitConfig
+@ActiveProfiles("inmemory")
+@TestPropertySource(properties = "notes.dedup.policy=MERGE")
+class NoteServiceTransactionTest {
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({NoteService.class, NearDuplicateIndex.class, InMemoryStorageConfig.class})
+    static class Config {
+
+        @Bean
+        NoteStore noteStore() {
+            return Mockito.mock(NoteStore.class);
+        }
+    }
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private NoteStore noteStore;
+
+    @Autowired
+    private NearDuplicateIndex nearDuplicates;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testMergedCreateUpdatesInsideATransaction() {
+        Note existing = new Note(1L, "Groceries", "Milk, eggs, bread and butter");
+        List<Boolean> saveInTransaction = new ArrayList<>();
+        when(noteStore.save(any(Note.class))).thenAnswer(invocation -> {
+            saveInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.getArgument(0);
+        });
+        when(noteStore.findById(1L)).thenReturn(Optional.of(existing));
+        noteService.createNote(existing);
+
+        Note merged = noteService.createNote(new Note(null, "GROCERIES", "milk, eggs, bread, and butter."));
+
+        assertEquals(1L, merged.getId());
+        // the plain create is not transactional (write-behind keeps it off the database); the merge is
+        assertEquals(List.of(false, true), saveInTransaction);
+    }
+
+    @Test
+    void testRolledBackUpdateLeavesTheIndexUnchanged() {
+        when(noteStore.save(any(Note.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(noteStore.findById(7L)).thenReturn(Optional.of(new Note(7L, "Trip", "Pack the tent")));
+        long indexed = nearDuplicates.fingerprint(noteService.createNote(new Note(7L, "Trip", "Pack the tent")).getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            noteService.updateNote(7L, new Note(null, "Recipe", "Flour, sugar and eggs"));
+            status.setRollbackOnly();
+        });
+        assertEquals(indexed, nearDuplicates.fingerprint(7L));
+
+        when(noteStore.findById(7L)).thenReturn(Optional.empty());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            noteService.deleteNote(7L);
+            status.setRollbackOnly();
+        });
+        assertEquals(indexed, nearDuplicates.fingerprint(7L));
+
+        noteService.deleteNote(7L);
+        assertNull(nearDuplicates.fingerprint(7L));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.notes.sqllog;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlLoggingTest {
+
+    private final ConcurrentLinkedQueue<SqlLogger.Entry> logged = new ConcurrentLinkedQueue<>();
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-log;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists notes (id bigint primary key, title varchar(255))");
+            statement.execute("delete from notes");
+        }
+    }
+
+    @Test
+    void testStatementsAreLoggedWithBindCountAndHandler() throws Exception {
+        SqlLogger sqlLogger = new SqlLogger(1.0, Duration.ofHours(1), 100, 64, logged::add);
+        InspectingDataSource dataSource = new InspectingDataSource(h2, sqlLogger);
+
+        sqlLogger.requestStarted("NoteController#createNote");
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("insert into notes (id, title) values (?, ?)")) {
+            insert.setLong(1, 1);
+            insert.setString(2, "First");
+            insert.executeUpdate();
+            assertTrue(insert.getConnection() == connection);
+        }
+        sqlLogger.requestFinished();
+        sqlLogger.close();
+
+        assertEquals(1, logged.size());
+        SqlLogger.Entry entry = logged.peek();
+        assertEquals(SqlLogger.Kind.SAMPLED, entry.kind());
+        assertEquals("insert into notes (id, title) values (?, ?)", entry.sql());
+        assertEquals(2, entry.binds());
+        assertEquals("NoteController#createNote", entry.handler());
+        assertFalse(entry.toString().contains("First"), "bind values are never logged");
+    }
+
+    @Test
+    void testSlowStatementsBypassSampling() throws Exception {
+        SqlLogger sqlLogger = new SqlLogger(0.0, Duration.ZERO, 100, 64, logged::add);
+        try (Connection connection = new InspectingDataSource(h2, sqlLogger).getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeQuery("select count(*) from notes").close();
+        }
+        sqlLogger.close();
+
+        assertEquals(List.of(SqlLogger.Kind.SLOW), logged.stream().map(SqlLogger.Entry::kind).toList());
+        assertEquals("select count(*) from notes", logged.peek().sql());
+        assertEquals("-", logged.peek().handler());
+    }
+
+    @Test
+    void testRepeatedStatementInOneRequestIsReportedAsNPlusOne() throws Exception {
+        SqlLogger sqlLogger = new SqlLogger(0.0, Duration.ofHours(1), 5, 64, logged::add);
+        InspectingDataSource dataSource = new InspectingDataSource(h2, sqlLogger);
+
+        sqlLogger.requestStarted("NoteController#getAllNotes");
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("select title from notes").executeQuery().close();
+            for (long id = 1; id <= 5; id++) {
+                try (PreparedStatement select = connection.prepareStatement("select title from notes where id = ?")) {
+                    select.setLong(1, id);
+                    select.executeQuery().close();
+                }
+            }
+        }
+        sqlLogger.requestFinished();
+        sqlLogger.close();
+
+        assertEquals(1, logged.size());
+        SqlLogger.Entry entry = logged.peek();
+        assertEquals(SqlLogger.Kind.N_PLUS_ONE, entry.kind());
+        assertEquals(5, entry.executions());
+        assertEquals("NoteController#getAllNotes", entry.handler());
+    }
+
+    @Test
+    void testBatchReportsBindsOfAllRows() throws Exception {
+        SqlLogger sqlLogger = new SqlLogger(1.0, Duration.ofHours(1), 100, 64, logged::add);
+        try (Connection connection = new InspectingDataSource(h2, sqlLogger).getConnection();
+             PreparedStatement insert = connection.prepareStatement("insert into notes (id, title) values (?, ?)")) {
+            for (long id = 1; id <= 3; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "Note " + id);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        sqlLogger.close();
+
+        assertEquals(6, logged.peek().binds());
+    }
+
+    @Test
+    void testFullRingDropsInsteadOfBlocking() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertNull(ring.poll());
+    }
+}
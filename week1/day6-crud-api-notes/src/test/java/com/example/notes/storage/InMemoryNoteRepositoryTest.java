@@ -0,0 +1,136 @@
+package com.example.notes.storage;
+
+import com.example.notes.dto.NoteSummaryDTO;
+import com.example.notes.entity.Note;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryNoteRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRecoversFromLogAfterCrash() {
+        // never closed: no shutdown snapshot, everything comes back from the write-ahead log
+        InMemoryNoteRepository crashed = open();
+        Note first = crashed.save(new Note(null, "First", "one"));
+        Note second = crashed.save(new Note(null, "Second", "two"));
+        crashed.save(new Note(first.getId(), "First (edited)", "one!"));
+        crashed.deleteById(second.getId());
+
+        InMemoryNoteRepository recovered = open();
+        assertEquals(List.of(new Note(first.getId(), "First (edited)", "one!")), all(recovered));
+        // ids are never reused after recovery
+        assertTrue(recovered.save(new Note(null, "Third", "three")).getId() > second.getId());
+    }
+
+    @Test
+    void testRecoversFromSnapshotPlusLog() throws IOException {
+        InMemoryNoteRepository repository = open();
+        Note kept = repository.save(new Note(null, "Kept", "in the snapshot"));
+        Note deleted = repository.save(new Note(null, "Deleted", "after the snapshot"));
+        repository.snapshot();
+        repository.deleteById(deleted.getId());
+        Note added = repository.save(new Note(null, "Added", "after the snapshot"));
+        assertEquals(1, files("snapshot-"));
+
+        InMemoryNoteRepository recovered = open();
+        assertEquals(List.of(kept, added), all(recovered));
+
+        // a clean shutdown snapshots and drops the covered log segments
+        recovered.close();
+        assertEquals(1, files("snapshot-"));
+        assertEquals(List.of(kept, added), all(open()));
+    }
+
+    @Test
+    void testTornLogTailIsIgnored() throws IOException {
+        InMemoryNoteRepository crashed = open();
+        crashed.save(new Note(null, "Complete", "record"));
+        Path log;
+        try (Stream<Path> files = Files.list(dir)) {
+            log = files.filter(p -> p.getFileName().toString().startsWith("wal-")).max(Path::compareTo).orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(12).putInt(200).putLong(42).flip());
+        }
+
+        assertEquals(1, open().count());
+    }
+
+    @Test
+    void testTitlePrefixSearchFollowsUpdates() {
+        InMemoryNoteRepository repository = open();
+        Note groceries = repository.save(new Note(null, "Groceries", "milk"));
+        repository.save(new Note(null, "grocery list", "eggs"));
+        repository.save(new Note(null, "Gym", "legs"));
+
+        assertEquals(2, repository.findSummariesByTitleStartingWithIgnoreCase("GROC").size());
+        assertEquals(3, repository.findSummariesByTitleStartingWithIgnoreCase("").size());
+
+        repository.save(new Note(groceries.getId(), "Shopping", "milk"));
+        assertEquals(List.of("grocery list"), repository.findSummariesByTitleStartingWithIgnoreCase("groc").stream().map(NoteSummaryDTO::title).toList());
+        assertEquals(1, repository.findSummariesByTitleStartingWithIgnoreCase("shop").size());
+    }
+
+    @Test
+    void testReturnedNotesAreCopies() {
+        InMemoryNoteRepository repository = open();
+        Note saved = repository.save(new Note(null, "Title", "Content"));
+        saved.setTitle("Changed without save");
+        repository.findById(saved.getId()).orElseThrow().setContent("Changed without save");
+
+        Note stored = repository.findById(saved.getId()).orElseThrow();
+        assertEquals("Title", stored.getTitle());
+        assertEquals("Content", stored.getContent());
+    }
+
+    @Test
+    void testKeysetPagesFollowIds() {
+        InMemoryNoteRepository repository = open();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(repository.save(new Note(null, "Note " + i, "content " + i)).getId());
+        }
+        repository.deleteById(ids.get(2));
+
+        assertEquals(List.of(ids.get(1), ids.get(3)), repository.findWithContentByIdGreaterThan(ids.get(0), Limit.of(2))
+                .stream().map(Note::getId).toList());
+        assertEquals(List.of(ids.get(4)), repository.findWithContentByIdGreaterThan(ids.get(3), Limit.of(2))
+                .stream().map(Note::getId).toList());
+        List<Note> all = new ArrayList<>();
+        repository.forEachWithContent(2, all::add);
+        assertEquals(4, all.size());
+        assertTrue(all.stream().allMatch(note -> note.getContent().startsWith("content")));
+    }
+
+    private InMemoryNoteRepository open() {
+        return new InMemoryNoteRepository(dir, true, Duration.ofHours(1));
+    }
+
+    private static List<Note> all(InMemoryNoteRepository repository) {
+        return repository.findWithContentByIdGreaterThan(Long.MIN_VALUE, Limit.unlimited());
+    }
+
+    private long files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.notes.writebehind;
+
+import com.example.notes.entity.Note;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NoteJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testUnflushedNotesAreReplayed() throws IOException {
+        try (NoteJournal journal = new NoteJournal(dir, 1 << 20, true)) {
+            long segment = journal.append(new Note(1L, "Title 1", "Content é"));
+            journal.append(new Note(2L, "Title 2", "Content 2"));
+            journal.markFlushed(segment);
+        }
+
+        try (NoteJournal journal = new NoteJournal(dir, 1 << 20, true)) {
+            // the active segment is kept until it rolls, so both records come back (the insert is idempotent)
+            List<Note> replayed = journal.replay();
+            assertEquals(2, replayed.size());
+            assertEquals(new Note(1L, "Title 1", "Content é"), replayed.get(0));
+            assertEquals(2L, replayed.get(1).getId());
+
+            journal.discardReplayed();
+            assertTrue(journal.replay().isEmpty());
+        }
+    }
+
+    @Test
+    void testFlushedSegmentsAreDeleted() throws IOException {
+        try (NoteJournal journal = new NoteJournal(dir, 64, false)) {
+            long first = journal.append(new Note(1L, "A title long enough", "to fill the first segment"));
+            long second = journal.append(new Note(2L, "B", "b"));
+            assertTrue(second > first);
+            assertEquals(2, journal.segmentCount());
+
+            journal.markFlushed(first);
+            assertEquals(1, journal.segmentCount());
+            assertEquals(1, segmentFiles());
+        }
+    }
+
+    @Test
+    void testTornTailIsIgnored() throws IOException {
+        try (NoteJournal journal = new NoteJournal(dir, 1 << 20, true)) {
+            journal.append(new Note(1L, "Title", "Content"));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(12).putInt(40).putLong(2L).flip());
+        }
+
+        try (NoteJournal journal = new NoteJournal(dir, 1 << 20, true)) {
+            List<Note> replayed = journal.replay();
+            assertEquals(1, replayed.size());
+            assertEquals(1L, replayed.get(0).getId());
+        }
+    }
+
+    @Test
+    void testDeadLettersAreKeptButNotReplayed() throws IOException {
+        try (NoteJournal journal = new NoteJournal(dir, 1 << 20, true)) {
+            journal.deadLetter(List.of(new Note(7L, "Rejected", "by the database")));
+        }
+
+        try (NoteJournal journal = new NoteJournal(dir, 1 << 20, true)) {
+            assertTrue(journal.replay().isEmpty());
+            journal.discardReplayed();
+            assertEquals(List.of(new Note(7L, "Rejected", "by the database")), journal.deadLetters());
+        }
+    }
+
+    @Test
+    void testIncompleteNoteIsRejectedBeforeWriting() throws IOException {
+        try (NoteJournal journal = new NoteJournal(dir, 1 << 20, true)) {
+            assertThrows(IllegalArgumentException.class, () -> journal.append(new Note(1L, null, "Content")));
+            assertThrows(IllegalArgumentException.class, () -> journal.append(new Note(1L, "Title", null)));
+            assertThrows(IllegalArgumentException.class, () -> journal.append(new Note(null, "Title", "Content")));
+            assertEquals(0, journal.segmentCount());
+        }
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
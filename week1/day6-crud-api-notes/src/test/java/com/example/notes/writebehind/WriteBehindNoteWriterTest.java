@@ -0,0 +1,137 @@
+package com.example.notes.writebehind;
+
+import com.example.notes.entity.Note;
+import com.example.notes.entity.NoteContentCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class WriteBehindNoteWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private JdbcTemplate jdbcTemplate;
+    private final List<Long> inserted = new CopyOnWriteArrayList<>();
+    private WriteBehindNoteWriter writer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any())).thenReturn(List.of(10L, 11L, 12L));
+        // the database rejects any note titled "poison", whatever batch it comes in
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            Collection<Note> notes = invocation.getArgument(1);
+            if (notes.stream().anyMatch(note -> note.getTitle().equals("poison"))) {
+                throw new DataIntegrityViolationException("value too long for type character varying(255)");
+            }
+            notes.forEach(note -> inserted.add(note.getId()));
+            return new int[0][];
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void testRejectedNoteIsDeadLetteredAndDoesNotBlockTheQueue() throws IOException {
+        writer = newWriter();
+        writer.start();
+
+        Note good = writer.submit(new Note(null, "Title", "Content"));
+        Note poison = writer.submit(new Note(null, "poison", "Content"));
+        Note next = writer.submit(new Note(null, "Next", "Content"));
+        writer.awaitFlushed(next.getId());
+        writer.awaitFlushed(poison.getId());
+
+        assertNull(writer.pending(poison.getId()));
+        assertNull(writer.pending(next.getId()));
+        assertTrue(inserted.containsAll(List.of(good.getId(), next.getId())));
+        writer.stop();
+        assertEquals(List.of(poison.getId()), deadLetterIds());
+    }
+
+    @Test
+    void testReplayDeadLettersRejectedNotesInsteadOfFailingStartup() throws IOException {
+        try (NoteJournal journal = new NoteJournal(dir, 1 << 20, true)) {
+            journal.append(new Note(1L, "Title", "Content"));
+            journal.append(new Note(2L, "poison", "Content"));
+            journal.append(new Note(3L, "Title", "Content"));
+        }
+
+        writer = newWriter();
+        writer.start();
+
+        assertEquals(List.of(1L, 3L), inserted);
+        writer.stop();
+        assertEquals(List.of(2L), deadLetterIds());
+    }
+
+    @Test
+    void testTransientFailuresAreRetriedNotDeadLettered() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() <= 3) {
+                throw new CannotGetJdbcConnectionException("Connection refused");
+            }
+            Collection<Note> notes = invocation.getArgument(1);
+            notes.forEach(note -> inserted.add(note.getId()));
+            return new int[0][];
+        });
+        writer = newWriter();
+        writer.start();
+
+        Note note = writer.submit(new Note(null, "Title", "Content"));
+        writer.awaitFlushed(note.getId());
+
+        assertEquals(List.of(note.getId()), inserted);
+        writer.stop();
+        assertTrue(deadLetterIds().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private WriteBehindNoteWriter newWriter() {
+        return new WriteBehindNoteWriter(jdbcTemplate, new NoteContentCodec(256),
+                Mockito.mock(PlatformTransactionManager.class), Mockito.mock(ObjectProvider.class),
+                dir, 1 << 20, true, 100, 500, 2, 3, Duration.ofMillis(50), Duration.ofSeconds(5));
+    }
+
+    private List<Long> deadLetterIds() throws IOException {
+        try (NoteJournal journal = new NoteJournal(dir, 1 << 20, true)) {
+            return journal.deadLetters().stream().map(Note::getId).toList();
+        }
+    }
+}
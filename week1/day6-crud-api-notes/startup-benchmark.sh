@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Startup time and time-to-first-request of the app in each startup mode.
+#
+# Build the artifacts first (PostgreSQL must be running for the CDS training run):
+#   mvn -Paot,cds package -DskipTests
+#   mvn -Pnative native:compile -DskipTests      (optional, needs GraalVM)
+#
+# Usage: ./startup-benchmark.sh [runs]
+set -euo pipefail
+
+APP=notes
+URL=http://localhost:8080/api/notes/summary
+RUNS=${1:-5}
+cd "$(dirname "$0")/target"
+
+JAR=$(ls "$APP"-*.jar | grep -v '\.original$' | head -1)
+
+declare -A MODES=(
+  [jvm]="java -jar $JAR"
+  [aot]="java -Dspring.aot.enabled=true -jar $JAR"
+  [cds]="java -XX:SharedArchiveFile=cds/application.jsa -Dspring.aot.enabled=true -jar cds/$JAR"
+  [native]="./$APP"
+)
+
+now_ms() { date +%s%3N; }
+
+run_once() {
+  local cmd=$1 log start first started
+  log=$(mktemp)
+  start=$(now_ms)
+  $cmd >"$log" 2>&1 &
+  local pid=$!
+  until curl -fs -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "failed to start, see $log" >&2
+      return 1
+    fi
+    sleep 0.01
+  done
+  first=$(( $(now_ms) - start ))
+  started=$(grep -o 'Started [A-Za-z]* in [0-9.]* seconds' "$log" | grep -o '[0-9.]* seconds' || echo "?")
+  kill "$pid" && wait "$pid" 2>/dev/null || true
+  rm -f "$log"
+  echo "$first $started"
+}
+
+printf "%-7s %-5s %-22s %-18s\n" mode run "first request (ms)" "Spring started in"
+for mode in jvm aot cds native; do
+  cmd=${MODES[$mode]}
+  case $mode in
+    cds) [ -f cds/application.jsa ] || { echo "$mode: skipped (no cds/application.jsa)"; continue; } ;;
+    native) [ -x "$APP" ] || { echo "$mode: skipped (no native executable)"; continue; } ;;
+  esac
+  for i in $(seq 1 "$RUNS"); do
+    read -r first started <<<"$(run_once "$cmd")"
+    printf "%-7s %-5s %-22s %-18s\n" "$mode" "$i" "$first" "$started"
+  done
+done
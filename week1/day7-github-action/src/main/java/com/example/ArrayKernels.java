@@ -0,0 +1,89 @@
+package com.example;
+
+/**
+ * Main.add over whole arrays, plus sum and dot product, for bulk scoring jobs.
+ * The implementation is chosen once, at class initialization:
+ * - the Vector API kernels when the jdk.incubator.vector module is present
+ *   (java --add-modules jdk.incubator.vector) and the CPU has SIMD registers
+ * - plain loops otherwise, or with -Dkernels.vector=false
+ * Both give identical results in every Overflow mode.
+ */
+public final class ArrayKernels {
+
+    private static final Kernels KERNELS = select();
+
+    private ArrayKernels() {
+    }
+
+    /**
+     * "scalar" or "vector (N-bit)": the implementation in use.
+     */
+    public static String implementation() {
+        return KERNELS.name();
+    }
+
+    /**
+     * out[i] = a[i] + b[i], wrapping like Main.add.
+     */
+    public static void add(int[] a, int[] b, int[] out) {
+        add(a, b, out, Overflow.WRAP);
+    }
+
+    /**
+     * out[i] = a[i] + b[i]; out may be a or b. With CHECKED, the exception names the first
+     * overflowing index found and the contents of out are unspecified.
+     */
+    public static void add(int[] a, int[] b, int[] out, Overflow mode) {
+        checkLengths(a, b);
+        checkLengths(a, out);
+        KERNELS.add(a, b, out, mode);
+    }
+
+    /**
+     * Exact sum of the elements.
+     */
+    public static long sum(int[] a) {
+        return KERNELS.sum(a);
+    }
+
+    public static int sum(int[] a, Overflow mode) {
+        return KERNELS.sum(a, mode);
+    }
+
+    /**
+     * Sum of a[i] * b[i], wrapping like int arithmetic.
+     */
+    public static int dot(int[] a, int[] b) {
+        return dot(a, b, Overflow.WRAP);
+    }
+
+    public static int dot(int[] a, int[] b, Overflow mode) {
+        checkLengths(a, b);
+        return KERNELS.dot(a, b, mode);
+    }
+
+    /**
+     * The Vector API kernels if this JVM can run them, else null (whatever -Dkernels.vector says).
+     */
+    static Kernels vectorKernels() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return VectorKernels.create();
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Kernels select() {
+        Kernels vector = Boolean.parseBoolean(System.getProperty("kernels.vector", "true")) ? vectorKernels() : null;
+        return vector != null ? vector : ScalarKernels.INSTANCE;
+    }
+
+    private static void checkLengths(int[] first, int[] second) {
+        if (first.length != second.length) {
+            throw new IllegalArgumentException("Arrays of different lengths: " + first.length + " and " + second.length);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example;
+
+/**
+ * One implementation of the array kernels (scalar loops, or the Vector API).
+ * Arguments are checked by ArrayKernels; implementations assume arrays of equal length.
+ */
+interface Kernels {
+
+    String name();
+
+    void add(int[] a, int[] b, int[] out, Overflow mode);
+
+    /**
+     * Exact sum (cannot overflow a long for less than 2^32 elements).
+     */
+    long sum(int[] a);
+
+    int sum(int[] a, Overflow mode);
+
+    int dot(int[] a, int[] b, Overflow mode);
+
+    static int narrow(long exact, Overflow mode) {
+        if (exact == (int) exact || mode == Overflow.WRAP) {
+            return (int) exact;
+        }
+        if (mode == Overflow.CHECKED) {
+            throw new ArithmeticException("integer overflow: " + exact);
+        }
+        return exact < 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Narrows the exact dot product high * 2^32 + low, where high sums the signed high halves of
+     * the products and low their unsigned low halves. Products of ints reach 2^62, so summing them
+     * directly could overflow a long; the halves cannot (for less than 2^31 elements).
+     */
+    static int narrowDot(long high, long low, Overflow mode) {
+        long upper = high + (low >>> 32);
+        long lower = low & 0xFFFFFFFFL;
+        if (upper == 0 && lower <= Integer.MAX_VALUE || upper == -1 && lower > Integer.MAX_VALUE) {
+            return (int) lower;
+        }
+        if (mode == Overflow.WRAP) {
+            return (int) lower;
+        }
+        if (mode == Overflow.CHECKED) {
+            throw new ArithmeticException("integer overflow in dot product");
+        }
+        return upper < 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    }
+
+    static ArithmeticException overflowAt(int index) {
+        return new ArithmeticException("integer overflow at index " + index);
+    }
+}
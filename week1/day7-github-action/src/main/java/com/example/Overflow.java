@@ -0,0 +1,15 @@
+package com.example;
+
+/**
+ * What the array kernels do when a result does not fit in an int.
+ * For sum and dot, SATURATE and CHECKED apply to the exact total (computed without overflow),
+ * not to each intermediate step, so the result does not depend on the evaluation order.
+ */
+public enum Overflow {
+    /** Two's complement wrap-around, like int arithmetic in Java (and Main.add). */
+    WRAP,
+    /** Clamped to Integer.MIN_VALUE or Integer.MAX_VALUE. */
+    SATURATE,
+    /** ArithmeticException, like Math.addExact. */
+    CHECKED
+}
@@ -0,0 +1,85 @@
+package com.example;
+
+/**
+ * Plain loops: the fallback when the Vector API is not available (or disabled).
+ * C2 still auto-vectorizes the simplest ones (wrapping add and sum).
+ */
+final class ScalarKernels implements Kernels {
+
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void add(int[] a, int[] b, int[] out, Overflow mode) {
+        if (mode == Overflow.WRAP) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] = Main.add(a[i], b[i]);
+            }
+            return;
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = add(a[i], b[i], i, mode);
+        }
+    }
+
+    @Override
+    public long sum(int[] a) {
+        long sum = 0;
+        for (int value : a) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Override
+    public int sum(int[] a, Overflow mode) {
+        if (mode == Overflow.WRAP) {
+            int sum = 0;
+            for (int value : a) {
+                sum += value;
+            }
+            return sum;
+        }
+        return Kernels.narrow(sum(a), mode);
+    }
+
+    @Override
+    public int dot(int[] a, int[] b, Overflow mode) {
+        if (mode == Overflow.WRAP) {
+            int dot = 0;
+            for (int i = 0; i < a.length; i++) {
+                dot += a[i] * b[i];
+            }
+            return dot;
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < a.length; i++) {
+            long product = (long) a[i] * b[i];
+            high += product >> 32;
+            low += product & 0xFFFFFFFFL;
+        }
+        return Kernels.narrowDot(high, low, mode);
+    }
+
+    static int add(int a, int b, int index, Overflow mode) {
+        int result = a + b;
+        // overflow iff both operands have the sign the result lacks
+        if (((a ^ result) & (b ^ result)) < 0) {
+            if (mode == Overflow.CHECKED) {
+                throw Kernels.overflowAt(index);
+            }
+            if (mode == Overflow.SATURATE) {
+                return a < 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            }
+        }
+        return result;
+    }
+}
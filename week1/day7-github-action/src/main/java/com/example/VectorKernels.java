@@ -0,0 +1,133 @@
+package com.example;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels on the incubating Vector API (jdk.incubator.vector, needs --add-modules at compile
+ * time and run time): one SIMD instruction handles INTS.length() elements, the tail uses the
+ * scalar code. Exact sums and dot products widen ints to longs, half a vector at a time.
+ */
+final class VectorKernels implements Kernels {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    // as many ints as LONGS has lanes: widened with one conversion
+    private static final VectorSpecies<Integer> HALF_INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+
+    private VectorKernels() {
+    }
+
+    /**
+     * The vector kernels, or null when the CPU has no SIMD registers of at least 128 bits
+     * (the Vector API would then run slower than plain loops).
+     */
+    static Kernels create() {
+        return INTS.vectorBitSize() >= 128 ? new VectorKernels() : null;
+    }
+
+    @Override
+    public String name() {
+        return "vector (" + INTS.vectorBitSize() + "-bit)";
+    }
+
+    @Override
+    public void add(int[] a, int[] b, int[] out, Overflow mode) {
+        int i = 0;
+        for (int upper = INTS.loopBound(out.length); i < upper; i += INTS.length()) {
+            IntVector va = IntVector.fromArray(INTS, a, i);
+            IntVector vb = IntVector.fromArray(INTS, b, i);
+            IntVector result = va.add(vb);
+            if (mode != Overflow.WRAP) {
+                // overflow iff both operands have the sign the result lacks
+                VectorMask<Integer> overflow = va.lanewise(VectorOperators.XOR, result)
+                        .and(vb.lanewise(VectorOperators.XOR, result))
+                        .compare(VectorOperators.LT, 0);
+                if (overflow.anyTrue()) {
+                    if (mode == Overflow.CHECKED) {
+                        throw Kernels.overflowAt(i + overflow.firstTrue());
+                    }
+                    // MIN_VALUE for negative operands, MAX_VALUE for positive ones
+                    IntVector saturated = va.lanewise(VectorOperators.ASHR, 31).lanewise(VectorOperators.XOR, Integer.MAX_VALUE);
+                    result = result.blend(saturated, overflow);
+                }
+            }
+            result.intoArray(out, i);
+        }
+        for (; i < out.length; i++) {
+            out[i] = ScalarKernels.add(a[i], b[i], i, mode);
+        }
+    }
+
+    @Override
+    public long sum(int[] a) {
+        LongVector sums = LongVector.zero(LONGS);
+        int i = 0;
+        for (int upper = HALF_INTS.loopBound(a.length); i < upper; i += HALF_INTS.length()) {
+            sums = sums.add(widen(a, i));
+        }
+        long sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int sum(int[] a, Overflow mode) {
+        if (mode != Overflow.WRAP) {
+            return Kernels.narrow(sum(a), mode);
+        }
+        IntVector sums = IntVector.zero(INTS);
+        int i = 0;
+        for (int upper = INTS.loopBound(a.length); i < upper; i += INTS.length()) {
+            sums = sums.add(IntVector.fromArray(INTS, a, i));
+        }
+        int sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int dot(int[] a, int[] b, Overflow mode) {
+        if (mode == Overflow.WRAP) {
+            IntVector dots = IntVector.zero(INTS);
+            int i = 0;
+            for (int upper = INTS.loopBound(a.length); i < upper; i += INTS.length()) {
+                dots = dots.add(IntVector.fromArray(INTS, a, i).mul(IntVector.fromArray(INTS, b, i)));
+            }
+            int dot = dots.reduceLanes(VectorOperators.ADD);
+            for (; i < a.length; i++) {
+                dot += a[i] * b[i];
+            }
+            return dot;
+        }
+        LongVector highs = LongVector.zero(LONGS);
+        LongVector lows = LongVector.zero(LONGS);
+        int i = 0;
+        for (int upper = HALF_INTS.loopBound(a.length); i < upper; i += HALF_INTS.length()) {
+            LongVector products = widen(a, i).mul(widen(b, i));
+            highs = highs.add(products.lanewise(VectorOperators.ASHR, 32));
+            lows = lows.add(products.and(0xFFFFFFFFL));
+        }
+        long high = highs.reduceLanes(VectorOperators.ADD);
+        long low = lows.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            long product = (long) a[i] * b[i];
+            high += product >> 32;
+            low += product & 0xFFFFFFFFL;
+        }
+        return Kernels.narrowDot(high, low, mode);
+    }
+
+    private static LongVector widen(int[] values, int offset) {
+        return (LongVector) IntVector.fromArray(HALF_INTS, values, offset).convertShape(VectorOperators.I2L, LONGS, 0);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Both implementations checked against exact (long / BigInteger) arithmetic; lengths cover the vector tails
+class ArrayKernelsTest {
+
+    private static final int[] LENGTHS = {0, 1, 3, 7, 8, 9, 15, 16, 17, 31, 64, 1000, 1023};
+    private static final BigInteger INT_MIN = BigInteger.valueOf(Integer.MIN_VALUE);
+    private static final BigInteger INT_MAX = BigInteger.valueOf(Integer.MAX_VALUE);
+
+    static List<Kernels> kernels() {
+        List<Kernels> kernels = new ArrayList<>();
+        kernels.add(ScalarKernels.INSTANCE);
+        Kernels vector = ArrayKernels.vectorKernels();
+        if (vector != null) {
+            kernels.add(vector);
+        }
+        return kernels;
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void testAddMatchesExactArithmetic(Kernels kernels) {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int length : LENGTHS) {
+            int[] a = randomInts(random, length);
+            int[] b = randomInts(random, length);
+            int[] wrapped = new int[length];
+            int[] saturated = new int[length];
+            kernels.add(a, b, wrapped, Overflow.WRAP);
+            kernels.add(a, b, saturated, Overflow.SATURATE);
+            int firstOverflow = -1;
+            for (int i = 0; i < length; i++) {
+                long exact = (long) a[i] + b[i];
+                assertEquals(Main.add(a[i], b[i]), wrapped[i]);
+                assertEquals((int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, exact)), saturated[i]);
+                if (firstOverflow < 0 && exact != (int) exact) {
+                    firstOverflow = i;
+                }
+            }
+            if (firstOverflow < 0) {
+                int[] checked = new int[length];
+                kernels.add(a, b, checked, Overflow.CHECKED);
+                assertArrayEquals(wrapped, checked);
+            } else {
+                ArithmeticException e = assertThrows(ArithmeticException.class,
+                        () -> kernels.add(a, b, new int[length], Overflow.CHECKED));
+                assertEquals("integer overflow at index " + firstOverflow, e.getMessage());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void testSumMatchesExactArithmetic(Kernels kernels) {
+        SplittableRandom random = new SplittableRandom(2);
+        for (int length : LENGTHS) {
+            for (int bound : new int[]{1_000, Integer.MAX_VALUE}) {
+                int[] a = random.ints(length, -bound, bound).toArray();
+                long exact = 0;
+                for (int value : a) {
+                    exact += value;
+                }
+                assertEquals(exact, kernels.sum(a));
+                assertEquals((int) exact, kernels.sum(a, Overflow.WRAP));
+                assertEquals(clamp(BigInteger.valueOf(exact)), kernels.sum(a, Overflow.SATURATE));
+                if (exact == (int) exact) {
+                    assertEquals((int) exact, kernels.sum(a, Overflow.CHECKED));
+                } else {
+                    assertThrows(ArithmeticException.class, () -> kernels.sum(a, Overflow.CHECKED));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void testDotMatchesExactArithmetic(Kernels kernels) {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int length : LENGTHS) {
+            for (int bound : new int[]{100, 50_000, Integer.MAX_VALUE}) {
+                int[] a = random.ints(length, -bound, bound).toArray();
+                int[] b = random.ints(length, -bound, bound).toArray();
+                BigInteger exact = BigInteger.ZERO;
+                for (int i = 0; i < length; i++) {
+                    exact = exact.add(BigInteger.valueOf((long) a[i] * b[i]));
+                }
+                assertEquals(exact.intValue(), kernels.dot(a, b, Overflow.WRAP));
+                assertEquals(clamp(exact), kernels.dot(a, b, Overflow.SATURATE));
+                if (exact.bitLength() < 32) {
+                    assertEquals(exact.intValue(), kernels.dot(a, b, Overflow.CHECKED));
+                } else {
+                    assertThrows(ArithmeticException.class, () -> kernels.dot(a, b, Overflow.CHECKED));
+                }
+            }
+        }
+    }
+
+    // partial sums far outside the long range, final result back in the int range
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void testExactModesIgnoreIntermediateOverflow(Kernels kernels) {
+        // 2^62 + 2^62 + 2 * (-2^62 + 2^31) - 2^32 + 7 = 7, eight times
+        int[] blockA = {Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, -65_536, 7};
+        int[] blockB = {Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 65_536, 1};
+        int[] a = new int[64];
+        int[] b = new int[64];
+        for (int i = 0; i < 48; i++) {
+            a[i] = blockA[i % 6];
+            b[i] = blockB[i % 6];
+        }
+        assertEquals(56, kernels.dot(a, b, Overflow.CHECKED));
+        assertEquals(56, kernels.dot(a, b, Overflow.SATURATE));
+        a[63] = Integer.MAX_VALUE - 55;
+        b[63] = 1;
+        // exactly 2^31
+        assertThrows(ArithmeticException.class, () -> kernels.dot(a, b, Overflow.CHECKED));
+        assertEquals(Integer.MAX_VALUE, kernels.dot(a, b, Overflow.SATURATE));
+        assertEquals(Integer.MIN_VALUE, kernels.dot(a, b, Overflow.WRAP));
+
+        int[] values = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, 5};
+        assertEquals(3, kernels.sum(values, Overflow.CHECKED));
+        assertEquals(3, kernels.sum(values, Overflow.SATURATE));
+    }
+
+    @Test
+    void testAddInPlaceAndArgumentChecks() {
+        int[] a = {1, 2, Integer.MAX_VALUE};
+        ArrayKernels.add(a, new int[]{10, 20, 1}, a, Overflow.SATURATE);
+        assertArrayEquals(new int[]{11, 22, Integer.MAX_VALUE}, a);
+        assertThrows(IllegalArgumentException.class, () -> ArrayKernels.add(new int[2], new int[3], new int[2]));
+        assertThrows(IllegalArgumentException.class, () -> ArrayKernels.add(new int[2], new int[2], new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> ArrayKernels.dot(new int[2], new int[3]));
+    }
+
+    @Test
+    void testImplementationFollowsTheVectorSwitch() {
+        boolean enabled = Boolean.parseBoolean(System.getProperty("kernels.vector", "true"));
+        Kernels vector = ArrayKernels.vectorKernels();
+        assertEquals(enabled && vector != null ? vector.name() : "scalar", ArrayKernels.implementation());
+    }
+
+    private static int[] randomInts(SplittableRandom random, int length) {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            // mostly small values, some near the limits so that additions overflow
+            values[i] = random.nextInt(8) == 0 ? random.nextInt() : random.nextInt(-1_000, 1_000);
+        }
+        return values;
+    }
+
+    private static int clamp(BigInteger exact) {
+        return exact.max(INT_MIN).min(INT_MAX).intValue();
+    }
+}
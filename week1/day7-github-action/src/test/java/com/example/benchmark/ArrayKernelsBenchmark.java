@@ -0,0 +1,107 @@
+package com.example.benchmark;
+
+import com.example.ArrayKernels;
+import com.example.Main;
+import com.example.Overflow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArrayKernels with the Vector API and with the scalar fallback (vector = false), next to a
+ * Main.add loop as baseline (C2 auto-vectorizes that one; it cannot do the saturating, checked or
+ * exact kernels). Every parameter combination runs in its own fork, so the kernels.vector
+ * property set in setUp is read when ArrayKernels initializes there.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.benchmark.ArrayKernelsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ArrayKernelsBenchmark {
+
+    @Param({"1024", "1048576"})
+    private int size;
+
+    @Param({"true", "false"})
+    private boolean vector;
+
+    private int[] a;
+    private int[] b;
+    private int[] out;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("kernels.vector", String.valueOf(vector));
+        if (vector == ArrayKernels.implementation().equals("scalar")) {
+            throw new IllegalStateException("Expected vector=" + vector + " but running " + ArrayKernels.implementation());
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        a = random.ints(size, -1_000_000, 1_000_000).toArray();
+        b = random.ints(size, -1_000_000, 1_000_000).toArray();
+        out = new int[size];
+    }
+
+    @Benchmark
+    public int[] mainAddLoop() {
+        for (int i = 0; i < size; i++) {
+            out[i] = Main.add(a[i], b[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public int[] addWrap() {
+        ArrayKernels.add(a, b, out, Overflow.WRAP);
+        return out;
+    }
+
+    @Benchmark
+    public int[] addSaturate() {
+        ArrayKernels.add(a, b, out, Overflow.SATURATE);
+        return out;
+    }
+
+    @Benchmark
+    public int[] addChecked() {
+        ArrayKernels.add(a, b, out, Overflow.CHECKED);
+        return out;
+    }
+
+    @Benchmark
+    public long sumExact() {
+        return ArrayKernels.sum(a);
+    }
+
+    @Benchmark
+    public int dotWrap() {
+        return ArrayKernels.dot(a, b, Overflow.WRAP);
+    }
+
+    @Benchmark
+    public int dotSaturate() {
+        return ArrayKernels.dot(a, b, Overflow.SATURATE);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ArrayKernelsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
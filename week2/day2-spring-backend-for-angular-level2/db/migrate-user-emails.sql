@@ -0,0 +1,40 @@
+-- One-off upgrade of an existing users table to normalized, unique emails (see User.normalizeEmail).
+-- Run it before starting the new version:  psql -U ismail -d users_db -f db/migrate-user-emails.sql
+-- Running it again does nothing.
+--
+-- Earlier versions stored emails as typed ("Alice@X.com "): lookups of the normalized form miss
+-- those rows, and while duplicates exist ddl-auto=update cannot create uk_users_email (Hibernate
+-- logs the failure and starts anyway). When several users share an email once normalized, the
+-- oldest (lowest id) keeps it and the others are left without one; their original values are
+-- kept in users_email_conflicts for manual follow-up.
+
+begin;
+
+create table if not exists users_email_conflicts (
+    user_id bigint primary key,
+    email   varchar(255) not null,
+    kept_by bigint not null
+);
+
+with ranked as (
+    select id, email, min(id) over (partition by lower(trim(email))) as keeper
+    from users
+    where email is not null
+), moved as (
+    insert into users_email_conflicts (user_id, email, kept_by)
+    select id, email, keeper from ranked where id <> keeper
+    on conflict (user_id) do nothing
+    returning user_id
+)
+update users set email = null where id in (select user_id from moved);
+
+update users set email = lower(trim(email)) where email <> lower(trim(email));
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conname = 'uk_users_email') then
+        alter table users add constraint uk_users_email unique (email);
+    end if;
+end $$;
+
+commit;
@@ -0,0 +1,23 @@
+package com.example.demo;
+
+import com.example.demo.metrics.QueryMetricsListener;
+import com.example.demo.model.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection the native image cannot discover on its own: classes Hibernate instantiates
+ * from a property value (hibernate.session.events.auto) and the entity with its @PrePersist/@PreUpdate callback.
+ */
+public class UsersRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(QueryMetricsListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(User.class,
+                MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(
+            @Value("${admission.rate-limit.permits-per-second:50}") double permitsPerSecond,
+            @Value("${admission.rate-limit.burst:100}") int burst,
+            @Value("${admission.rate-limit.max-clients:100000}") int maxClients) {
+        return new TokenBucketRateLimiter(permitsPerSecond, burst, maxClients);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${admission.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${admission.concurrency.min-limit:4}") int minLimit,
+            @Value("${admission.concurrency.max-limit:200}") int maxLimit,
+            @Value("${admission.concurrency.target-latency:100ms}") Duration targetLatency,
+            @Value("${admission.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, targetLatency.toNanos(), backoffRatio);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            TokenBucketRateLimiter rateLimiter,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            @Value("${admission.client-header:}") String clientHeader) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(rateLimiter, concurrencyLimiter, clientHeader));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
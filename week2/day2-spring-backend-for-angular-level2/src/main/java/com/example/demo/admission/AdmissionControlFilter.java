@@ -0,0 +1,78 @@
+package com.example.demo.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Front door of /api/users and /api/dashboard: per-client rate limit (429) then adaptive
+ * concurrency limit (503). Rejections are answered immediately with a small constant body and a
+ * Retry-After header.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS = "{\"status\":429,\"error\":\"Too Many Requests\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OVERLOADED = "{\"status\":503,\"error\":\"Service Unavailable\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final String clientHeader;
+
+    public AdmissionControlFilter(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                  String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.clientHeader = clientHeader;
+    }
+
+    // CORS preflights from the Angular front end are cheap and must not consume the client's budget
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return CorsUtils.isPreFlightRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        long waitNanos = rateLimiter.tryAcquire(clientOf(request), start);
+        if (waitNanos > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS, Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000));
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, OVERLOADED, 1);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            concurrencyLimiter.release(end - start, end);
+        }
+    }
+
+    // the remote address (behind a proxy: resolved from X-Forwarded-For by server.forward-headers-strategy);
+    // a client header is only a key when a trusted gateway sets it, or any caller could pick a fresh bucket
+    private String clientOf(HttpServletRequest request) {
+        String client = clientHeader.isEmpty() ? null : request.getHeader(clientHeader);
+        return client != null && !client.isEmpty() ? client : request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, byte[] body, long retryAfterSeconds)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
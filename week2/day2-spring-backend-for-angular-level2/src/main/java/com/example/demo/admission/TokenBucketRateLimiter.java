@@ -0,0 +1,77 @@
+package com.example.demo.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-client token bucket, implemented as GCRA: each bucket is a single AtomicLong holding the
+ * "theoretical arrival time" of the next request, updated with one CAS and no lock.
+ * {@code permitsPerSecond} is the refill rate and {@code burst} the bucket capacity.
+ * <p>
+ * At most {@code maxClients} buckets are kept. When the map is full, idle buckets are swept at most
+ * once per second, so a flood of new client keys costs one scan per second rather than one per
+ * request. Until a sweep frees room, new clients are refused (existing ones are unaffected).
+ */
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private static final long EVICTION_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final int maxClients;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Function<String, AtomicLong> newBucket = key -> new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong nextEviction = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, int maxClients) {
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * @return 0 when the request is allowed, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryAcquire(String client, long nowNanos) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients && !evictIfDue(nowNanos)) {
+                return emissionIntervalNanos;
+            }
+            bucket = buckets.computeIfAbsent(client, newBucket);
+        }
+        while (true) {
+            long tat = bucket.get();
+            long start = tat == Long.MIN_VALUE || tat - nowNanos < 0 ? nowNanos : tat;
+            long newTat = start + emissionIntervalNanos;
+            long waitNanos = newTat - nowNanos - burstToleranceNanos - emissionIntervalNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    public int clients() {
+        return buckets.size();
+    }
+
+    // one caller per interval sweeps; the others see the map still full and are refused
+    private boolean evictIfDue(long nowNanos) {
+        long due = nextEviction.get();
+        if (due != Long.MIN_VALUE && due - nowNanos > 0
+                || !nextEviction.compareAndSet(due, nowNanos + EVICTION_INTERVAL_NANOS)) {
+            return false;
+        }
+        evictIdle(nowNanos);
+        return buckets.size() < maxClients;
+    }
+
+    // a bucket whose arrival time is in the past is full again: dropping it changes nothing
+    void evictIdle(long nowNanos) {
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - nowNanos <= 0);
+    }
+}
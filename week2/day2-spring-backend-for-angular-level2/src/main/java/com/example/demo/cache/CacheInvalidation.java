@@ -0,0 +1,7 @@
+package com.example.demo.cache;
+
+/**
+ * Message broadcast to the other instances when a user is written.
+ * A null key means "drop every entry of this cache".
+ */
+public record CacheInvalidation(String sourceInstance, String cacheName, Object key) { }
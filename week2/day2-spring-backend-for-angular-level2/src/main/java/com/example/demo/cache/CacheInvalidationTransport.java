@@ -0,0 +1,12 @@
+package com.example.demo.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between backend instances.
+ * Plug a Redis pub/sub or PostgreSQL LISTEN/NOTIFY implementation here for multi-instance deployments.
+ */
+public interface CacheInvalidationTransport {
+    void publish(CacheInvalidation invalidation);
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
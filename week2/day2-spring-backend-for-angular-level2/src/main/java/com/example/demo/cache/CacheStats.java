@@ -0,0 +1,20 @@
+package com.example.demo.cache;
+
+public record CacheStats(
+        String name,
+        int size,
+        int maxSize,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRatio,
+        double averageLoadMillis
+) {
+    static CacheStats of(String name, int size, int maxSize, long hits, long misses, long evictions,
+                         long loads, long loadNanos) {
+        long requests = hits + misses;
+        double hitRatio = requests == 0 ? 0.0 : (double) hits / requests;
+        double averageLoadMillis = loads == 0 ? 0.0 : loadNanos / 1_000_000.0 / loads;
+        return new CacheStats(name, size, maxSize, hits, misses, evictions, hitRatio, averageLoadMillis);
+    }
+}
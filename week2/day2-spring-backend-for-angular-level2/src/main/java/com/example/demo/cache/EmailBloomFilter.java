@@ -0,0 +1,45 @@
+package com.example.demo.cache;
+
+import com.example.demo.dao.UserDao;
+import com.example.demo.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pre-check for duplicate emails on createUser: an email the filter has never seen is new,
+ * so the existence query can be skipped. Until the filter is loaded every email is treated as "maybe known".
+ * Emails added by other instances are not seen here; the unique constraint remains the final guard.
+ */
+@Component
+public class EmailBloomFilter {
+
+    private final UserDao userDao;
+    private final BloomFilter filter;
+    private volatile boolean loaded;
+
+    public EmailBloomFilter(UserDao userDao,
+                            @Value("${users.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userDao = userDao;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // rows written before emails were normalized may still be mixed-case (db/migrate-user-emails.sql)
+        userDao.findAllEmails().forEach(email -> filter.put(User.normalizeEmail(email)));
+        loaded = true;
+    }
+
+    public boolean mightExist(String email) {
+        return !loaded || filter.mightContain(User.normalizeEmail(email));
+    }
+
+    public void add(String email) {
+        if (email != null) {
+            filter.put(User.normalizeEmail(email));
+        }
+    }
+}
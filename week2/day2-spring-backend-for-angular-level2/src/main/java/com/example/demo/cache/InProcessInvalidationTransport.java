@@ -0,0 +1,25 @@
+package com.example.demo.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// default transport: delivers to listeners of this JVM only (single instance and tests).
+// A multi-instance deployment declares its own transport as a @Primary bean.
+@Component
+public class InProcessInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache with a time-to-live per entry.
+ * Loading is left to the caller so no database call ever runs under the cache lock.
+ * <p>
+ * A load can read a row just before a write commits and finish after that write's invalidation,
+ * so callers take {@link #generation()} before loading and store with
+ * {@link #putIfNotInvalidatedSince}: a value whose key was invalidated meanwhile is dropped.
+ * Invalidations are tracked per stripe of keys, so an unrelated write rarely costs a put.
+ */
+public class LocalCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAtNanos) { }
+
+    private static final int STRIPES = 64;
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // guarded by entries: generation of the last invalidation per key stripe, and of the last clear
+    private final long[] invalidatedAt = new long[STRIPES];
+    private long clearedAt;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    public LocalCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LocalCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAtNanos() - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Caches a value loaded after {@code generation} was taken, unless its key has been invalidated
+     * since (the value may predate that write).
+     *
+     * @return whether the value was cached
+     */
+    public boolean putIfNotInvalidatedSince(K key, V value, long generation) {
+        Entry<V> entry = new Entry<>(value, System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            if (invalidatedAt[stripe(key)] > generation || clearedAt > generation) {
+                return false;
+            }
+            entries.put(key, entry);
+            return true;
+        }
+    }
+
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            invalidatedAt[stripe(key)] = ++generation;
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            clearedAt = ++generation;
+        }
+    }
+
+    // records how long a miss took to load, for the latency part of the stats
+    public void recordLoad(long nanos) {
+        loads.increment();
+        loadNanos.add(nanos);
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return CacheStats.of(name, size, maxSize, hits.sum(), misses.sum(), evictions.sum(),
+                loads.sum(), loadNanos.sum());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.cache;
+
+import com.example.demo.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Local caches for the users module: entities by id and search results by query.
+ * Every write is applied locally and broadcast so the other instances drop their copies too.
+ */
+@Component
+public class UserCache {
+
+    static final String BY_ID = "users.byId";
+    static final String SEARCH = "users.search";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final LocalCache<Long, User> byId;
+    private final LocalCache<String, List<User>> searches;
+    private final CacheInvalidationTransport transport;
+
+    public UserCache(CacheInvalidationTransport transport,
+                     @Value("${users.cache.max-size:10000}") int maxSize,
+                     @Value("${users.cache.ttl-seconds:300}") long ttlSeconds,
+                     @Value("${users.cache.search-max-size:1000}") int searchMaxSize,
+                     @Value("${users.cache.search-ttl-seconds:30}") long searchTtlSeconds) {
+        this.transport = transport;
+        this.byId = new LocalCache<>(BY_ID, maxSize, ttlSeconds * 1000);
+        this.searches = new LocalCache<>(SEARCH, searchMaxSize, searchTtlSeconds * 1000);
+        transport.subscribe(this::onInvalidation);
+    }
+
+    public LocalCache<Long, User> byId() {
+        return byId;
+    }
+
+    public LocalCache<String, List<User>> searches() {
+        return searches;
+    }
+
+    public static String searchKey(String query) {
+        return query == null ? "" : query.toLowerCase(Locale.ROOT);
+    }
+
+    // a write can change any search result, so the whole search cache goes with it
+    public void evictUser(Long id) {
+        byId.invalidate(id);
+        searches.invalidateAll();
+        transport.publish(new CacheInvalidation(instanceId, BY_ID, id));
+        transport.publish(new CacheInvalidation(instanceId, SEARCH, null));
+    }
+
+    public List<CacheStats> stats() {
+        return List.of(byId.stats(), searches.stats());
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (instanceId.equals(invalidation.sourceInstance())) {
+            return;
+        }
+        LocalCache<?, ?> cache = BY_ID.equals(invalidation.cacheName()) ? byId : searches;
+        if (invalidation.key() == null) {
+            cache.invalidateAll();
+        } else if (invalidation.key() instanceof Number id) {
+            byId.invalidate(id.longValue());
+        }
+    }
+}
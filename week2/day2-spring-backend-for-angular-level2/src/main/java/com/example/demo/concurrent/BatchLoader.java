@@ -0,0 +1,106 @@
+package com.example.demo.concurrent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Collects the keys requested during a short window and loads them with one query.
+ * A batch is sent when the window elapses or when it reaches {@code maxBatchSize}, whichever comes first.
+ */
+public class BatchLoader<K, V> implements AutoCloseable {
+
+    private final Function<List<K>, Map<K, V>> loader;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<Optional<V>>> pending = new HashMap<>();
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder keys = new LongAdder();
+
+    public BatchLoader(String name, Function<List<K>, Map<K, V>> loader, long windowMicros, int maxBatchSize, int threads) {
+        this.loader = loader;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-batch-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Optional<V> load(K key) {
+        return SingleFlight.join(loadAsync(key));
+    }
+
+    public CompletableFuture<Optional<V>> loadAsync(K key) {
+        Map<K, CompletableFuture<Optional<V>>> full = null;
+        CompletableFuture<Optional<V>> future;
+        synchronized (lock) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() == 1) {
+                scheduler.schedule(this::flush, windowMicros, TimeUnit.MICROSECONDS);
+            } else if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new HashMap<>();
+            }
+        }
+        if (full != null) {
+            Map<K, CompletableFuture<Optional<V>>> batch = full;
+            scheduler.execute(() -> run(batch));
+        }
+        return future;
+    }
+
+    public long batches() {
+        return batches.sum();
+    }
+
+    public long keys() {
+        return keys.sum();
+    }
+
+    private void flush() {
+        Map<K, CompletableFuture<Optional<V>>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        run(batch);
+    }
+
+    private void run(Map<K, CompletableFuture<Optional<V>>> batch) {
+        batches.increment();
+        keys.add(batch.size());
+        try {
+            Map<K, V> loaded = loader.apply(new ArrayList<>(batch.keySet()));
+            batch.forEach((key, future) -> future.complete(Optional.ofNullable(loaded.get(key))));
+        } catch (RuntimeException | Error e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.concurrent;
+
+import com.example.demo.dao.UserDao;
+import com.example.demo.datasource.ReadYourWrites;
+import com.example.demo.model.User;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent user lookups: identical requests share one in-flight query,
+ * and different ids arriving within the batch window are fetched with a single WHERE id IN (...).
+ * Results feed the shared user cache, so they are always read from the primary, never a replica.
+ * Each load carries the cache generation taken before its query started: a caller that joins a
+ * load already in flight must not cache the result as if it had been read after it arrived.
+ */
+@Component
+public class UserLookupCoalescer {
+
+    public record Loaded<T>(T value, long generation) { }
+
+    private final boolean enabled;
+    private final UserDao userDao;
+    private final SingleFlight<Long, Loaded<Optional<User>>> byId = new SingleFlight<>();
+    private final SingleFlight<String, Loaded<List<User>>> searches = new SingleFlight<>();
+    private final BatchLoader<Long, User> batchLoader;
+
+    public UserLookupCoalescer(UserDao userDao,
+                               @Value("${users.coalescing.enabled:true}") boolean enabled,
+                               @Value("${users.coalescing.batch-window-micros:1000}") long batchWindowMicros,
+                               @Value("${users.coalescing.max-batch-size:256}") int maxBatchSize,
+                               @Value("${users.coalescing.threads:2}") int threads) {
+        this.userDao = userDao;
+        this.enabled = enabled;
+        this.batchLoader = new BatchLoader<>("users", ids -> ReadYourWrites.onPrimary(() -> userDao.findAllById(ids)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity())),
+                batchWindowMicros, maxBatchSize, threads);
+    }
+
+    public Loaded<Optional<User>> findById(Long id, LongSupplier generation) {
+        if (!enabled) {
+            long before = generation.getAsLong();
+            return new Loaded<>(ReadYourWrites.onPrimary(() -> userDao.findById(id)), before);
+        }
+        return byId.execute(id, () -> {
+            long before = generation.getAsLong();
+            return new Loaded<>(batchLoader.load(id), before);
+        });
+    }
+
+    public Loaded<List<User>> search(String key, LongSupplier generation, Supplier<List<User>> query) {
+        Supplier<Loaded<List<User>>> onPrimary = () -> {
+            long before = generation.getAsLong();
+            return new Loaded<>(ReadYourWrites.onPrimary(query), before);
+        };
+        return enabled ? searches.execute(key, onPrimary) : onPrimary.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        batchLoader.close();
+    }
+}
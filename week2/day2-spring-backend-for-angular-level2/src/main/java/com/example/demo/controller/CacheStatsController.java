@@ -0,0 +1,28 @@
+package com.example.demo.controller;
+
+import com.example.demo.cache.CacheStats;
+import com.example.demo.cache.UserCache;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "http://localhost:4200")
+public class CacheStatsController {
+
+    private final UserCache userCache;
+
+    public CacheStatsController(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    // hit ratio, size and average load latency of the user caches
+    @GetMapping("/stats")
+    public List<CacheStats> stats() {
+        return userCache.stats();
+    }
+}
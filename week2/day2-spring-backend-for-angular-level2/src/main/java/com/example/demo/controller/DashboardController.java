@@ -0,0 +1,33 @@
+package com.example.demo.controller;
+
+import com.example.demo.dashboard.DashboardPolicy;
+import com.example.demo.dashboard.DashboardService;
+import com.example.demo.dto.DashboardResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:4200", allowCredentials = "true")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final DashboardPolicy defaultPolicy;
+
+    public DashboardController(DashboardService dashboardService,
+                               @Value("${dashboard.policy:partial}") DashboardPolicy defaultPolicy) {
+        this.dashboardService = dashboardService;
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    // notes summary + note titles + users + status in one call (GET /api/dashboard?policy=FAIL_FAST|PARTIAL)
+    @GetMapping
+    public DashboardResponse get(@RequestParam(value = "policy", required = false) DashboardPolicy policy)
+            throws InterruptedException {
+        return dashboardService.load(policy != null ? policy : defaultPolicy);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.BatchGetRequest;
+import com.example.demo.dto.UserBatchResponse;
 import com.example.demo.model.User;
 import com.example.demo.service.UserService;
 import org.springframework.web.bind.annotation.RestController;
@@ -13,11 +15,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
-@CrossOrigin(origins = "http://localhost:4200")
+// credentials: the read-your-writes cookie (primary-until) must round-trip from the Angular app
+@CrossOrigin(origins = "http://localhost:4200", allowCredentials = "true")
 public class UserController {
 
     private final UserService userService;
@@ -36,6 +42,22 @@ public class UserController {
         return userService.getUserById(id);
     }
 
+    // many users in one call: POST {"ids": [3, 1, 2]} instead of N GET /{id}
+    @PostMapping("/batch-get")
+    public UserBatchResponse batchGet(@RequestBody BatchGetRequest request) {
+        List<Long> ids = request.ids() == null ? List.of() : request.ids();
+        List<User> users = userService.getUsersByIds(ids);
+        Set<Long> foundIds = new HashSet<>();
+        users.forEach(user -> foundIds.add(user.getId()));
+        List<Long> missing = ids.stream().filter(Objects::nonNull).distinct().filter(id -> !foundIds.contains(id)).toList();
+        return new UserBatchResponse(users, missing);
+    }
+
+    @GetMapping("/by-email")
+    public User getByEmail(@RequestParam("email") String email) {
+        return userService.getUserByEmail(email);
+    }
+
     @PostMapping
     public User create(@RequestBody User user) {
         return userService.createUser(user);
@@ -8,7 +8,12 @@ import java.util.Optional;
 public interface UserDao {
     List<User> findAll();
     Optional<User> findById(Long id);
+    List<User> findAllById(Iterable<Long> ids);
     User save(User user);
+    User saveAndFlush(User user);
     void deleteById(Long id);
     List<User> findByNameContains(String name);
+    Optional<User> findByEmail(String email);
+    boolean existsByEmail(String email);
+    List<String> findAllEmails();
 }
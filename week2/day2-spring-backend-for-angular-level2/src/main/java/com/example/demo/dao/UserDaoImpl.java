@@ -26,11 +26,21 @@ public class UserDaoImpl implements UserDao {
         return userRepository.findById(id);
     }
 
+    @Override
+    public List<User> findAllById(Iterable<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
     @Override
     public User save(User user) {
         return userRepository.save(user);
     }
 
+    @Override
+    public User saveAndFlush(User user) {
+        return userRepository.saveAndFlush(user);
+    }
+
     @Override
     public void deleteById(Long id) {
         userRepository.deleteById(id);
@@ -40,4 +50,19 @@ public class UserDaoImpl implements UserDao {
     public List<User> findByNameContains(String name) {
         return userRepository.findByNameContainingIgnoreCase(name);
     }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return userRepository.findByEmail(User.normalizeEmail(email));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return userRepository.existsByEmail(User.normalizeEmail(email));
+    }
+
+    @Override
+    public List<String> findAllEmails() {
+        return userRepository.findAllEmails();
+    }
 }
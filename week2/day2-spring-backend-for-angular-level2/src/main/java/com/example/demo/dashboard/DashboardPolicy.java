@@ -0,0 +1,8 @@
+package com.example.demo.dashboard;
+
+public enum DashboardPolicy {
+    /** The first failed or timed-out branch fails the whole request (502). */
+    FAIL_FAST,
+    /** Every branch is awaited; failed ones are null in the response and listed in errors. */
+    PARTIAL
+}
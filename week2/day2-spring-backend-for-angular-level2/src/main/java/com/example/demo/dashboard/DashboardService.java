@@ -0,0 +1,78 @@
+package com.example.demo.dashboard;
+
+import com.example.demo.datasource.ReadYourWrites;
+import com.example.demo.dto.DashboardResponse;
+import com.example.demo.model.User;
+import com.example.demo.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Everything the Angular dashboard shows on load, fetched concurrently: the users come from this
+ * application, the notes summary and titles from the notes service and the status from the hello
+ * service (separate applications, called over HTTP). Latency is that of the slowest branch,
+ * bounded by its timeout.
+ */
+@Service
+public class DashboardService {
+
+    private static final ParameterizedTypeReference<List<String>> STRING_LIST = new ParameterizedTypeReference<>() { };
+
+    private record Status(String message) { }
+
+    private final UserService userService;
+    private final RestClient notes;
+    private final RestClient hello;
+    private final Duration notesTimeout;
+    private final Duration usersTimeout;
+    private final Duration helloTimeout;
+
+    public DashboardService(UserService userService, RestClient.Builder restClientBuilder,
+                            @Value("${dashboard.notes.base-url:http://localhost:8081}") String notesBaseUrl,
+                            @Value("${dashboard.hello.base-url:http://localhost:8082}") String helloBaseUrl,
+                            @Value("${dashboard.notes.timeout:500ms}") Duration notesTimeout,
+                            @Value("${dashboard.users.timeout:500ms}") Duration usersTimeout,
+                            @Value("${dashboard.hello.timeout:300ms}") Duration helloTimeout) {
+        this.userService = userService;
+        this.notesTimeout = notesTimeout;
+        this.usersTimeout = usersTimeout;
+        this.helloTimeout = helloTimeout;
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(notesTimeout.compareTo(helloTimeout) > 0 ? notesTimeout : helloTimeout)
+                .build();
+        this.notes = restClientBuilder.clone().baseUrl(notesBaseUrl).requestFactory(requestFactory(httpClient, notesTimeout)).build();
+        this.hello = restClientBuilder.clone().baseUrl(helloBaseUrl).requestFactory(requestFactory(httpClient, helloTimeout)).build();
+    }
+
+    public DashboardResponse load(DashboardPolicy policy) throws InterruptedException {
+        long start = System.nanoTime();
+        // the read-your-writes flag is per thread: carry it into the users branch
+        boolean primaryRequired = ReadYourWrites.primaryRequired();
+        Fanout.Branch<String> summary = new Fanout.Branch<>("notesSummary", notesTimeout,
+                () -> notes.get().uri("/api/notes/summary").retrieve().body(String.class));
+        Fanout.Branch<List<String>> titles = new Fanout.Branch<>("noteTitles", notesTimeout,
+                () -> notes.get().uri("/api/notes/titles/uppercase").retrieve().body(STRING_LIST));
+        Fanout.Branch<List<User>> users = new Fanout.Branch<>("users", usersTimeout,
+                () -> primaryRequired ? ReadYourWrites.onPrimary(userService::getAllUsers) : userService.getAllUsers());
+        Fanout.Branch<String> status = new Fanout.Branch<>("status", helloTimeout,
+                () -> hello.get().uri("/api/status").retrieve().body(Status.class).message());
+
+        List<Fanout.Branch<?>> branches = List.of(summary, titles, users, status);
+        Fanout.Results results = policy == DashboardPolicy.FAIL_FAST ? Fanout.failFast(branches) : Fanout.partial(branches);
+        return new DashboardResponse(results.get(summary), results.get(titles), results.get(users), results.get(status),
+                results.errors(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private static JdkClientHttpRequestFactory requestFactory(HttpClient httpClient, Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
+    }
+}
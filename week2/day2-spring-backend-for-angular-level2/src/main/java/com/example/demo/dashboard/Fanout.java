@@ -0,0 +1,108 @@
+package com.example.demo.dashboard;
+
+import com.example.demo.exception.DashboardUnavailableException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs independent branches concurrently, one virtual thread each, in a {@link StructuredTaskScope}:
+ * the call returns when the slowest branch is done, and no branch outlives it. Each branch has its
+ * own deadline (a nested scope joined until then); a branch blocked in a call that ignores
+ * interruption (a running JDBC statement) still holds the response until that call returns, which
+ * is why the HTTP branches also get a matching read timeout.
+ */
+final class Fanout {
+
+    record Branch<T>(String name, Duration timeout, Callable<T> call) { }
+
+    /**
+     * Values of the branches that completed, and for the others (partial policy only) the reason.
+     */
+    static final class Results {
+
+        private final Map<Branch<?>, Object> values = new IdentityHashMap<>();
+        private final Map<String, String> errors = new LinkedHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        <T> T get(Branch<T> branch) {
+            return (T) values.get(branch);
+        }
+
+        Map<String, String> errors() {
+            return errors;
+        }
+    }
+
+    private Fanout() {
+    }
+
+    /**
+     * Fails as soon as one branch fails or times out; the other branches are interrupted.
+     */
+    static Results failFast(List<Branch<?>> branches) throws InterruptedException {
+        Results results = new Results();
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            List<Subtask<?>> subtasks = branches.stream().<Subtask<?>>map(branch -> scope.fork(() -> withinTimeout(branch))).toList();
+            scope.join();
+            scope.throwIfFailed(failure -> failure instanceof BranchFailure branchFailure
+                    ? new DashboardUnavailableException(branchFailure.branch, branchFailure.getMessage())
+                    : new DashboardUnavailableException("unknown", String.valueOf(failure)));
+            for (int i = 0; i < branches.size(); i++) {
+                results.values.put(branches.get(i), subtasks.get(i).get());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Waits for every branch; failed or timed-out branches are reported in {@link Results#errors()}.
+     */
+    static Results partial(List<Branch<?>> branches) throws InterruptedException {
+        Results results = new Results();
+        try (var scope = new StructuredTaskScope<Object>()) {
+            List<Subtask<?>> subtasks = branches.stream().<Subtask<?>>map(branch -> scope.fork(() -> withinTimeout(branch))).toList();
+            scope.join();
+            for (int i = 0; i < branches.size(); i++) {
+                Branch<?> branch = branches.get(i);
+                Subtask<?> subtask = subtasks.get(i);
+                if (subtask.state() == Subtask.State.SUCCESS) {
+                    results.values.put(branch, subtask.get());
+                } else {
+                    results.errors.put(branch.name(), subtask.exception().getMessage());
+                }
+            }
+        }
+        return results;
+    }
+
+    private static <T> T withinTimeout(Branch<T> branch) throws InterruptedException {
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            Subtask<T> subtask = scope.fork(branch.call());
+            scope.joinUntil(Instant.now().plus(branch.timeout()));
+            scope.throwIfFailed(failure -> new BranchFailure(branch.name(),
+                    failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName()));
+            return subtask.get();
+        } catch (TimeoutException e) {
+            throw new BranchFailure(branch.name(), "timed out after " + branch.timeout().toMillis() + "ms");
+        }
+    }
+
+    private static final class BranchFailure extends RuntimeException {
+
+        private final String branch;
+
+        BranchFailure(String branch, String reason) {
+            super(reason, null, false, false);
+            this.branch = branch;
+        }
+    }
+}
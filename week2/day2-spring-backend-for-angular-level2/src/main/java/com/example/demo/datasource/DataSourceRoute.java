@@ -0,0 +1,6 @@
+package com.example.demo.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,45 @@
+package com.example.demo.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread "read from the primary" flag. Set for a whole request by {@link ReadYourWritesFilter}
+ * (the client wrote recently, so its reads go to the primary until the replica has caught up), and
+ * around single loads by {@link #onPrimary}: the coalescer's batch loads run on their own threads
+ * and their results are cached for every client, so a stale replica row must never get in.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean primaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Runs {@code work} on the primary, e.g. reads whose result is cached and shared.
+     * Keeps the flag when it was already set (nested calls, sticky requests).
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (primaryRequired()) {
+            return work.get();
+        }
+        requirePrimary();
+        try {
+            return work.get();
+        } finally {
+            clear();
+        }
+    }
+
+    static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
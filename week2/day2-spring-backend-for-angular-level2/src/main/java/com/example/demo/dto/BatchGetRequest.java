@@ -0,0 +1,6 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+// body of POST /api/users/batch-get
+public record BatchGetRequest(List<Long> ids) { }
@@ -0,0 +1,10 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.User;
+
+import java.util.List;
+import java.util.Map;
+
+// one branch per former dashboard call; a branch that failed under the partial policy is null and listed in errors
+public record DashboardResponse(String notesSummary, List<String> noteTitles, List<User> users, String status,
+                                Map<String, String> errors, long elapsedMillis) { }
@@ -0,0 +1,8 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.User;
+
+import java.util.List;
+
+// users in request order; ids with no user are listed in missing, in request order too
+public record UserBatchResponse(List<User> users, List<Long> missing) { }
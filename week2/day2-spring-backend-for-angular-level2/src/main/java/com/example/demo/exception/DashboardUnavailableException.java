@@ -0,0 +1,11 @@
+package com.example.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_GATEWAY)
+public class DashboardUnavailableException extends RuntimeException {
+    public DashboardUnavailableException(String branch, String reason) {
+        super("Dashboard branch '" + branch + "' failed: " + reason, null, false, false);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Publishes per-endpoint JPA metrics: jpa.queries (statements per request) and jpa.query.time
+ * (total statement time per request), tagged with the same uri template as http.server.requests
+ * ({@code /api/users/{id}}, {@code /api/users/batch-get}...). Meters are created once per endpoint
+ * and reused.
+ */
+public class QueryMetricsInterceptor implements HandlerInterceptor {
+
+    private record EndpointMeters(DistributionSummary queries, Timer time) { }
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+    private final Function<String, EndpointMeters> meterFactory = this::createMeters;
+
+    public QueryMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStats.current().start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        stats.stop();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        EndpointMeters endpoint = meters.computeIfAbsent(pattern == null ? "UNKNOWN" : pattern.toString(), meterFactory);
+        endpoint.queries().record(stats.count());
+        endpoint.time().record(stats.nanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private EndpointMeters createMeters(String uri) {
+        return new EndpointMeters(
+                DistributionSummary.builder("jpa.queries")
+                        .description("JDBC statements executed per request")
+                        .tag("uri", uri)
+                        .register(registry),
+                Timer.builder("jpa.query.time")
+                        .description("Total JDBC statement time per request")
+                        .tag("uri", uri)
+                        .register(registry));
+    }
+}
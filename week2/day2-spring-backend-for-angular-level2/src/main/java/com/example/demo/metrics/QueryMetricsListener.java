@@ -0,0 +1,22 @@
+package com.example.demo.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times every JDBC statement Hibernate executes and adds it to the current request's stats.
+ * Registered through hibernate.session.events.auto (one instance per session).
+ */
+public class QueryMetricsListener implements SessionEventListener {
+
+    private long statementStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestQueryStats.current().record(System.nanoTime() - statementStart);
+    }
+}
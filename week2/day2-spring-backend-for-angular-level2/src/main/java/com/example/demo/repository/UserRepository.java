@@ -2,9 +2,19 @@ package com.example.demo.repository;
 
 import com.example.demo.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
 import java.util.List;
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     // example for method custom util in DAO
     List<User> findByNameContainingIgnoreCase(String name);
+
+    // email is stored normalized, so these hit the unique index
+    Optional<User> findByEmail(String email);
+    boolean existsByEmail(String email);
+
+    @Query("select u.email from User u where u.email is not null")
+    List<String> findAllEmails();
 }
@@ -7,6 +7,8 @@ import java.util.List;
 public interface UserService {
     List<User> getAllUsers();
     User getUserById(Long id);
+    List<User> getUsersByIds(List<Long> ids);
+    User getUserByEmail(String email);
     User createUser(User user);
     User updateUser(Long id, User user);
     void deleteUser(Long id);
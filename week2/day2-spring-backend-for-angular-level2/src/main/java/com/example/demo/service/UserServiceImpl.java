@@ -1,57 +1,207 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.EmailBloomFilter;
+import com.example.demo.cache.UserCache;
+import com.example.demo.concurrent.UserLookupCoalescer;
 import com.example.demo.dao.UserDao;
+import com.example.demo.exception.DuplicateEmailException;
+import com.example.demo.datasource.ReadYourWrites;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.exception.TooManyIdsException;
 import com.example.demo.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
 
     private final UserDao userDao;
+    private final UserCache userCache;
+    private final EmailBloomFilter emailFilter;
+    private final UserLookupCoalescer coalescer;
+    private final int batchChunkSize;
+    private final int batchMaxIds;
 
-    public UserServiceImpl(UserDao userDao) {
+    public UserServiceImpl(UserDao userDao, UserCache userCache, EmailBloomFilter emailFilter,
+                           UserLookupCoalescer coalescer,
+                           @Value("${users.batch-get.chunk-size:1000}") int batchChunkSize,
+                           @Value("${users.batch-get.max-ids:10000}") int batchMaxIds) {
         this.userDao = userDao;
+        this.userCache = userCache;
+        this.emailFilter = emailFilter;
+        this.coalescer = coalescer;
+        this.batchChunkSize = batchChunkSize;
+        this.batchMaxIds = batchMaxIds;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userDao.findAll();
     }
 
+    // SUPPORTS: callers waiting on a coalesced query must not each hold a connection.
+    // Cache fills read the primary (see UserLookupCoalescer): a lagging replica would re-cache a stale row
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public User getUserById(Long id) {
-        return userDao.findById(id)
+        User cached = userCache.byId().getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        UserLookupCoalescer.Loaded<Optional<User>> loaded = coalescer.findById(id, userCache.byId()::generation);
+        User user = loaded.value()
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + id));
+        userCache.byId().recordLoad(System.nanoTime() - start);
+        userCache.byId().putIfNotInvalidatedSince(id, user, loaded.generation());
+        return user;
+    }
+
+    // cached users first, then one "where id in (...)" per chunk for the rest; misses fill the cache
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<User> getUsersByIds(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > batchMaxIds) {
+            throw new TooManyIdsException(distinct.size(), batchMaxIds);
+        }
+        Map<Long, User> found = new HashMap<>(distinct.size() * 2);
+        List<Long> toQuery = new ArrayList<>();
+        for (Long id : distinct) {
+            User cached = userCache.byId().getIfPresent(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                toQuery.add(id);
+            }
+        }
+        for (int from = 0; from < toQuery.size(); from += batchChunkSize) {
+            List<Long> chunk = toQuery.subList(from, Math.min(toQuery.size(), from + batchChunkSize));
+            long start = System.nanoTime();
+            long generation = userCache.byId().generation();
+            List<User> loaded = ReadYourWrites.onPrimary(() -> userDao.findAllById(chunk));
+            userCache.byId().recordLoad(System.nanoTime() - start);
+            for (User user : loaded) {
+                userCache.byId().putIfNotInvalidatedSince(user.getId(), user, generation);
+                found.put(user.getId(), user);
+            }
+        }
+        List<User> users = new ArrayList<>(found.size());
+        for (Long id : distinct) {
+            User user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public User getUserByEmail(String email) {
+        return userDao.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email " + email));
     }
 
     @Override
     public User createUser(User user) {
-        // logique métier possible (ex : validation supplémentaire)
-        return userDao.save(user);
+        // le filtre de Bloom évite la requête d'existence pour les emails jamais vus
+        if (user.getEmail() != null && emailFilter.mightExist(user.getEmail()) && userDao.existsByEmail(user.getEmail())) {
+            throw duplicateEmail(user.getEmail());
+        }
+        User saved = saveUnique(user);
+        emailFilter.add(saved.getEmail());
+        evictAfterCommit(saved.getId());
+        return saved;
     }
 
     @Override
     public User updateUser(Long id, User user) {
-        User existing = getUserById(id);
+        // toujours relire depuis la base : on ne modifie jamais une instance partagée du cache
+        User existing = findExisting(id);
+        String email = User.normalizeEmail(user.getEmail());
+        if (email != null && !Objects.equals(email, existing.getEmail()) && userDao.existsByEmail(email)) {
+            throw duplicateEmail(email);
+        }
         existing.setName(user.getName());
-        existing.setEmail(user.getEmail());
-        return userDao.save(existing);
+        existing.setEmail(email);
+        User saved = saveUnique(existing);
+        emailFilter.add(email);
+        evictAfterCommit(id);
+        return saved;
     }
 
     @Override
     public void deleteUser(Long id) {
         // on peut vérifier existence avant suppression
-        getUserById(id);
+        findExisting(id);
         userDao.deleteById(id);
+        evictAfterCommit(id);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<User> searchByName(String name) {
-        return userDao.findByNameContains(name);
+        String key = UserCache.searchKey(name);
+        List<User> cached = userCache.searches().getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        UserLookupCoalescer.Loaded<List<User>> loaded = coalescer.search(key, userCache.searches()::generation,
+                () -> List.copyOf(userDao.findByNameContains(name)));
+        userCache.searches().recordLoad(System.nanoTime() - start);
+        userCache.searches().putIfNotInvalidatedSince(key, loaded.value(), loaded.generation());
+        return loaded.value();
+    }
+
+    // the unique constraint catches a concurrent insert or update of the same email on any instance.
+    // Flushed here: an update of a loaded entity is otherwise only written at commit, outside this catch
+    private User saveUnique(User user) {
+        try {
+            return userDao.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateEmail(user.getEmail());
+        }
+    }
+
+    private static DuplicateEmailException duplicateEmail(String email) {
+        return new DuplicateEmailException("User already exists with email " + User.normalizeEmail(email));
+    }
+
+    private User findExisting(Long id) {
+        return userDao.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + id));
+    }
+
+    // evict now, and again once the transaction commits: a load that read the old row before the commit
+    // then sees its key invalidated and does not cache it
+    private void evictAfterCommit(Long id) {
+        userCache.evictUser(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userCache.evictUser(id);
+                }
+            });
+        }
     }
 }
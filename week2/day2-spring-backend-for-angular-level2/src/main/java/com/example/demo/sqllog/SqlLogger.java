@@ -0,0 +1,140 @@
+package com.example.demo.sqllog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Replacement for spring.jpa.show-sql: the threads running user queries (Tomcat workers, the
+ * coalescer's batch loaders, the dashboard's virtual threads) only decide whether a statement is
+ * worth logging and hand an entry to a {@link RingBuffer}; the sql-log thread does the formatting
+ * and the I/O. Slow statements are always logged, the others with probability {@code sampleRate}.
+ * When the ring is full, entries are dropped (and counted) rather than slowing requests down.
+ * Bind values are never logged, only their count: users rows carry names and email addresses.
+ */
+public class SqlLogger implements AutoCloseable {
+
+    enum Kind { SAMPLED, SLOW, N_PLUS_ONE }
+
+    record Entry(Kind kind, String handler, String sql, int binds, long nanos, int executions) {
+
+        @Override
+        public String toString() {
+            return switch (kind) {
+                case SAMPLED, SLOW -> "%s %dus binds=%d handler=%s sql=%s"
+                        .formatted(kind, TimeUnit.NANOSECONDS.toMicros(nanos), binds, handler, sql);
+                case N_PLUS_ONE -> "N_PLUS_ONE executions=%d handler=%s sql=%s"
+                        .formatted(executions, handler, sql);
+            };
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SqlLogger.class);
+
+    private final double sampleRate;
+    private final long slowNanos;
+    private final int nPlusOneThreshold;
+    private final RingBuffer<Entry> ring;
+    private final Consumer<Entry> sink;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public SqlLogger(double sampleRate, Duration slowThreshold, int nPlusOneThreshold, int bufferSize) {
+        this(sampleRate, slowThreshold, nPlusOneThreshold, bufferSize, SqlLogger::write);
+    }
+
+    SqlLogger(double sampleRate, Duration slowThreshold, int nPlusOneThreshold, int bufferSize, Consumer<Entry> sink) {
+        this.sampleRate = sampleRate;
+        this.slowNanos = slowThreshold.toNanos();
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.ring = new RingBuffer<>(bufferSize);
+        this.sink = sink;
+        this.writer = new Thread(this::drainLoop, "sql-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Called on the executing thread after each statement.
+     */
+    void executed(String sql, int binds, long nanos) {
+        SqlRequestContext context = SqlRequestContext.current();
+        context.executed(sql);
+        if (nanos >= slowNanos) {
+            enqueue(new Entry(Kind.SLOW, context.handler(), sql, binds, nanos, 1));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            enqueue(new Entry(Kind.SAMPLED, context.handler(), sql, binds, nanos, 1));
+        }
+    }
+
+    void requestStarted(String handler) {
+        SqlRequestContext.current().start(handler);
+    }
+
+    void requestFinished() {
+        SqlRequestContext context = SqlRequestContext.current();
+        String handler = context.handler();
+        context.stop(nPlusOneThreshold, (sql, executions) ->
+                enqueue(new Entry(Kind.N_PLUS_ONE, handler, sql, 0, 0, executions)));
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void enqueue(Entry entry) {
+        if (!ring.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        long reportedDrops = 0;
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+            long drops = dropped.sum();
+            if (drops != reportedDrops) {
+                log.warn("SQL log buffer full: {} entries dropped so far (capacity {})", drops, ring.capacity());
+                reportedDrops = drops;
+            }
+        }
+        drain();
+    }
+
+    private boolean drain() {
+        boolean any = false;
+        for (Entry entry = ring.poll(); entry != null; entry = ring.poll()) {
+            any = true;
+            try {
+                sink.accept(entry);
+            } catch (RuntimeException e) {
+                log.warn("Cannot write SQL log entry", e);
+            }
+        }
+        return any;
+    }
+
+    private static void write(Entry entry) {
+        if (entry.kind() == Kind.SAMPLED) {
+            log.info("{}", entry);
+        } else {
+            log.warn("{}", entry);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.sqllog;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Controller method and per-statement execution counts of the request running on the current thread.
+ * Loading users one by one ({@code select ... from users u1_0 where u1_0.id=?} once per id) shows up
+ * as the same SQL text executed many times in one request: prepared statements keep their
+ * {@code ?} placeholders, so the text is identical per row.
+ * <p>
+ * Coalesced lookups run on the {@code users-batch-loader} threads, outside any request: their
+ * statements are attributed to the thread instead, and are not counted towards the N+1 check
+ * (one IN query per batch is what the coalescer is for).
+ */
+final class SqlRequestContext {
+
+    private static final ThreadLocal<SqlRequestContext> CURRENT = ThreadLocal.withInitial(SqlRequestContext::new);
+
+    private final Map<String, int[]> executions = new HashMap<>();
+    private String handler;
+    private boolean active;
+
+    private SqlRequestContext() {
+    }
+
+    static SqlRequestContext current() {
+        return CURRENT.get();
+    }
+
+    void start(String handler) {
+        this.handler = handler;
+        executions.clear();
+        active = true;
+    }
+
+    /**
+     * Ends the request, reporting each statement executed at least {@code threshold} times.
+     */
+    void stop(int threshold, BiConsumer<String, Integer> repeated) {
+        if (active) {
+            executions.forEach((sql, count) -> {
+                if (count[0] >= threshold) {
+                    repeated.accept(sql, count[0]);
+                }
+            });
+        }
+        executions.clear();
+        handler = null;
+        active = false;
+    }
+
+    // statements run outside a request (startup, background threads) are not counted
+    void executed(String sql) {
+        if (active) {
+            executions.computeIfAbsent(sql, key -> new int[1])[0]++;
+        }
+    }
+
+    // outside a request: the thread name (users-batch-loader, main during startup...)
+    String handler() {
+        return active ? handler : Thread.currentThread().getName();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testBurstThenRefill() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(50, 3, 100);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1", 0));
+        }
+        long wait = limiter.tryAcquire("10.0.0.1", 0);
+        assertTrue(wait > 0 && wait <= SECOND / 50);
+        assertEquals(0, limiter.tryAcquire("10.0.0.2", 0));
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", SECOND / 50));
+    }
+
+    @Test
+    void testNewClientsAreRefusedUntilIdleBucketsAreSwept() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 2);
+        limiter.tryAcquire("10.0.0.1", 0);
+        limiter.tryAcquire("10.0.0.2", 0);
+        assertTrue(limiter.tryAcquire("10.0.0.3", 0) > 0);
+        // known clients keep their bucket
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", 0));
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.3", SECOND));
+        assertEquals(1, limiter.clients());
+    }
+
+    @Test
+    void testConcurrencyLimitBacksOffOncePerWindow() {
+        long target = 100_000_000L;
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, target, 0.5);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(2 * target, 0);
+        limiter.release(2 * target, target / 2);
+        assertEquals(10, limiter.limit());
+        limiter.release(2 * target, 2 * target);
+        assertEquals(5, limiter.limit());
+    }
+
+    @Test
+    void testClientsAreKeyedOnTheirAddress() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new TokenBucketRateLimiter(0.001, 1, 100),
+                new AdaptiveConcurrencyLimiter(20, 4, 200, 100_000_000L, 0.9),
+                "");
+
+        assertEquals(200, get("10.0.0.1", "angular-1", filter).getStatus());
+        // a new made-up X-Client-Id does not buy a new bucket
+        MockHttpServletResponse limited = get("10.0.0.1", "angular-2", filter);
+        assertEquals(429, limited.getStatus());
+        assertTrue(Long.parseLong(limited.getHeader("Retry-After")) > 0);
+        assertEquals(200, get("10.0.0.2", "angular-1", filter).getStatus());
+    }
+
+    @Test
+    void testCorsPreflightDoesNotConsumeTheBudget() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new TokenBucketRateLimiter(0.001, 1, 100),
+                new AdaptiveConcurrencyLimiter(20, 4, 200, 100_000_000L, 0.9),
+                "");
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest preflight = new MockHttpServletRequest("OPTIONS", "/api/users");
+            preflight.setRemoteAddr("10.0.0.1");
+            preflight.addHeader("Origin", "http://localhost:4200");
+            preflight.addHeader("Access-Control-Request-Method", "POST");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(preflight, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+        assertEquals(200, get("10.0.0.1", null, filter).getStatus());
+    }
+
+    @Test
+    void testFilterRejectsWith503WhenSaturated() throws Exception {
+        AdaptiveConcurrencyLimiter concurrency = new AdaptiveConcurrencyLimiter(1, 1, 1, 100_000_000L, 0.9);
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new TokenBucketRateLimiter(1000, 100, 100), concurrency, "");
+        assertTrue(concurrency.tryAcquire());
+
+        MockHttpServletResponse response = get("10.0.0.1", null, filter);
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    private static MockHttpServletResponse get(String address, String clientId, AdmissionControlFilter filter)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.setRemoteAddr(address);
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
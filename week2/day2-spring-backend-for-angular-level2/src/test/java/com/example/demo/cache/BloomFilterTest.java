@@ -0,0 +1,48 @@
+package com.example.demo.cache;
+
+import com.example.demo.dao.UserDao;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testLegacyMixedCaseEmailsAreLoadedNormalized() {
+        UserDao userDao = Mockito.mock(UserDao.class);
+        Mockito.when(userDao.findAllEmails()).thenReturn(List.of("Alice@Example.com "));
+        EmailBloomFilter emailFilter = new EmailBloomFilter(userDao, 1000, 0.01);
+        emailFilter.load();
+
+        assertTrue(emailFilter.mightExist("alice@example.com"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.cache;
+
+import com.example.demo.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserCacheTest {
+
+    @Test
+    void testLruEvictionAndStats() {
+        LocalCache<Long, String> cache = new LocalCache<>("test", 2, 60_000);
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.getIfPresent(1L);
+        cache.put(3L, "c");
+
+        assertNull(cache.getIfPresent(2L));
+        assertEquals("a", cache.getIfPresent(1L));
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.size());
+        assertEquals(1, stats.evictions());
+        assertEquals(2.0 / 3.0, stats.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void testExpiredEntryIsAMiss() throws InterruptedException {
+        LocalCache<Long, String> cache = new LocalCache<>("test", 10, 1);
+        cache.put(1L, "a");
+        Thread.sleep(5);
+        assertNull(cache.getIfPresent(1L));
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsNotCached() {
+        LocalCache<Long, String> cache = new LocalCache<>("test", 10, 60_000);
+        long generation = cache.generation();
+        // the row is read, then a write commits and evicts before the loader stores it
+        cache.invalidate(1L);
+
+        assertFalse(cache.putIfNotInvalidatedSince(1L, "old", generation));
+        assertNull(cache.getIfPresent(1L));
+        assertTrue(cache.putIfNotInvalidatedSince(2L, "other", generation));
+        assertTrue(cache.putIfNotInvalidatedSince(1L, "new", cache.generation()));
+
+        generation = cache.generation();
+        cache.invalidateAll();
+        assertFalse(cache.putIfNotInvalidatedSince(3L, "old", generation));
+    }
+
+    @Test
+    void testWriteOnOneInstanceInvalidatesTheOther() {
+        CacheInvalidationTransport transport = new InProcessInvalidationTransport();
+        UserCache instanceA = new UserCache(transport, 100, 60, 100, 60);
+        UserCache instanceB = new UserCache(transport, 100, 60, 100, 60);
+        User user = new User(1L, "Ismail", "ismail@example.com");
+        instanceB.byId().put(1L, user);
+        instanceB.searches().put("ism", List.of(user));
+        assertNotNull(instanceB.byId().getIfPresent(1L));
+
+        instanceA.evictUser(1L);
+
+        assertNull(instanceB.byId().getIfPresent(1L));
+        assertNull(instanceB.searches().getIfPresent("ism"));
+    }
+}
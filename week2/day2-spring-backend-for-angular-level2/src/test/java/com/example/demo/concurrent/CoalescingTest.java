@@ -0,0 +1,122 @@
+package com.example.demo.concurrent;
+
+import com.example.demo.dao.UserDao;
+import com.example.demo.model.User;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingTest {
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String>> results = IntStream.range(0, 16)
+                    .mapToObj(i -> executor.submit(() -> singleFlight.execute(1L, () -> {
+                        queries.incrementAndGet();
+                        await(release);
+                        return "user-1";
+                    })))
+                    .toList();
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("user-1", result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, queries.get());
+        assertEquals(15, singleFlight.shared());
+    }
+
+    @Test
+    void testIdsInTheSameWindowGoToOneQuery() {
+        AtomicInteger queries = new AtomicInteger();
+        Function<List<Long>, Map<Long, String>> loader = ids -> {
+            queries.incrementAndGet();
+            return ids.stream().filter(id -> id != 3L).collect(Collectors.toMap(id -> id, id -> "user-" + id));
+        };
+        try (BatchLoader<Long, String> batchLoader = new BatchLoader<>("test", loader, 50_000, 100, 1)) {
+            List<CompletableFuture<Optional<String>>> futures = List.of(
+                    batchLoader.loadAsync(1L), batchLoader.loadAsync(2L),
+                    batchLoader.loadAsync(3L), batchLoader.loadAsync(1L));
+
+            assertEquals(Optional.of("user-1"), futures.get(0).join());
+            assertEquals(Optional.of("user-2"), futures.get(1).join());
+            assertTrue(futures.get(2).join().isEmpty());
+            assertEquals(Optional.of("user-1"), futures.get(3).join());
+        }
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void testFullBatchIsSentBeforeTheWindowEnds() {
+        AtomicInteger queries = new AtomicInteger();
+        Function<List<Long>, Map<Long, String>> loader = ids -> {
+            queries.incrementAndGet();
+            return ids.stream().collect(Collectors.toMap(id -> id, id -> "user-" + id));
+        };
+        try (BatchLoader<Long, String> batchLoader = new BatchLoader<>("test", loader, 10_000_000, 2, 1)) {
+            CompletableFuture<Optional<String>> first = batchLoader.loadAsync(1L);
+            CompletableFuture<Optional<String>> second = batchLoader.loadAsync(2L);
+            assertEquals(Optional.of("user-1"), first.join());
+            assertEquals(Optional.of("user-2"), second.join());
+        }
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void testJoinedLoadKeepsTheGenerationTakenWhenItStarted() throws Exception {
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(Mockito.mock(UserDao.class), true, 1000, 256, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<User> users = List.of(new User(1L, "Ismail", "ismail@example.com"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<UserLookupCoalescer.Loaded<List<User>>> first = executor.submit(() -> coalescer.search("ism", () -> 1L, () -> {
+                started.countDown();
+                await(release);
+                return users;
+            }));
+            await(started);
+            // arrives after an invalidation (generation 2) but shares the load that started before it
+            Future<UserLookupCoalescer.Loaded<List<User>>> second = executor.submit(() -> coalescer.search("ism", () -> 2L, () -> users));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals(1L, first.get().generation());
+            assertEquals(1L, second.get().generation());
+        } finally {
+            executor.shutdown();
+            coalescer.close();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
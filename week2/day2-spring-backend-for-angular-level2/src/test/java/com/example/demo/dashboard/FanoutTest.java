@@ -0,0 +1,85 @@
+package com.example.demo.dashboard;
+
+import com.example.demo.exception.DashboardUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FanoutTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    @Test
+    void testBranchesRunConcurrently() throws Exception {
+        Fanout.Branch<String> a = new Fanout.Branch<>("a", TIMEOUT, () -> sleepThen(300, "a"));
+        Fanout.Branch<String> b = new Fanout.Branch<>("b", TIMEOUT, () -> sleepThen(300, "b"));
+        Fanout.Branch<Integer> c = new Fanout.Branch<>("c", TIMEOUT, () -> sleepThen(300, 3));
+
+        long start = System.nanoTime();
+        Fanout.Results results = Fanout.failFast(List.of(a, b, c));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals("a", results.get(a));
+        assertEquals("b", results.get(b));
+        assertEquals(3, results.get(c));
+        assertTrue(results.errors().isEmpty());
+        assertTrue(elapsedMillis < 800, "took " + elapsedMillis + "ms, expected about one branch");
+    }
+
+    @Test
+    void testPartialReportsTimedOutAndFailedBranches() throws Exception {
+        Fanout.Branch<String> fast = new Fanout.Branch<>("fast", TIMEOUT, () -> "ok");
+        Fanout.Branch<String> slow = new Fanout.Branch<>("slow", Duration.ofMillis(100), () -> sleepThen(5_000, "late"));
+        Fanout.Branch<String> broken = new Fanout.Branch<>("broken", TIMEOUT, () -> {
+            throw new IllegalStateException("connection refused");
+        });
+
+        long start = System.nanoTime();
+        Fanout.Results results = Fanout.partial(List.of(fast, slow, broken));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals("ok", results.get(fast));
+        assertNull(results.get(slow));
+        assertNull(results.get(broken));
+        assertEquals("timed out after 100ms", results.errors().get("slow"));
+        assertEquals("connection refused", results.errors().get("broken"));
+        assertTrue(elapsedMillis < 2_000, "the timed-out branch was not interrupted: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testFailFastCancelsTheOtherBranches() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Fanout.Branch<String> slow = new Fanout.Branch<>("slow", TIMEOUT, () -> {
+            try {
+                return sleepThen(5_000, "late");
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+        });
+        Fanout.Branch<String> broken = new Fanout.Branch<>("broken", TIMEOUT, () -> {
+            throw new IllegalStateException("connection refused");
+        });
+
+        long start = System.nanoTime();
+        DashboardUnavailableException e = assertThrows(DashboardUnavailableException.class,
+                () -> Fanout.failFast(List.of(slow, broken)));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals("Dashboard branch 'broken' failed: connection refused", e.getMessage());
+        assertTrue(interrupted.get());
+        assertTrue(elapsedMillis < 2_000, "waited for the slow branch: " + elapsedMillis + "ms");
+    }
+
+    private static <T> T sleepThen(long millis, T value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.demo.datasource;
+
+import com.example.demo.concurrent.UserLookupCoalescer;
+import com.example.demo.dao.UserDao;
+import com.example.demo.model.User;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+
+// H2 stand-in pair: each database holds a row naming itself
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("users-primary");
+        replica = database("users-replica");
+        lagMonitor = new ReplicaLagMonitor(replica, "select 0", Duration.ofSeconds(2));
+        lagMonitor.check();
+
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, lagMonitor));
+        jdbcTemplate = new JdbcTemplate(routing);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lagMonitor.close();
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplica() {
+        assertEquals("users-replica", readOnly.execute(status -> server()));
+        assertEquals("users-primary", server());
+    }
+
+    @Test
+    void testOnPrimaryOverridesReadOnlyAndRestoresTheFlag() {
+        assertEquals("users-primary", ReadYourWrites.onPrimary(() -> readOnly.execute(status -> server())));
+        assertFalse(ReadYourWrites.primaryRequired());
+
+        // inside a sticky request the flag must survive the nested call
+        ReadYourWrites.requirePrimary();
+        ReadYourWrites.onPrimary(() -> readOnly.execute(status -> server()));
+        assertTrue(ReadYourWrites.primaryRequired());
+    }
+
+    @Test
+    void testCoalescedLookupsReadFromPrimary() {
+        // the DAO query is @Transactional(readOnly = true), but its result is cached for everyone
+        UserDao userDao = Mockito.mock(UserDao.class);
+        Mockito.when(userDao.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            Long id = ids.iterator().next();
+            return List.of(new User(id, readOnly.execute(status -> server()), "user" + id + "@example.com"));
+        });
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(userDao, true, 1000, 256, 1);
+        try {
+            assertEquals("users-primary", coalescer.findById(1L, () -> 0L).value().orElseThrow().getName());
+        } finally {
+            coalescer.close();
+        }
+    }
+
+    @Test
+    void testLaggingOrDownReplicaFallsBackToPrimary() {
+        ReplicaLagMonitor lagging = new ReplicaLagMonitor(replica, "select 10", Duration.ofSeconds(2));
+        lagging.check();
+        assertFalse(lagging.isReplicaUsable());
+        assertEquals(10_000, lagging.lagMillis());
+
+        ReplicaLagMonitor down = new ReplicaLagMonitor(replica, "select missing_column from marker", Duration.ofSeconds(2));
+        down.check();
+        assertFalse(down.isReplicaUsable());
+        assertEquals(-1, down.lagMillis());
+
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(database("users-primary"), replica, lagging));
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        tx.setReadOnly(true);
+        assertEquals("users-primary", tx.execute(status -> new JdbcTemplate(routing).queryForObject("select name from marker", String.class)));
+    }
+
+    @Test
+    void testUserUpdateMakesTheClientStickToPrimary() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+
+        MockHttpServletResponse putResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/users/1"), putResponse, recordingChain(primaryRequired));
+        Cookie cookie = putResponse.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertTrue(primaryRequired.get());
+        assertFalse(ReadYourWrites.primaryRequired());
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/users/1");
+        get.setCookies(cookie);
+        primaryRequired.set(false);
+        filter.doFilter(get, new MockHttpServletResponse(), recordingChain(primaryRequired));
+        assertTrue(primaryRequired.get());
+
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/users/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, "1"));
+        filter.doFilter(expired, new MockHttpServletResponse(), recordingChain(primaryRequired));
+        assertFalse(primaryRequired.get());
+    }
+
+    // records whether the request reached the application marked for the primary
+    private static MockFilterChain recordingChain(AtomicBoolean primaryRequired) {
+        return new MockFilterChain(new HttpServlet() { },
+                (request, response, chain) -> primaryRequired.set(ReadYourWrites.primaryRequired()));
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists marker (name varchar(20))");
+        jdbc.update("delete from marker");
+        jdbc.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+}
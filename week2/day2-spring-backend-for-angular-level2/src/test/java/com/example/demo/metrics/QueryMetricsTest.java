@@ -0,0 +1,70 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryMetricsInterceptor interceptor = new QueryMetricsInterceptor(registry);
+
+    @Test
+    void testStatementsAreRecordedPerEndpoint() {
+        request("/api/users/{id}", 1_000_000L);
+        request("/api/users/{id}", 1_000_000L, 2_000_000L);
+        request("/api/users/batch-get", 5_000_000L);
+
+        DistributionSummary queries = registry.get("jpa.queries").tag("uri", "/api/users/{id}").summary();
+        assertEquals(2, queries.count());
+        assertEquals(3, queries.totalAmount());
+        Timer time = registry.get("jpa.query.time").tag("uri", "/api/users/{id}").timer();
+        assertEquals(4, time.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, registry.get("jpa.queries").tag("uri", "/api/users/batch-get").summary().count());
+    }
+
+    @Test
+    void testStatementsOutsideARequestAreNotCounted() throws Exception {
+        // a coalesced lookup: the batch loader thread queries while the request thread waits
+        Thread batchLoader = new Thread(() -> new QueryMetricsListener().jdbcExecuteStatementEnd(), "users-batch-loader");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        batchLoader.start();
+        batchLoader.join();
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertEquals(0, registry.get("jpa.queries").tag("uri", "/api/users/{id}").summary().totalAmount());
+    }
+
+    @Test
+    void testUnmatchedRequestsShareOneMeter() {
+        request(null, 1_000_000L);
+        request(null, 1_000_000L);
+
+        assertEquals(2, registry.get("jpa.queries").tag("uri", "UNKNOWN").summary().count());
+    }
+
+    private void request(String pattern, long... statementNanos) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        if (pattern != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        for (long nanos : statementNanos) {
+            RequestQueryStats.current().record(nanos);
+        }
+        interceptor.afterCompletion(request, response, new Object(), null);
+    }
+}
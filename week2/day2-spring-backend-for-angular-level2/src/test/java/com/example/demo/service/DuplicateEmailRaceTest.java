@@ -0,0 +1,100 @@
+package com.example.demo.service;
+
+import com.example.demo.cache.EmailBloomFilter;
+import com.example.demo.cache.InProcessInvalidationTransport;
+import com.example.demo.cache.UserCache;
+import com.example.demo.concurrent.UserLookupCoalescer;
+import com.example.demo.dao.UserDaoImpl;
+import com.example.demo.exception.DuplicateEmailException;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+// H2 in place of Postgres: each updateUser runs in its own transaction, as in production
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UserServiceImpl.class, UserCache.class, InProcessInvalidationTransport.class, EmailBloomFilter.class,
+        UserLookupCoalescer.class, DuplicateEmailRaceTest.RacingUserDao.class})
+class DuplicateEmailRaceTest {
+
+    // both updates pass the existence check before either one writes
+    static class RacingUserDao extends UserDaoImpl {
+
+        private final CyclicBarrier checked = new CyclicBarrier(2);
+
+        RacingUserDao(UserRepository userRepository) {
+            super(userRepository);
+        }
+
+        @Override
+        public boolean existsByEmail(String email) {
+            boolean exists = super.existsByEmail(email);
+            try {
+                checked.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return exists;
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentUpdatesToOneEmailAnswerConflict() throws Exception {
+        User alice = userRepository.save(new User(null, "Alice", "alice@example.com"));
+        User bob = userRepository.save(new User(null, "Bob", "bob@example.com"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<User>> updates;
+        try {
+            updates = List.of(
+                    executor.submit(() -> userService.updateUser(alice.getId(), new User(null, "Alice", "shared@example.com"))),
+                    executor.submit(() -> userService.updateUser(bob.getId(), new User(null, "Bob", "Shared@Example.com"))));
+        } finally {
+            executor.shutdown();
+        }
+        int updated = 0;
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<User> update : updates) {
+            try {
+                update.get(10, TimeUnit.SECONDS);
+                updated++;
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+
+        assertEquals(1, updated);
+        assertEquals(1, failures.size());
+        assertInstanceOf(DuplicateEmailException.class, failures.get(0));
+        assertEquals(1, userRepository.findAll().stream().filter(user -> user.getEmail().equals("shared@example.com")).count());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.sqllog;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlLoggingTest {
+
+    private static final String BY_ID = "select id, name, email from users where id = ?";
+
+    private final ConcurrentLinkedQueue<SqlLogger.Entry> logged = new ConcurrentLinkedQueue<>();
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:users-sql-log;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists users (id bigint primary key, name varchar(255), email varchar(255))");
+            statement.execute("delete from users");
+            statement.execute("insert into users values (1, 'Ismail', 'ismail@example.com'), (2, 'Sara', 'sara@example.com')");
+        }
+    }
+
+    @Test
+    void testEmailsAreNeverLogged() throws Exception {
+        SqlLogger sqlLogger = new SqlLogger(1.0, Duration.ofHours(1), 100, 64, logged::add);
+
+        sqlLogger.requestStarted("UserController#getByEmail");
+        try (Connection connection = new InspectingDataSource(h2, sqlLogger).getConnection();
+             PreparedStatement select = connection.prepareStatement("select id from users where email = ?")) {
+            select.setString(1, "ismail@example.com");
+            select.executeQuery().close();
+        }
+        sqlLogger.requestFinished();
+        sqlLogger.close();
+
+        SqlLogger.Entry entry = logged.peek();
+        assertEquals(SqlLogger.Kind.SAMPLED, entry.kind());
+        assertEquals(1, entry.binds());
+        assertEquals("UserController#getByEmail", entry.handler());
+        assertFalse(entry.toString().contains("ismail@example.com"));
+    }
+
+    @Test
+    void testUsersLoadedOneByOneAreReportedAsNPlusOne() throws Exception {
+        SqlLogger sqlLogger = new SqlLogger(0.0, Duration.ofHours(1), 2, 64, logged::add);
+
+        sqlLogger.requestStarted("UserController#getAll");
+        try (Connection connection = new InspectingDataSource(h2, sqlLogger).getConnection()) {
+            for (long id = 1; id <= 2; id++) {
+                try (PreparedStatement select = connection.prepareStatement(BY_ID)) {
+                    select.setLong(1, id);
+                    select.executeQuery().close();
+                }
+            }
+        }
+        sqlLogger.requestFinished();
+        sqlLogger.close();
+
+        SqlLogger.Entry entry = logged.peek();
+        assertEquals(SqlLogger.Kind.N_PLUS_ONE, entry.kind());
+        assertEquals(2, entry.executions());
+        assertEquals(BY_ID, entry.sql());
+        assertEquals("UserController#getAll", entry.handler());
+    }
+
+    @Test
+    void testBatchLoaderStatementsAreAttributedToTheirThread() throws Exception {
+        SqlLogger sqlLogger = new SqlLogger(0.0, Duration.ZERO, 2, 64, logged::add);
+        InspectingDataSource dataSource = new InspectingDataSource(h2, sqlLogger);
+
+        Thread batchLoader = new Thread(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                for (int i = 0; i < 3; i++) {
+                    connection.createStatement().executeQuery("select id, name, email from users where id in (1, 2)").close();
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }, "users-batch-loader");
+        batchLoader.start();
+        batchLoader.join();
+        sqlLogger.close();
+
+        // slow, but no request was running: no N_PLUS_ONE entry
+        assertEquals(3, logged.size());
+        assertTrue(logged.stream().allMatch(entry -> entry.kind() == SqlLogger.Kind.SLOW
+                && entry.handler().equals("users-batch-loader")));
+    }
+
+    @Test
+    void testFullRingDropsInsteadOfBlocking() {
+        // sql-log.buffer-size is rounded up to a power of two
+        RingBuffer<Integer> ring = new RingBuffer<>(3);
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertNull(ring.poll());
+    }
+}
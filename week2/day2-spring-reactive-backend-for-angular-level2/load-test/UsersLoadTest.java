@@ -0,0 +1,157 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Side-by-side load test of the blocking (JPA) and reactive (R2DBC) users APIs.
+ *
+ * Usage (both apps running, pids used to sample resident memory from /proc):
+ *   java load-test/UsersLoadTest.java http://localhost:8080 <blocking-pid> http://localhost:8083 <reactive-pid>
+ *
+ * Every virtual thread is one client issuing GET /api/users and GET /api/users/search?q=a in a loop.
+ * For each concurrency level the report prints throughput, latency percentiles, errors and peak RSS.
+ */
+public class UsersLoadTest {
+
+    private static final int[] CONCURRENCY = {64, 256, 1024, 4096};
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration RUN = Duration.ofSeconds(30);
+
+    record Target(String name, String baseUrl, long pid) { }
+
+    record Result(String target, int clients, long requests, long errors, double throughput,
+                  double p50, double p99, double p999, long peakRssKb) { }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: UsersLoadTest <blocking-url> <blocking-pid> <reactive-url> <reactive-pid>");
+            System.exit(1);
+        }
+        List<Target> targets = List.of(
+                new Target("blocking", args[0], Long.parseLong(args[1])),
+                new Target("reactive", args[2], Long.parseLong(args[3])));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        List<Result> results = new ArrayList<>();
+        for (Target target : targets) {
+            run(client, target, 64, WARMUP);
+            for (int clients : CONCURRENCY) {
+                results.add(run(client, target, clients, RUN));
+            }
+        }
+
+        System.out.printf("%-9s %7s %10s %8s %10s %9s %9s %9s %12s%n",
+                "target", "clients", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "peak RSS MB");
+        for (Result r : results) {
+            System.out.printf("%-9s %7d %10d %8d %10.0f %9.2f %9.2f %9.2f %12.1f%n",
+                    r.target(), r.clients(), r.requests(), r.errors(), r.throughput(),
+                    r.p50(), r.p99(), r.p999(), r.peakRssKb() / 1024.0);
+        }
+    }
+
+    private static Result run(HttpClient client, Target target, int clients, Duration duration) throws Exception {
+        URI[] uris = {
+                URI.create(target.baseUrl() + "/api/users"),
+                URI.create(target.baseUrl() + "/api/users/search?q=a")
+        };
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+
+        AtomicLong peakRss = new AtomicLong(rssKb(target.pid()));
+        Thread sampler = Thread.ofVirtual().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakRss.accumulateAndGet(rssKb(target.pid()), Math::max);
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int clientIndex = c;
+                executor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(uris[n & 1])
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = System.nanoTime() - t0;
+                    }
+                    latencies[clientIndex] = samples;
+                    counts[clientIndex] = n;
+                    return null;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        sampler.interrupt();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(target.name(), clients, total, errors.get(), total / (elapsed / 1e9),
+                percentileMillis(all, 0.50), percentileMillis(all, 0.99), percentileMillis(all, 0.999),
+                peakRss.get());
+    }
+
+    private static double percentileMillis(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    // VmRSS of the server process; 0 when /proc is not available (non-Linux)
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (Exception ignored) {
+            // process gone or not on Linux
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.Locale;
+
+// same "users" table and JSON shape as the blocking JPA module
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("users")
+public class User {
+    @Id
+    private Long id;
+
+    private String name;
+    private String email;
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
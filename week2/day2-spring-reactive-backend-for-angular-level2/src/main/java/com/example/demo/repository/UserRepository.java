@@ -0,0 +1,11 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.User;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface UserRepository extends ReactiveCrudRepository<User, Long> {
+    Flux<User> findByNameContainingIgnoreCase(String name);
+    Mono<User> findByEmail(String email);
+}
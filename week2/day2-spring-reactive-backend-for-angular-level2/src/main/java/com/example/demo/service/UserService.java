@@ -0,0 +1,15 @@
+package com.example.demo.service;
+
+import com.example.demo.model.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface UserService {
+    Flux<User> getAllUsers();
+    Mono<User> getUserById(Long id);
+    Mono<User> getUserByEmail(String email);
+    Mono<User> createUser(User user);
+    Mono<User> updateUser(Long id, User user);
+    Mono<Void> deleteUser(Long id);
+    Flux<User> searchByName(String name);
+}
@@ -0,0 +1,80 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.DuplicateEmailException;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class UserServiceImpl implements UserService {
+
+    private final UserRepository userRepository;
+    private final int prefetch;
+
+    public UserServiceImpl(UserRepository userRepository,
+                           @Value("${users.stream.prefetch:256}") int prefetch) {
+        this.userRepository = userRepository;
+        this.prefetch = prefetch;
+    }
+
+    // limitRate: rows are requested from the driver in batches, following the client's demand
+    @Override
+    public Flux<User> getAllUsers() {
+        return userRepository.findAll().limitRate(prefetch);
+    }
+
+    @Override
+    public Mono<User> getUserById(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User not found with id " + id)));
+    }
+
+    @Override
+    public Mono<User> getUserByEmail(String email) {
+        return userRepository.findByEmail(User.normalizeEmail(email))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User not found with email " + email)));
+    }
+
+    @Override
+    @Transactional
+    public Mono<User> createUser(User user) {
+        user.setId(null);
+        user.setEmail(User.normalizeEmail(user.getEmail()));
+        return saveUnique(user);
+    }
+
+    @Override
+    @Transactional
+    public Mono<User> updateUser(Long id, User user) {
+        return getUserById(id)
+                .flatMap(existing -> {
+                    existing.setName(user.getName());
+                    existing.setEmail(User.normalizeEmail(user.getEmail()));
+                    return saveUnique(existing);
+                });
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> deleteUser(Long id) {
+        return getUserById(id).flatMap(userRepository::delete);
+    }
+
+    @Override
+    public Flux<User> searchByName(String name) {
+        return userRepository.findByNameContainingIgnoreCase(name).limitRate(prefetch);
+    }
+
+    // the unique constraint on email is the check: answered 409 like the blocking module, not 500
+    private Mono<User> saveUnique(User user) {
+        return userRepository.save(user)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new DuplicateEmailException("User already exists with email " + user.getEmail()));
+    }
+}
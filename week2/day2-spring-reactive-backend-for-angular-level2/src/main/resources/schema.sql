@@ -0,0 +1,6 @@
+create table if not exists users (
+    id bigint generated by default as identity primary key,
+    name varchar(255),
+    email varchar(255),
+    constraint uk_users_email unique (email)
+);
@@ -0,0 +1,52 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.DuplicateEmailException;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private UserRepository userRepository;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = Mockito.mock(UserRepository.class);
+        userService = new UserServiceImpl(userRepository, 256);
+    }
+
+    @Test
+    void testDuplicateEmailOnCreateIsAConflict() {
+        when(userRepository.save(any(User.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("duplicate key value violates unique constraint \"uk_users_email\"")));
+
+        StepVerifier.create(userService.createUser(new User(null, "Ismail", " Ismail@Example.com")))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(DuplicateEmailException.class, e);
+                    assertEquals("User already exists with email ismail@example.com", e.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    void testDuplicateEmailOnUpdateIsAConflict() {
+        when(userRepository.findById(1L)).thenReturn(Mono.just(new User(1L, "Ismail", "ismail@example.com")));
+        when(userRepository.save(any(User.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("duplicate key value violates unique constraint \"uk_users_email\"")));
+
+        StepVerifier.create(userService.updateUser(1L, new User(null, "Ismail", "taken@example.com")))
+                .expectError(DuplicateEmailException.class)
+                .verify();
+    }
+}
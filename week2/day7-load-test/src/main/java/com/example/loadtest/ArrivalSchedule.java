@@ -0,0 +1,62 @@
+package com.example.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Open-model arrival times: requests are sent when they are due, whether or not earlier ones have
+ * completed, so a slow server faces a growing queue exactly as it would with real users (a closed
+ * loop of N threads would instead slow down with the server and hide the problem).
+ * <p>
+ * The rate ramps linearly from 0 to {@code rate} over {@code rampUp} seconds, then stays constant
+ * for {@code duration} seconds. The expected number of arrivals by time t is
+ * {@code L(t) = rate t^2 / (2 rampUp)} during the ramp and {@code rate rampUp / 2 + rate (t - rampUp)}
+ * after it; the k-th arrival is at {@code L^-1(k)} (even spacing), or at {@code L^-1(S_k)} with
+ * {@code S_k} a sum of k unit exponentials for a Poisson process with the same rate profile.
+ */
+public final class ArrivalSchedule {
+
+    private final double rate;
+    private final double rampUp;
+    private final double end;
+    private final double total;
+    private final SplittableRandom random;
+    private double arrivals;
+
+    public ArrivalSchedule(double rate, double rampUpSeconds, double durationSeconds, boolean poisson, long seed) {
+        this.rate = rate;
+        this.rampUp = rampUpSeconds;
+        this.end = rampUpSeconds + durationSeconds;
+        this.total = expectedArrivals(end);
+        this.random = poisson ? new SplittableRandom(seed) : null;
+    }
+
+    /**
+     * @return seconds from the start at which the next request is due, or a negative value once the run is over
+     */
+    public double next() {
+        arrivals += random == null ? 1 : -Math.log(1 - random.nextDouble());
+        return arrivals > total ? -1 : timeOf(arrivals);
+    }
+
+    public boolean inRampUp(double seconds) {
+        return seconds < rampUp;
+    }
+
+    double expectedArrivals(double seconds) {
+        if (seconds <= 0) {
+            return 0;
+        }
+        if (seconds <= rampUp) {
+            return rate * seconds * seconds / (2 * rampUp);
+        }
+        return rate * rampUp / 2 + rate * (seconds - rampUp);
+    }
+
+    private double timeOf(double count) {
+        double rampArrivals = rate * rampUp / 2;
+        if (count <= rampArrivals) {
+            return Math.sqrt(2 * rampUp * count / rate);
+        }
+        return rampUp + (count - rampArrivals) / rate;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes of one request name during the steady phase. Latency is recorded in microseconds from
+ * the time the request was due, not from when it was actually sent, so time spent queueing behind
+ * a slow server counts (no coordinated omission).
+ */
+final class EndpointRecorder {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder noTarget = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    // status 0: no response (timeout, connection refused)
+    void completed(int status, long latencyNanos) {
+        requests.increment();
+        if (status < 200 || status >= 400) {
+            errors.increment();
+        }
+        statuses.computeIfAbsent(status == 0 ? "none" : Integer.toString(status), key -> new LongAdder()).increment();
+        latencies.recordValue(Math.min(MAX_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos))));
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void noTarget() {
+        noTarget.increment();
+    }
+
+    Report.Stats stats(double seconds) {
+        return stats(latencies, requests.sum(), errors.sum(), dropped.sum(), noTarget.sum(), statusCounts(), seconds);
+    }
+
+    static Report.Stats total(Iterable<EndpointRecorder> recorders, double seconds) {
+        Histogram latencies = new Histogram(MAX_MICROS, 3);
+        long requests = 0;
+        long errors = 0;
+        long dropped = 0;
+        long noTarget = 0;
+        Map<String, Long> statuses = new TreeMap<>();
+        for (EndpointRecorder recorder : recorders) {
+            latencies.add(recorder.latencies);
+            requests += recorder.requests.sum();
+            errors += recorder.errors.sum();
+            dropped += recorder.dropped.sum();
+            noTarget += recorder.noTarget.sum();
+            recorder.statusCounts().forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+        return stats(latencies, requests, errors, dropped, noTarget, statuses, seconds);
+    }
+
+    private Map<String, Long> statusCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    private static Report.Stats stats(Histogram latencies, long requests, long errors, long dropped, long noTarget,
+                                      Map<String, Long> statuses, double seconds) {
+        return new Report.Stats(requests, errors, dropped, noTarget,
+                round((requests - errors) / seconds),
+                millis(latencies.getMean()),
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()),
+                new TreeMap<>(statuses));
+    }
+
+    private static double millis(double micros) {
+        return round(micros / 1000);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
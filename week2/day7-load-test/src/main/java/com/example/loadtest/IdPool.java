@@ -0,0 +1,51 @@
+package com.example.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Ids of resources that exist on the server: filled by preloading and by create requests,
+ * drawn at random by requests on {@code /{id}} paths. A delete takes its id out of the pool,
+ * so later requests do not target it (an in-flight read of the same id can still get a 404).
+ */
+final class IdPool {
+
+    private final SplittableRandom random;
+    private long[] ids = new long[1024];
+    private int size;
+
+    IdPool(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    synchronized void add(long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    /**
+     * @return a random id, or -1 when the pool is empty
+     */
+    synchronized long pick() {
+        return size == 0 ? -1 : ids[random.nextInt(size)];
+    }
+
+    /**
+     * Removes and returns a random id, or -1 when the pool is empty.
+     */
+    synchronized long take() {
+        if (size == 0) {
+            return -1;
+        }
+        int index = random.nextInt(size);
+        long id = ids[index];
+        ids[index] = ids[--size];
+        return id;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
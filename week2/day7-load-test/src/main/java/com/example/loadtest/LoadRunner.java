@@ -0,0 +1,173 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Runs a scenario: preloads resources, then sends requests at the times given by the
+ * {@link ArrivalSchedule} from a single dispatcher thread, asynchronously, and collects the
+ * outcomes per request name. Requests due during the ramp-up are sent but not measured.
+ */
+public final class LoadRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Scenario scenario;
+    private final List<RequestTemplate> templates;
+    private final HttpClient client;
+    private final PrintStream out;
+    private final IdPool ids;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rampUpRequests = new LongAdder();
+    private final Map<String, EndpointRecorder> recorders = new LinkedHashMap<>();
+
+    public LoadRunner(Scenario scenario, List<RequestTemplate> templates, HttpClient client, PrintStream out) {
+        this.scenario = scenario;
+        this.templates = templates.stream().filter(template -> !scenario.exclude().contains(template.name())).toList();
+        this.client = client;
+        this.out = out;
+        this.ids = new IdPool(scenario.seed());
+        this.templates.forEach(template -> recorders.put(template.name(), new EndpointRecorder()));
+    }
+
+    public Report run(String label) throws InterruptedException {
+        RequestMix mix = new RequestMix(templates, scenario.weights(), scenario.readRatio());
+        preload();
+        ArrivalSchedule schedule = new ArrivalSchedule(scenario.rate(), scenario.rampUpSeconds(),
+                scenario.durationSeconds(), scenario.poisson(), scenario.seed());
+        SplittableRandom random = new SplittableRandom(scenario.seed());
+        Instant startedAt = Instant.now();
+        out.printf("%s: ramping up to %.0f req/s over %ds, then %ds steady%n",
+                scenario.name(), scenario.rate(), scenario.rampUpSeconds(), scenario.durationSeconds());
+
+        long start = System.nanoTime();
+        for (double at = schedule.next(); at >= 0; at = schedule.next()) {
+            long due = start + (long) (at * 1e9);
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            dispatch(mix.next(random), due, schedule.inRampUp(at));
+        }
+        awaitInFlight();
+
+        Map<String, Report.Stats> endpoints = new TreeMap<>();
+        recorders.forEach((name, recorder) -> endpoints.put(name, recorder.stats(scenario.durationSeconds())));
+        return new Report(scenario.name(), label, startedAt.toString(), scenario.rate(), scenario.rampUpSeconds(),
+                scenario.durationSeconds(), rampUpRequests.sum(),
+                EndpointRecorder.total(recorders.values(), scenario.durationSeconds()), new TreeMap<>(endpoints));
+    }
+
+    private void dispatch(RequestTemplate template, long due, boolean rampUp) {
+        EndpointRecorder recorder = rampUp ? null : recorders.get(template.name());
+        long id = 0;
+        if (template.needsId()) {
+            id = template.method().equals("DELETE") ? ids.take() : ids.pick();
+            if (id < 0) {
+                record(recorder, EndpointRecorder::noTarget);
+                return;
+            }
+        }
+        if (inFlight.get() >= scenario.maxInFlight()) {
+            record(recorder, EndpointRecorder::dropped);
+            return;
+        }
+        inFlight.incrementAndGet();
+        if (rampUp) {
+            rampUpRequests.increment();
+        }
+        // only create responses are read (for the new id); other bodies are discarded as they arrive
+        HttpRequest request = request(template, id);
+        CompletableFuture<? extends HttpResponse<?>> sent = template.createsResource()
+                ? client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                : client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        sent.whenComplete((response, failure) -> {
+            long latency = System.nanoTime() - due;
+            inFlight.decrementAndGet();
+            int status = response == null ? 0 : response.statusCode();
+            if (recorder != null) {
+                recorder.completed(status, latency);
+            }
+            if (template.createsResource() && status >= 200 && status < 300) {
+                collectId((String) response.body());
+            }
+        });
+    }
+
+    private HttpRequest request(RequestTemplate template, long id) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(scenario.baseUrl() + template.path(id)))
+                .timeout(Duration.ofMillis(scenario.timeoutMillis()))
+                .method(template.method(), template.body() == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(template.body()));
+        template.headers().forEach(builder::header);
+        return builder.build();
+    }
+
+    // sequential creates before the clock starts, so the first id-based requests have targets
+    private void preload() throws InterruptedException {
+        if (scenario.preload() <= 0 || templates.stream().noneMatch(RequestTemplate::needsId)) {
+            return;
+        }
+        RequestTemplate create = templates.stream().filter(RequestTemplate::createsResource).findFirst().orElse(null);
+        if (create == null) {
+            out.println("No create (POST) request in the collection: requests on /{id} paths will have no targets");
+            return;
+        }
+        for (int i = 0; i < scenario.preload(); i++) {
+            try {
+                HttpResponse<String> response = client.send(request(create, 0), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() >= 300) {
+                    throw new IllegalStateException("Preload request '" + create.name() + "' answered " + response.statusCode());
+                }
+                collectId(response.body());
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot preload through " + scenario.baseUrl() + ": is the application running?", e);
+            }
+        }
+        out.printf("Preloaded %d resources with '%s'%n", ids.size(), create.name());
+    }
+
+    private void collectId(String body) {
+        try {
+            JsonNode id = MAPPER.readTree(body).path("id");
+            if (id.canConvertToLong()) {
+                ids.add(id.asLong());
+            }
+        } catch (IOException | RuntimeException e) {
+            // not JSON or no id: nothing to target later
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scenario.timeoutMillis() + 1000L);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void record(EndpointRecorder recorder, Consumer<EndpointRecorder> outcome) {
+        if (recorder != null) {
+            outcome.accept(recorder);
+        }
+    }
+}
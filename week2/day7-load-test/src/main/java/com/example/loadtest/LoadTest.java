@@ -0,0 +1,87 @@
+package com.example.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line:
+ * <pre>
+ * run  &lt;scenario.json&gt; [--out=report.json] [--label=commit] [--rate=..] [--ramp-up=..] [--duration=..]
+ *      [--read-ratio=..] [--poisson=true] [--base-url=..] [--preload=..] [--max-in-flight=..] [--seed=..]
+ * diff &lt;baseline.json&gt; &lt;current.json&gt; [--threshold=0.10]   (exit code 1 on regression)
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<String> positional = new ArrayList<>();
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                positional.add(arg);
+            }
+        }
+        String command = positional.isEmpty() ? "" : positional.get(0);
+        switch (command) {
+            case "run" -> {
+                requireArguments(positional, 2);
+                run(Path.of(positional.get(1)), options);
+            }
+            case "diff" -> {
+                requireArguments(positional, 3);
+                double threshold = Double.parseDouble(options.getOrDefault("threshold", "0.10"));
+                List<ReportDiff.Change> changes = ReportDiff.compare(
+                        Report.read(Path.of(positional.get(1))), Report.read(Path.of(positional.get(2))), threshold);
+                System.out.print(ReportDiff.format(changes));
+                if (changes.stream().anyMatch(ReportDiff.Change::regression)) {
+                    System.exit(1);
+                }
+            }
+            default -> usage();
+        }
+    }
+
+    private static void run(Path scenarioFile, Map<String, String> options) throws IOException, InterruptedException {
+        Scenario scenario = Scenario.load(scenarioFile).with(options);
+        Path collection = scenarioFile.toAbsolutePath().getParent().resolve(scenario.collection()).normalize();
+        List<RequestTemplate> templates = PostmanCollection.load(collection, scenario.variables());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(scenario.timeoutMillis()))
+                .build();
+
+        String label = options.getOrDefault("label", "");
+        Report report = new LoadRunner(scenario, templates, client, System.out).run(label);
+        Path out = Path.of(options.getOrDefault("out", "reports/%s-%s.json".formatted(scenario.name(),
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")))));
+        report.write(out);
+
+        Report.Stats total = report.total();
+        System.out.printf("%d requests, %.1f ok/s, errors %d, dropped %d | p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                total.requests(), total.throughput(), total.errors(), total.dropped(),
+                total.p50Millis(), total.p90Millis(), total.p99Millis(), total.p999Millis(), total.maxMillis());
+        System.out.println("Report written to " + out);
+    }
+
+    private static void requireArguments(List<String> positional, int count) {
+        if (positional.size() < count) {
+            usage();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("usage: run <scenario.json> [--out=report.json] [--label=text] [--rate=N] [--ramp-up=s] [--duration=s] [--read-ratio=r]");
+        System.err.println("       diff <baseline.json> <current.json> [--threshold=0.10]");
+        System.exit(2);
+    }
+}
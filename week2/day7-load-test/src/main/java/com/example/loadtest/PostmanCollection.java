@@ -0,0 +1,113 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Reads Postman collections (schema v2.0 and v2.1, nested folders included) into request templates.
+ * Host and port are dropped (the scenario sets the base URL), {@code {{variables}}} are replaced
+ * from the scenario, and {@code //} comment lines in raw bodies (used in the repo's collections to
+ * keep alternative payloads) are removed.
+ */
+public final class PostmanCollection {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|\\?|$)");
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{([^}]+)}}");
+
+    private PostmanCollection() {
+    }
+
+    public static List<RequestTemplate> load(Path file, Map<String, String> variables) throws IOException {
+        return parse(MAPPER.readTree(file.toFile()), variables);
+    }
+
+    static List<RequestTemplate> parse(JsonNode collection, Map<String, String> variables) {
+        List<RequestTemplate> templates = new ArrayList<>();
+        collect(collection.path("item"), variables, templates);
+        // names key weights and report entries: "/api/hello" used for GET and POST becomes "/api/hello [GET]", ...
+        Map<String, Long> counts = templates.stream().collect(Collectors.groupingBy(RequestTemplate::name, Collectors.counting()));
+        return templates.stream()
+                .map(t -> counts.get(t.name()) == 1 ? t
+                        : new RequestTemplate(t.name() + " [" + t.method() + "]", t.method(), t.path(), t.body(), t.headers()))
+                .toList();
+    }
+
+    private static void collect(JsonNode items, Map<String, String> variables, List<RequestTemplate> templates) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.get("item"), variables, templates); // folder
+            } else if (item.has("request")) {
+                templates.add(toTemplate(item.path("name").asText(), item.get("request"), variables));
+            }
+        }
+    }
+
+    private static RequestTemplate toTemplate(String name, JsonNode request, Map<String, String> variables) {
+        String method = request.path("method").asText("GET").toUpperCase();
+        JsonNode url = request.path("url");
+        String raw = url.isTextual() ? url.asText() : url.path("raw").asText();
+        String path = NUMERIC_SEGMENT.matcher(pathOf(substitute(withoutHostVariable(raw), variables)))
+                .replaceAll("/" + RequestTemplate.ID);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (JsonNode header : request.path("header")) {
+            if (!header.path("disabled").asBoolean(false)) {
+                headers.put(header.path("key").asText(), substitute(header.path("value").asText(), variables));
+            }
+        }
+        String body = null;
+        JsonNode rawBody = request.path("body").path("raw");
+        if (rawBody.isTextual()) {
+            body = substitute(stripComments(rawBody.asText()), variables);
+            if (body.isEmpty()) {
+                body = null;
+            } else if (headers.keySet().stream().noneMatch("Content-Type"::equalsIgnoreCase)
+                    && request.path("body").path("options").path("raw").path("language").asText("json").equals("json")) {
+                headers.put("Content-Type", "application/json");
+            }
+        }
+        return new RequestTemplate(name, method, path, body, Map.copyOf(headers));
+    }
+
+    // "http://localhost:8080/api/notes/1?x=y" -> "/api/notes/1?x=y"
+    static String pathOf(String raw) {
+        String url = raw.contains("://") ? raw : "http://placeholder" + (raw.startsWith("/") ? "" : "/") + raw;
+        URI uri = URI.create(url.replace(" ", "%20"));
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+    }
+
+    // "{{baseUrl}}/api/notes": the scenario's base URL takes the variable's place
+    private static String withoutHostVariable(String raw) {
+        return raw.startsWith("{{") && raw.contains("}}") ? raw.substring(raw.indexOf("}}") + 2) : raw;
+    }
+
+    static String stripComments(String body) {
+        return body.lines()
+                .filter(line -> !line.strip().startsWith("//"))
+                .collect(Collectors.joining("\n"))
+                .strip();
+    }
+
+    private static String substitute(String text, Map<String, String> variables) {
+        return VARIABLE.matcher(text).replaceAll(match -> {
+            String value = variables.get(match.group(1));
+            if (value == null) {
+                throw new IllegalArgumentException("Collection variable {{" + match.group(1) + "}} is not set in the scenario");
+            }
+            return Matcher.quoteReplacement(value);
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SortedMap;
+
+/**
+ * Result of one run, written as JSON with sorted keys so two reports (e.g. from two commits) diff
+ * cleanly, line by line or with {@code LoadTest diff}. Latencies are in milliseconds and cover the
+ * steady phase only; throughput is successful responses per second over that phase.
+ *
+ * @param label free text identifying the build under test, typically the commit id
+ */
+public record Report(String scenario, String label, String startedAt, double targetRate, int rampUpSeconds,
+                     int durationSeconds, long rampUpRequests, Stats total, SortedMap<String, Stats> endpoints) {
+
+    /**
+     * @param dropped  arrivals not sent because {@code maxInFlight} requests were outstanding
+     * @param noTarget arrivals for {@code /{id}} requests while no resource id was known
+     * @param statuses response count per HTTP status ("none" when no response arrived)
+     */
+    public record Stats(long requests, long errors, long dropped, long noTarget, double throughput,
+                        double meanMillis, double p50Millis, double p90Millis, double p99Millis,
+                        double p999Millis, double maxMillis, SortedMap<String, Long> statuses) {
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    public static Report read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), Report.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two reports endpoint by endpoint. A change is a regression when p50 or p99 latency grows
+ * by more than {@code threshold} (and by at least {@link #MIN_LATENCY_DELTA_MILLIS}, so sub-millisecond
+ * noise on fast endpoints does not fail a build), when throughput drops by more than
+ * {@code threshold}, or when the error rate grows by more than {@link #MAX_ERROR_RATE_INCREASE}.
+ */
+public final class ReportDiff {
+
+    static final double MIN_LATENCY_DELTA_MILLIS = 1.0;
+    static final double MAX_ERROR_RATE_INCREASE = 0.01;
+
+    public record Change(String endpoint, String metric, double baseline, double current, boolean regression) {
+
+        public double relative() {
+            return baseline == 0 ? (current == 0 ? 0 : Double.POSITIVE_INFINITY) : (current - baseline) / baseline;
+        }
+    }
+
+    private ReportDiff() {
+    }
+
+    public static List<Change> compare(Report baseline, Report current, double threshold) {
+        Map<String, Report.Stats> before = new TreeMap<>(baseline.endpoints());
+        Map<String, Report.Stats> after = new TreeMap<>(current.endpoints());
+        before.put("TOTAL", baseline.total());
+        after.put("TOTAL", current.total());
+
+        List<Change> changes = new ArrayList<>();
+        before.forEach((endpoint, old) -> {
+            Report.Stats now = after.get(endpoint);
+            if (now == null || old.requests() == 0 || now.requests() == 0) {
+                return; // not exercised in one of the runs: nothing to compare
+            }
+            changes.add(latency(endpoint, "p50 ms", old.p50Millis(), now.p50Millis(), threshold));
+            changes.add(latency(endpoint, "p99 ms", old.p99Millis(), now.p99Millis(), threshold));
+            changes.add(new Change(endpoint, "throughput/s", old.throughput(), now.throughput(),
+                    now.throughput() < old.throughput() * (1 - threshold)));
+            changes.add(new Change(endpoint, "error rate", old.errorRate(), now.errorRate(),
+                    now.errorRate() - old.errorRate() > MAX_ERROR_RATE_INCREASE));
+        });
+        return changes;
+    }
+
+    public static String format(List<Change> changes) {
+        StringBuilder table = new StringBuilder(String.format("%-32s %-13s %12s %12s %9s%n",
+                "endpoint", "metric", "baseline", "current", "change"));
+        for (Change change : changes) {
+            table.append(String.format("%-32s %-13s %12.3f %12.3f %+8.1f%%%s%n",
+                    change.endpoint(), change.metric(), change.baseline(), change.current(),
+                    change.relative() * 100, change.regression() ? "  REGRESSION" : ""));
+        }
+        return table.toString();
+    }
+
+    private static Change latency(String endpoint, String metric, double before, double after, double threshold) {
+        boolean regression = after > before * (1 + threshold) && after - before >= MIN_LATENCY_DELTA_MILLIS;
+        return new Change(endpoint, metric, before, after, regression);
+    }
+}
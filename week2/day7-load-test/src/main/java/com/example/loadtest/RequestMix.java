@@ -0,0 +1,64 @@
+package com.example.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Draws the next request: first reads or writes according to the read ratio, then one request of
+ * that kind by weight. Without a read ratio, all requests are drawn by weight alone.
+ */
+final class RequestMix {
+
+    private final Weighted reads;
+    private final Weighted writes;
+    private final Weighted all;
+    private final Double readRatio;
+
+    RequestMix(List<RequestTemplate> templates, Map<String, Double> weights, Double readRatio) {
+        List<RequestTemplate> weighted = templates.stream()
+                .filter(template -> weights.getOrDefault(template.name(), 1.0) > 0)
+                .toList();
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("No request left to send: check the scenario's weights and exclude list");
+        }
+        this.reads = Weighted.of(weighted.stream().filter(RequestTemplate::isRead).toList(), weights);
+        this.writes = Weighted.of(weighted.stream().filter(template -> !template.isRead()).toList(), weights);
+        this.all = Weighted.of(weighted, weights);
+        // a mix with only reads (or only writes) cannot honour a ratio
+        this.readRatio = reads == null || writes == null ? null : readRatio;
+    }
+
+    RequestTemplate next(SplittableRandom random) {
+        if (readRatio == null) {
+            return all.next(random);
+        }
+        return random.nextDouble() < readRatio ? reads.next(random) : writes.next(random);
+    }
+
+    private record Weighted(RequestTemplate[] templates, double[] cumulative) {
+
+        static Weighted of(List<RequestTemplate> templates, Map<String, Double> weights) {
+            if (templates.isEmpty()) {
+                return null;
+            }
+            double[] cumulative = new double[templates.size()];
+            double sum = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                sum += weights.getOrDefault(templates.get(i).name(), 1.0);
+                cumulative[i] = sum;
+            }
+            return new Weighted(templates.toArray(RequestTemplate[]::new), cumulative);
+        }
+
+        RequestTemplate next(SplittableRandom random) {
+            double point = random.nextDouble() * cumulative[cumulative.length - 1];
+            for (int i = 0; i < cumulative.length; i++) {
+                if (point < cumulative[i]) {
+                    return templates[i];
+                }
+            }
+            return templates[templates.length - 1];
+        }
+    }
+}
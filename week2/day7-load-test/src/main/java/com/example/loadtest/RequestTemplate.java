@@ -0,0 +1,30 @@
+package com.example.loadtest;
+
+import java.util.Map;
+
+/**
+ * One request of a Postman collection, relative to the scenario's base URL. Numeric path segments
+ * of the recorded URL ({@code /api/notes/1}) become {@code {id}} and are filled at run time with
+ * ids of resources created during the run, so reads, updates and deletes hit existing rows.
+ */
+public record RequestTemplate(String name, String method, String path, String body, Map<String, String> headers) {
+
+    static final String ID = "{id}";
+
+    public boolean isRead() {
+        return method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS");
+    }
+
+    public boolean needsId() {
+        return path.contains(ID);
+    }
+
+    // a POST to a collection path: its response carries the id of a new resource
+    public boolean createsResource() {
+        return method.equals("POST") && !needsId();
+    }
+
+    public String path(long id) {
+        return path.replace(ID, Long.toString(id));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A load profile over one Postman collection (see scenarios/*.json).
+ *
+ * @param collection      collection file, relative to the scenario file
+ * @param rate            target arrival rate in requests per second, reached at the end of the ramp-up
+ * @param rampUpSeconds   linear ramp from 0 to {@code rate}; excluded from the latency statistics
+ * @param durationSeconds steady phase at {@code rate}, the measured window
+ * @param readRatio       share of GET requests; null to draw from all requests by weight alone
+ * @param poisson         exponential inter-arrival times (bursty, like real users) instead of even spacing
+ * @param preload         resources created before the run so id-based requests have targets
+ * @param maxInFlight     above this many outstanding requests, new arrivals are counted as dropped
+ *                        (the client, not the server, would otherwise become the bottleneck)
+ * @param weights         relative weight per request name (default 1)
+ * @param exclude         request names left out
+ * @param variables       values for {{variables}} used in the collection
+ */
+public record Scenario(String name, String collection, String baseUrl, double rate, int rampUpSeconds,
+                       int durationSeconds, Double readRatio, boolean poisson, int preload, int maxInFlight,
+                       int timeoutMillis, long seed, Map<String, Double> weights, List<String> exclude,
+                       Map<String, String> variables) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+
+    public Scenario {
+        if (rate <= 0 || durationSeconds <= 0 || rampUpSeconds < 0) {
+            throw new IllegalArgumentException("Scenario " + name + ": rate and duration must be positive, ramp-up not negative");
+        }
+        if (readRatio != null && (readRatio < 0 || readRatio > 1)) {
+            throw new IllegalArgumentException("Scenario " + name + ": readRatio must be within [0, 1]");
+        }
+        baseUrl = baseUrl == null ? "http://localhost:8080" : baseUrl.replaceAll("/+$", "");
+        maxInFlight = maxInFlight <= 0 ? 1000 : maxInFlight;
+        timeoutMillis = timeoutMillis <= 0 ? 5000 : timeoutMillis;
+        weights = weights == null ? Map.of() : Map.copyOf(weights);
+        exclude = exclude == null ? List.of() : List.copyOf(exclude);
+        variables = variables == null ? Map.of() : Map.copyOf(variables);
+    }
+
+    public static Scenario load(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), Scenario.class);
+    }
+
+    /**
+     * Command-line overrides ({@code --rate=500 --duration=120 --read-ratio=0.5 ...}), so one
+     * scenario file can be swept over several load levels.
+     */
+    public Scenario with(Map<String, String> overrides) {
+        return new Scenario(name,
+                collection,
+                overrides.getOrDefault("base-url", baseUrl),
+                overrides.containsKey("rate") ? Double.parseDouble(overrides.get("rate")) : rate,
+                overrides.containsKey("ramp-up") ? Integer.parseInt(overrides.get("ramp-up")) : rampUpSeconds,
+                overrides.containsKey("duration") ? Integer.parseInt(overrides.get("duration")) : durationSeconds,
+                overrides.containsKey("read-ratio") ? Double.valueOf(overrides.get("read-ratio")) : readRatio,
+                overrides.containsKey("poisson") ? Boolean.parseBoolean(overrides.get("poisson")) : poisson,
+                overrides.containsKey("preload") ? Integer.parseInt(overrides.get("preload")) : preload,
+                overrides.containsKey("max-in-flight") ? Integer.parseInt(overrides.get("max-in-flight")) : maxInFlight,
+                overrides.containsKey("timeout") ? Integer.parseInt(overrides.get("timeout")) : timeoutMillis,
+                overrides.containsKey("seed") ? Long.parseLong(overrides.get("seed")) : seed,
+                weights, exclude, variables);
+    }
+}
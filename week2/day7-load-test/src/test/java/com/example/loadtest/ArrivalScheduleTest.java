@@ -0,0 +1,53 @@
+package com.example.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArrivalScheduleTest {
+
+    @Test
+    public void testEvenArrivalsFollowTheRamp() {
+        // 100 req/s after a 10 s ramp, then 20 s steady: 500 + 2000 arrivals
+        ArrivalSchedule schedule = new ArrivalSchedule(100, 10, 20, false, 1);
+        int rampUp = 0;
+        int total = 0;
+        double previous = 0;
+        for (double at = schedule.next(); at >= 0; at = schedule.next()) {
+            assertTrue(at >= previous);
+            previous = at;
+            total++;
+            if (schedule.inRampUp(at)) {
+                rampUp++;
+            }
+        }
+        assertEquals(2500, total);
+        assertEquals(500, rampUp, 1);
+        assertEquals(30, previous, 0.01);
+    }
+
+    @Test
+    public void testSteadyRateIsConstantWithoutRamp() {
+        ArrivalSchedule schedule = new ArrivalSchedule(50, 0, 2, false, 1);
+        assertEquals(0.02, schedule.next(), 1e-9);
+        assertEquals(0.04, schedule.next(), 1e-9);
+    }
+
+    @Test
+    public void testPoissonArrivalsMatchTheRateOnAverage() {
+        ArrivalSchedule schedule = new ArrivalSchedule(1000, 5, 60, true, 42);
+        int total = 0;
+        int firstSecond = 0;
+        for (double at = schedule.next(); at >= 0; at = schedule.next()) {
+            total++;
+            if (at < 1) {
+                firstSecond++;
+            }
+        }
+        // expected 2500 + 60000; a Poisson count has a standard deviation of sqrt(n) ~ 250
+        assertEquals(62_500, total, 1_500);
+        // 1000 t^2 / 10 -> 100 arrivals in the first second of the ramp
+        assertEquals(100, firstSecond, 40);
+    }
+}
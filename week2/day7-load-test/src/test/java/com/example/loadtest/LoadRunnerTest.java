@@ -0,0 +1,79 @@
+package com.example.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadRunnerTest {
+
+    private HttpServer server;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<String> requestedIds = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        // a tiny notes API: POST returns a new id, GET /api/notes/{id} records the id it was asked for
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/api/notes", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = new byte[0];
+            if (exchange.getRequestMethod().equals("POST")) {
+                exchange.getRequestBody().readAllBytes();
+                body = ("{\"id\": " + sequence.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8);
+            } else if (path.startsWith("/api/notes/")) {
+                requestedIds.add(path.substring("/api/notes/".length()));
+            }
+            // the JDK server can close a kept-alive connection as the client reuses it; POSTs are not retried
+            exchange.getResponseHeaders().add("Connection", "close");
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testRunHonoursRateMixAndIds() throws InterruptedException {
+        List<RequestTemplate> templates = List.of(
+                new RequestTemplate("create", "POST", "/api/notes", "{\"title\": \"t\"}", Map.of("Content-Type", "application/json")),
+                new RequestTemplate("read", "GET", "/api/notes/{id}", null, Map.of()));
+        Scenario scenario = new Scenario("test", "unused", "http://localhost:" + server.getAddress().getPort(),
+                200, 1, 2, 0.75, false, 10, 100, 2000, 7, null, null, null);
+
+        Report report = new LoadRunner(scenario, templates, HttpClient.newHttpClient(),
+                new PrintStream(new ByteArrayOutputStream())).run("test");
+
+        // 100 arrivals during the ramp, 400 measured
+        assertEquals(100, report.rampUpRequests(), 2);
+        assertEquals(400, report.total().requests(), 2);
+        assertEquals(0, report.total().errors());
+        assertEquals(300, report.endpoints().get("read").requests(), 40);
+        assertEquals(report.total().requests(), report.total().statuses().get("200").longValue());
+        assertTrue(report.total().p99Millis() >= report.total().p50Millis());
+        // reads only target ids handed out by creates (10 preloaded + created during the run)
+        assertTrue(requestedIds.stream().mapToLong(Long::parseLong).allMatch(id -> id >= 1 && id <= sequence.get()));
+    }
+}
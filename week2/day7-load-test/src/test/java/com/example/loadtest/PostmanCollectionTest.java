@@ -0,0 +1,75 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PostmanCollectionTest {
+
+    @Test
+    public void testNotesCollectionBecomesIdTemplates() throws IOException {
+        List<RequestTemplate> templates = PostmanCollection.load(
+                Path.of("../../week1/day6-crud-api-notes/collections for test/notes-rest.postman_collection.json"), Map.of());
+
+        assertEquals(7, templates.size());
+        RequestTemplate create = byName(templates, "create-notes");
+        assertTrue(create.createsResource());
+        assertEquals("/api/notes", create.path());
+        // the alternative payloads kept as // comments are not sent
+        assertEquals("{\n  \"title\": \"Learn Spring Boot\",\n  \"content\": \"Build a REST API using Spring Boot 3.4 and PostgreSQL.\"\n}", create.body());
+        assertEquals("application/json", create.headers().get("Content-Type"));
+
+        RequestTemplate update = byName(templates, "Update Note");
+        assertEquals("/api/notes/{id}", update.path());
+        assertEquals("/api/notes/42", update.path(42));
+        assertFalse(update.isRead());
+        assertEquals("/api/notes/summary", byName(templates, "get summary notes").path());
+        assertNull(byName(templates, "Delete Notes").body());
+    }
+
+    @Test
+    public void testDuplicateNamesAreSuffixedWithTheMethod() throws IOException {
+        List<RequestTemplate> templates = PostmanCollection.load(
+                Path.of("../../week1/day4-rest-hello-level2/collection for Test api/hello-rest.postman_collection.json"), Map.of());
+
+        assertEquals("/api/hello", byName(templates, "/api/hello [GET]").path());
+        assertEquals("POST", byName(templates, "/api/hello [POST]").method());
+        // text segments are not ids; the query string is kept
+        assertEquals("/api/hello/ismail", byName(templates, "/api/hello/{name}").path());
+        assertEquals("/api/greet?name=ismail", byName(templates, "api/greet?name={}").path());
+        // an empty raw body is no body
+        assertNull(byName(templates, "/api/status").body());
+    }
+
+    @Test
+    public void testVariablesAndFolders() throws IOException {
+        String json = """
+                {"item": [{"name": "users", "item": [
+                  {"name": "get user", "request": {"method": "GET", "url": "{{baseUrl}}/api/users/{{userId}}",
+                    "header": [{"key": "X-Client-Id", "value": "{{client}}"}, {"key": "X-Off", "value": "x", "disabled": true}]}}
+                ]}]}""";
+        List<RequestTemplate> templates = PostmanCollection.parse(new ObjectMapper().readTree(json),
+                Map.of("userId", "7", "client", "load-test"));
+
+        assertEquals(1, templates.size());
+        assertEquals("/api/users/{id}", templates.get(0).path());
+        assertEquals(Map.of("X-Client-Id", "load-test"), templates.get(0).headers());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> PostmanCollection.parse(new ObjectMapper().readTree(json), Map.of()));
+    }
+
+    private static RequestTemplate byName(List<RequestTemplate> templates, String name) {
+        return templates.stream().filter(t -> t.name().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReportDiffTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testLatencyRegressionIsFlagged() {
+        Report baseline = report(stats(1000, 0, 500, 5.0, 40.0));
+        Report current = report(stats(1000, 0, 495, 5.2, 60.0));
+
+        List<ReportDiff.Change> changes = ReportDiff.compare(baseline, current, 0.10);
+
+        assertTrue(regression(changes, "get notes by id", "p99 ms"));
+        assertFalse(regression(changes, "get notes by id", "p50 ms"));
+        assertFalse(regression(changes, "get notes by id", "throughput/s"));
+        assertTrue(regression(changes, "TOTAL", "p99 ms"));
+        assertTrue(ReportDiff.format(changes).contains("REGRESSION"));
+    }
+
+    @Test
+    public void testSubMillisecondNoiseIsNotARegression() {
+        List<ReportDiff.Change> changes = ReportDiff.compare(
+                report(stats(1000, 0, 500, 0.4, 0.9)), report(stats(1000, 0, 500, 0.6, 1.5)), 0.10);
+
+        assertTrue(changes.stream().noneMatch(ReportDiff.Change::regression));
+    }
+
+    @Test
+    public void testErrorsAndThroughputRegressions() {
+        List<ReportDiff.Change> changes = ReportDiff.compare(
+                report(stats(1000, 0, 500, 5, 40)), report(stats(1000, 50, 400, 5, 40)), 0.10);
+
+        assertTrue(regression(changes, "get notes by id", "error rate"));
+        assertTrue(regression(changes, "get notes by id", "throughput/s"));
+    }
+
+    @Test
+    public void testReportRoundTripsThroughJson() throws IOException {
+        Report report = report(stats(1000, 3, 500, 5, 40));
+        Path file = dir.resolve("reports/run.json");
+        report.write(file);
+
+        assertEquals(report, Report.read(file));
+    }
+
+    private static boolean regression(List<ReportDiff.Change> changes, String endpoint, String metric) {
+        return changes.stream()
+                .filter(c -> c.endpoint().equals(endpoint) && c.metric().equals(metric))
+                .findFirst().orElseThrow().regression();
+    }
+
+    private static Report.Stats stats(long requests, long errors, double throughput, double p50, double p99) {
+        return new Report.Stats(requests, errors, 0, 0, throughput, p50, p50, p99 / 2, p99, p99 * 2, p99 * 3,
+                new TreeMap<>(Map.of("200", requests - errors)));
+    }
+
+    private static Report report(Report.Stats stats) {
+        return new Report("notes-read-heavy", "abc123", "2024-01-01T00:00:00Z", 500, 10, 60, 2500, stats,
+                new TreeMap<>(Map.of("get notes by id", stats)));
+    }
+}